@@ -0,0 +1,38 @@
+package es.uma.lcc.caesium.dfopt.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.Runner;
+
+/**
+ * Runs the JMH benchmarks with the GC profiler enabled (which reports the 
+ * allocation rate, normalized per operation, as well as GC counts and times). 
+ * Any standard JMH command-line option (e.g. a benchmark regexp, or 
+ * {@code -p n=1024}) can be supplied. Results are written to {@code jmh-result.json}.
+ * @author ccottap
+ * @version 1.0
+ */
+public class RunBenchmarks {
+
+	/**
+	 * Main method
+	 * @param args JMH command-line arguments
+	 * @throws RunnerException if the benchmarks cannot be run
+	 * @throws CommandLineOptionException if the command-line arguments are not valid
+	 */
+	public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+		Options opt = new OptionsBuilder()
+				.parent(new CommandLineOptions(args))
+				.addProfiler(GCProfiler.class)
+				.resultFormat(ResultFormatType.JSON)
+				.result("jmh-result.json")
+				.build();
+		new Runner(opt).run();
+	}
+
+}
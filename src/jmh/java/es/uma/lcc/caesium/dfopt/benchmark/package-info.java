@@ -0,0 +1,6 @@
+/**
+ * JMH benchmarks of objective functions and solver kernels
+ * @author ccottap
+ * @version 1.0
+ */
+package es.uma.lcc.caesium.dfopt.benchmark;
\ No newline at end of file
@@ -0,0 +1,80 @@
+package es.uma.lcc.caesium.dfopt.hookejeeves;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import es.uma.lcc.caesium.dfopt.base.EvaluatedSolution;
+import es.uma.lcc.caesium.problem.sphere.dfopt.Sphere;
+
+/**
+ * Benchmark of the exploration of the neighborhood in the Hooke-Jeeves algorithm
+ * (2n evaluations of the cheap sphere function).
+ * @author ccottap
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HookeJeevesBenchmark {
+	/**
+	 * number of variables
+	 */
+	@Param({"2", "8", "32", "128", "512", "1024", "4096"})
+	public int n;
+	/**
+	 * the algorithm
+	 */
+	private HookeJeeves hj;
+	/**
+	 * the base point
+	 */
+	private List<Double> point;
+	/**
+	 * step sizes along each dimension
+	 */
+	private double[] delta;
+	
+	/**
+	 * Creates the algorithm and a random base point
+	 */
+	@Setup
+	public void setup() {
+		double range = 5.12;
+		hj = new HookeJeeves();
+		hj.setObjectiveFunction(new Sphere(n, range));
+		Random rng = new Random(1);
+		point = new ArrayList<Double>(n);
+		delta = new double[n];
+		for (int i=0; i<n; i++) {
+			point.add(rng.nextDouble(-range, range));
+			delta[i] = 0.01 * 2 * range;
+		}
+	}
+	
+	/**
+	 * Explores the (non-solid) neighborhood of the base point
+	 * @return the best neighbor
+	 */
+	@Benchmark
+	public EvaluatedSolution getBestNeighbor() {
+		return hj.getBestNeighbor(point, delta, false);
+	}
+
+}
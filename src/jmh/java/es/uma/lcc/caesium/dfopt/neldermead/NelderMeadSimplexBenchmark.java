@@ -0,0 +1,159 @@
+package es.uma.lcc.caesium.dfopt.neldermead;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import es.uma.lcc.caesium.dfopt.base.EvaluatedSolution;
+import es.uma.lcc.caesium.problem.sphere.dfopt.Sphere;
+
+/**
+ * Benchmark of the operations of the Nelder-Mead simplex. The cheap sphere function
+ * is used, so that the cost of the bookkeeping of the simplex is dominant.
+ * @author ccottap
+ * @version 1.1
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class NelderMeadSimplexBenchmark {
+	/**
+	 * number of variables
+	 */
+	@Param({"2", "8", "32", "128", "512", "1024", "4096"})
+	public int n;
+	/**
+	 * the simplex
+	 */
+	private NelderMeadSimplex simplex;
+	/**
+	 * centroid of the simplex
+	 */
+	private List<Double> centroid;
+	/**
+	 * vector from the worst point to the centroid
+	 */
+	private List<Double> vector;
+	
+	/**
+	 * Simplex for the benchmark of {@link NelderMeadSimplexBenchmark#addPoint(Replacement)}. 
+	 * Since adding a point changes the simplex, the simplex is rebuilt before each invocation 
+	 * (outside the measurement), so that every invocation replaces the worst point of the same 
+	 * random simplex by its reflection. Note that for the smallest dimensions, the cost of
+	 * timing each invocation separately is not negligible.
+	 */
+	@State(Scope.Thread)
+	public static class Replacement {
+		/**
+		 * the simplex
+		 */
+		private NelderMeadSimplex simplex;
+		/**
+		 * the points of the random simplex
+		 */
+		private List<EvaluatedSolution> initial;
+		/**
+		 * reflection of the worst point of the random simplex
+		 */
+		private EvaluatedSolution reflected;
+		
+		/**
+		 * Creates a random simplex and the reflection of its worst point
+		 * @param benchmark the benchmark (for the number of variables)
+		 */
+		@Setup(Level.Trial)
+		public void setup(NelderMeadSimplexBenchmark benchmark) {
+			int n = benchmark.n;
+			simplex = new NelderMeadSimplex(n);
+			simplex.setObjectiveFunction(new Sphere(n, 5.12));
+			simplex.initialize();
+			initial = new ArrayList<EvaluatedSolution>(n + 1);
+			for (int i=0; i<=n; i++) {
+				initial.add(simplex.get(i));
+			}
+			List<Double> centroid = simplex.getCentroid();
+			reflected = simplex.getPoint(centroid, simplex.getVector(simplex.get(n).point(), centroid), 1.0);
+		}
+		
+		/**
+		 * Rebuilds the random simplex
+		 */
+		@Setup(Level.Invocation)
+		public void rebuild() {
+			simplex.clear();
+			for (EvaluatedSolution sol: initial) {
+				simplex.addPoint(sol);
+			}
+		}
+	}
+	
+	/**
+	 * Creates a random simplex
+	 */
+	@Setup
+	public void setup() {
+		simplex = new NelderMeadSimplex(n);
+		simplex.setObjectiveFunction(new Sphere(n, 5.12));
+		simplex.initialize();
+		centroid = simplex.getCentroid();
+		vector = simplex.getVector(simplex.get(n).point(), centroid);
+	}
+	
+	/**
+	 * Adds a point to the simplex (replacing the worst one by its reflection, and updating the centroid)
+	 * @param state the simplex and the reflected point
+	 * @return the simplex
+	 */
+	@Benchmark
+	public NelderMeadSimplex addPoint(Replacement state) {
+		state.simplex.addPoint(state.reflected);
+		return state.simplex;
+	}
+	
+	/**
+	 * Computes (and evaluates) a reflected point
+	 * @return the reflected point
+	 */
+	@Benchmark
+	public EvaluatedSolution getPoint() {
+		return simplex.getPoint(centroid, vector, 1.0);
+	}
+	
+	/**
+	 * Shrinks the simplex. A unit factor is used so that the simplex is not 
+	 * altered and every invocation performs the same amount of work.
+	 * @return the simplex
+	 */
+	@Benchmark
+	public NelderMeadSimplex shrink() {
+		simplex.shrink(1.0);
+		return simplex;
+	}
+	
+	/**
+	 * Sorts the simplex and updates the centroid
+	 * @return the simplex
+	 */
+	@Benchmark
+	public NelderMeadSimplex updateCentroid() {
+		simplex.updateCentroid();
+		return simplex;
+	}
+
+}
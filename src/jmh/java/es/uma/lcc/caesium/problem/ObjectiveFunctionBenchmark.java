@@ -0,0 +1,77 @@
+package es.uma.lcc.caesium.problem;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import es.uma.lcc.caesium.dfopt.base.DerivativeFreeObjectiveFunction;
+/**
+ * Benchmark of the evaluation of the bundled objective functions. The public entry point
+ * {@code evaluate} is measured, i.e. {@code _evaluate} plus the (constant) bookkeeping of 
+ * the base class.
+ * @author ccottap
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ObjectiveFunctionBenchmark {
+	/**
+	 * the problem
+	 */
+	@Param({"sphere", "rastrigin", "rosenbrock", "griewank", "ackley"})
+	public String problem;
+	/**
+	 * number of variables
+	 */
+	@Param({"2", "8", "32", "128", "512", "1024", "4096"})
+	public int n;
+	/**
+	 * the objective function
+	 */
+	private DerivativeFreeObjectiveFunction obj;
+	/**
+	 * the point evaluated
+	 */
+	private List<Double> point;
+	
+	/**
+	 * Creates the objective function and a random point
+	 */
+	@Setup
+	public void setup() {
+		double range = 5.12;
+		obj = new ProblemFactory().create(problem, n, range);
+		Random rng = new Random(1);
+		point = new ArrayList<Double>(n);
+		for (int i=0; i<n; i++) {
+			point.add(rng.nextDouble(-range, range));
+		}
+	}
+	
+	/**
+	 * Evaluates the point
+	 * @return the value of the objective function
+	 */
+	@Benchmark
+	public double evaluate() {
+		return obj.evaluate(point);
+	}
+
+}
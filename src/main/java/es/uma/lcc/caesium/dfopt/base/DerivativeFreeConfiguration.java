@@ -4,10 +4,12 @@ import java.math.BigDecimal;
 
 import com.github.cliftonlabs.json_simple.JsonObject;
 
+import es.uma.lcc.caesium.dfopt.restart.RestartConfiguration;
+
 /**
  * Configuration of the Nelder-Mead method
  * @author ccottap
- * @version 1.1
+ * @version 1.5
  */
 public class DerivativeFreeConfiguration {
 	/**
@@ -26,6 +28,14 @@ public class DerivativeFreeConfiguration {
 	 * default value for the maximum number of calls to the objective function in a cycle (for iterated method)
 	 */
 	private final static int MAXEVALSCYCLE = 1000;	
+	/**
+	 * default sampler of initial points
+	 */
+	private final static String SAMPLER = "uniform";
+	/**
+	 * default number of candidates confirmed at full fidelity when screening (0 for no screening)
+	 */
+	private final static int SCREENING = 0;
 	/**
 	 * RNG seed
 	 */
@@ -42,6 +52,18 @@ public class DerivativeFreeConfiguration {
 	 * maximum number of calls to the objective function in a cycle of Nelder-Mead algorithm
 	 */
 	private int maxevalsCycle;
+	/**
+	 * sampler of initial points (uniform or halton)
+	 */
+	private String sampler;
+	/**
+	 * number of candidates confirmed at full fidelity after being ranked at the lowest fidelity (0 for no screening)
+	 */
+	private int screening;
+	/**
+	 * restart policy of the iterated method
+	 */
+	private RestartConfiguration restart;
 	/**
 	 * a string identifying the method
 	 */
@@ -56,6 +78,9 @@ public class DerivativeFreeConfiguration {
 		numruns = NUMRUNS;
 		maxevals = MAXEVALS;
 		maxevalsCycle = MAXEVALSCYCLE;
+		sampler = SAMPLER;
+		screening = SCREENING;
+		restart = new RestartConfiguration();
 	}
 	
 	
@@ -90,6 +115,16 @@ public class DerivativeFreeConfiguration {
 		return ((BigDecimal)obj.get(key)).doubleValue();
 	}
 
+	/**
+	 * Convenience method to obtain a boolean from the JSON object
+	 * @param obj the JSON object
+	 * @param key the key whose value is sought
+	 * @return the value of the key as a boolean
+	 */
+	protected static boolean getBoolean (JsonObject obj, String key) {
+		return (Boolean)obj.get(key);
+	}
+
 	/**
 	 * Creates the configuration by reading from a file
 	 * @param json a JSON object
@@ -108,6 +143,15 @@ public class DerivativeFreeConfiguration {
 		if (json.containsKey("maxevalscycle")) {
 			setMaxevalsCycle(getInt(json, "maxevalscycle"));
 		}
+		if (json.containsKey("sampler")) {
+			setSampler((String)json.get("sampler"));
+		}
+		if (json.containsKey("screening")) {
+			setScreening(getInt(json, "screening"));
+		}
+		if (json.containsKey("restart")) {
+			setRestart(new RestartConfiguration((JsonObject)json.get("restart")));
+		}
 	}
 
 
@@ -188,6 +232,67 @@ public class DerivativeFreeConfiguration {
 
 
 
+	/**
+	 * Returns the sampler of initial points
+	 * @return the name of the sampler of initial points
+	 */
+	public String getSampler() {
+		return sampler;
+	}
+
+
+
+	/**
+	 * Sets the sampler of initial points
+	 * @param sampler the name of the sampler of initial points ({@code uniform} or {@code halton})
+	 */
+	public void setSampler(String sampler) {
+		this.sampler = sampler;
+	}
+
+
+
+	/**
+	 * Returns the number of candidates confirmed at full fidelity when screening
+	 * @return the number of candidates confirmed at full fidelity (0 for no screening)
+	 */
+	public int getScreening() {
+		return screening;
+	}
+
+
+
+	/**
+	 * Sets the number of candidates confirmed at full fidelity when screening
+	 * @param screening the number of candidates confirmed at full fidelity after being ranked at the lowest fidelity (0 for no screening)
+	 */
+	public void setScreening(int screening) {
+		assert screening >= 0;
+		this.screening = screening;
+	}
+
+
+
+	/**
+	 * Returns the restart policy of the iterated method
+	 * @return the configuration of the restart policy
+	 */
+	public RestartConfiguration getRestart() {
+		return restart;
+	}
+
+
+
+	/**
+	 * Sets the restart policy of the iterated method
+	 * @param restart the configuration of the restart policy
+	 */
+	public void setRestart(RestartConfiguration restart) {
+		this.restart = restart;
+	}
+
+
+
 	/**
 	 * Returns the method
 	 * @return the method
@@ -215,6 +320,9 @@ public class DerivativeFreeConfiguration {
 				"numruns:\t " + numruns + "\n" +
 				"maxevals:\t " + maxevals + "\n" +
 				"maxevals-cycle:\t " + maxevalsCycle + "\n" +
+				"sampler:\t " + sampler + "\n" +
+				"screening:\t " + screening + "\n" +
+				"restart:\t " + restart + "\n" +
 				"-------------------------------\n" +
 				"method:\t\t " + method + "\n" +
 				"-------------------------------\n";
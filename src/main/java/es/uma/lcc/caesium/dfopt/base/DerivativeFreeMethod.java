@@ -1,11 +1,15 @@
 package es.uma.lcc.caesium.dfopt.base;
 
+import java.util.ArrayList;
 import java.util.List;
 
+import es.uma.lcc.caesium.dfopt.events.DerivativeFreeListener;
+import es.uma.lcc.caesium.dfopt.events.DerivativeFreeListeners;
+
 /**
  * Abstract class for a derivative-free method
  * @author ccottap
- * @version 1.0
+ * @version 1.4
  */
 public abstract class DerivativeFreeMethod {
 	/**
@@ -21,9 +25,13 @@ public abstract class DerivativeFreeMethod {
 	 */
 	protected long currentSeed;
 	/**
-	 * to control verbosity
+	 * maximum number of evaluations of a cycle (0 if taken from the configuration)
+	 */
+	private int budget = 0;
+	/**
+	 * listeners to the events of the algorithm
 	 */
-	protected int verbosityLevel = 0;
+	protected final DerivativeFreeListeners listeners = new DerivativeFreeListeners();
 	/**
 	 * to measure computational times
 	 */
@@ -61,11 +69,36 @@ public abstract class DerivativeFreeMethod {
 	}
 	
 	/**
-	 * Sets the verbosity level
-	 * @param verbosityLevel the verbosity level to set
+	 * Sets the maximum number of evaluations of the following cycles, overriding
+	 * the one in the configuration
+	 * @param budget the maximum number of evaluations of a cycle (0 to use the configuration)
+	 */
+	public void setBudget (int budget) {
+		this.budget = budget;
+	}
+	
+	/**
+	 * Returns the maximum number of evaluations of a cycle
+	 * @return the maximum number of evaluations of a cycle
+	 */
+	public int getBudget () {
+		return (budget > 0) ? budget : conf.getMaxevalsCycle();
+	}
+	
+	/**
+	 * Adds a listener to the events of the algorithm
+	 * @param l the listener
 	 */
-	public void setVerbosityLevel(int verbosityLevel) {
-		this.verbosityLevel = verbosityLevel;
+	public void addListener(DerivativeFreeListener l) {
+		listeners.add(l);
+	}
+	
+	/**
+	 * Removes a listener to the events of the algorithm
+	 * @param l the listener
+	 */
+	public void removeListener(DerivativeFreeListener l) {
+		listeners.remove(l);
 	}
 
 	/**
@@ -115,6 +148,45 @@ public abstract class DerivativeFreeMethod {
 		return sol;
 	}
 	
+	/**
+	 * Indicates whether candidate points are screened at low fidelity (see {@link #screen(List, double)})
+	 * @return true if screening is enabled in the configuration and the objective function has several fidelity levels
+	 */
+	protected boolean isScreening() {
+		return (conf.getScreening() > 0) && (obj.getNumFidelities() > 1);
+	}
+	
+	/**
+	 * Screens some candidate points: all of them are evaluated at the lowest fidelity, and
+	 * only the most promising ones (as many as indicated by the configuration) are evaluated
+	 * at full fidelity, with the best value so far as cutoff. Candidates with no estimate at
+	 * the lowest fidelity (NaN) are evaluated at full fidelity as well.
+	 * @param candidates the candidate points
+	 * @param cutoff the value to improve
+	 * @return the best candidate evaluated at full fidelity if its value is below the cutoff, or null otherwise
+	 */
+	protected EvaluatedSolution screen(List<List<Double>> candidates, double cutoff) {
+		int k = candidates.size();
+		List<EvaluatedSolution> ranking = new ArrayList<EvaluatedSolution>(k);
+		for (List<Double> p: candidates) {
+			ranking.add(new EvaluatedSolution(p, obj.evaluateAtFidelity(p, 0)));
+		}
+		ranking.sort(null);
+		EvaluatedSolution best = null;
+		for (int i=0; i<k; i++) {
+			if ((i >= conf.getScreening()) && !Double.isNaN(ranking.get(i).value())) {
+				continue;
+			}
+			List<Double> p = ranking.get(i).point();
+			double v = obj.evaluate(p, cutoff);
+			if (v < cutoff) {
+				best = new EvaluatedSolution(p, v);
+				cutoff = v;
+			}
+		}
+		return best;
+	}
+	
 	/**
 	 * Internal method to run the algorithm.
 	 * @return the best solution found
@@ -7,15 +7,29 @@ import com.github.cliftonlabs.json_simple.JsonException;
 import com.github.cliftonlabs.json_simple.JsonObject;
 import com.github.cliftonlabs.json_simple.Jsoner;
 
+import es.uma.lcc.caesium.dfopt.bobyqa.BOBYQA;
+import es.uma.lcc.caesium.dfopt.bobyqa.BOBYQAConfiguration;
+import es.uma.lcc.caesium.dfopt.cmaes.CMAES;
+import es.uma.lcc.caesium.dfopt.cmaes.CMAESConfiguration;
+import es.uma.lcc.caesium.dfopt.de.DE;
+import es.uma.lcc.caesium.dfopt.de.DEConfiguration;
 import es.uma.lcc.caesium.dfopt.hookejeeves.HookeJeeves;
 import es.uma.lcc.caesium.dfopt.hookejeeves.HookeJeevesConfiguration;
+import es.uma.lcc.caesium.dfopt.mads.MADS;
+import es.uma.lcc.caesium.dfopt.mads.MADSConfiguration;
+import es.uma.lcc.caesium.dfopt.mds.MDS;
+import es.uma.lcc.caesium.dfopt.mds.MDSConfiguration;
 import es.uma.lcc.caesium.dfopt.neldermead.NelderMead;
 import es.uma.lcc.caesium.dfopt.neldermead.NelderMeadConfiguration;
+import es.uma.lcc.caesium.dfopt.neldermead.SubspaceNelderMead;
+import es.uma.lcc.caesium.dfopt.neldermead.SubspaceNelderMeadConfiguration;
+import es.uma.lcc.caesium.dfopt.pso.PSO;
+import es.uma.lcc.caesium.dfopt.pso.PSOConfiguration;
 
 /**
  * Factory class for Derivative-Free Optimization Methods
  * @author ccottap
- * @version 1.0
+ * @version 1.2
  */
 public class DerivativeFreeMethodFactory {
 
@@ -43,6 +57,27 @@ public class DerivativeFreeMethodFactory {
 			case "hookejeeves":
 				conf = new HookeJeevesConfiguration(jsonconf);
 				break;
+			case "cmaes":
+				conf = new CMAESConfiguration(jsonconf);
+				break;
+			case "mads":
+				conf = new MADSConfiguration(jsonconf);
+				break;
+			case "mds":
+				conf = new MDSConfiguration(jsonconf);
+				break;
+			case "bobyqa":
+				conf = new BOBYQAConfiguration(jsonconf);
+				break;
+			case "de":
+				conf = new DEConfiguration(jsonconf);
+				break;
+			case "pso":
+				conf = new PSOConfiguration(jsonconf);
+				break;
+			case "subspace":
+				conf = new SubspaceNelderMeadConfiguration(jsonconf);
+				break;
 			default:
 				System.out.println("Unknown method " + method);
 				System.exit(1);
@@ -85,6 +120,27 @@ public class DerivativeFreeMethodFactory {
 		case "hookejeeves":
 			solver = new HookeJeeves((HookeJeevesConfiguration)conf);
 			break;
+		case "cmaes":
+			solver = new CMAES((CMAESConfiguration)conf);
+			break;
+		case "mads":
+			solver = new MADS((MADSConfiguration)conf);
+			break;
+		case "mds":
+			solver = new MDS((MDSConfiguration)conf);
+			break;
+		case "bobyqa":
+			solver = new BOBYQA((BOBYQAConfiguration)conf);
+			break;
+		case "de":
+			solver = new DE((DEConfiguration)conf);
+			break;
+		case "pso":
+			solver = new PSO((PSOConfiguration)conf);
+			break;
+		case "subspace":
+			solver = new SubspaceNelderMead((SubspaceNelderMeadConfiguration)conf);
+			break;
 		default:
 			System.out.println("Unknown method " + method);
 			System.exit(1);
@@ -1,17 +1,38 @@
 package es.uma.lcc.caesium.dfopt.base;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.DoubleAdder;
+
+import es.uma.lcc.caesium.dfopt.jfr.EvaluationEvent;
+import es.uma.lcc.caesium.dfopt.monitor.EvaluationProfiler;
 
 /**
  * Abstract class for the objective function of a derivative-free optimization algorithm
  * @author ccottap
- * @version 1.0
+ * @version 1.7
  */
 public abstract class DerivativeFreeObjectiveFunction {
 	/**
 	 * number of calls to the objective function in the current run
 	 */
 	private int evals = 0;
+	/**
+	 * evaluations charged by partial evaluations in the current run (as a fraction of a full evaluation)
+	 */
+	private final DoubleAdder partial = new DoubleAdder();
+	/**
+	 * profiler of the evaluations (null if evaluations are not profiled)
+	 */
+	private EvaluationProfiler profiler = null;
+	/**
+	 * executor for the evaluation of batches of points (null if batches are evaluated sequentially)
+	 */
+	private ExecutorService executor = null;
 	
 	/**
 	 * Gets the number of variables in the problem
@@ -39,8 +60,166 @@ public abstract class DerivativeFreeObjectiveFunction {
 	 * @return the value of the objective function at this point
 	 */
 	public double evaluate (List<Double> solution) {
+		return evaluate(solution, Double.POSITIVE_INFINITY);
+	}
+	
+	/**
+	 * Evaluates a point whose value is only needed if it does not exceed a cutoff (e.g., the
+	 * value of the incumbent it is compared to). Objective functions that accumulate their 
+	 * value may stop as soon as it is known to exceed the cutoff (see 
+	 * {@link #_evaluate(List, double)}). The evaluation is counted as a full one.
+	 * @param solution an n-dimentional point
+	 * @param cutoff the cutoff
+	 * @return the value of the objective function at this point if it does not exceed the cutoff;
+	 * otherwise, a value greater than the cutoff (not necessarily the value at this point)
+	 */
+	public double evaluate (List<Double> solution, double cutoff) {
 		evals++;
-		return _evaluate(solution);
+		EvaluationEvent event = new EvaluationEvent();
+		event.begin();
+		double v;
+		if (profiler == null) {
+			v = _evaluate(solution, cutoff);
+		}
+		else {
+			long t = System.nanoTime();
+			v = _evaluate(solution, cutoff);
+			profiler.record(System.nanoTime() - t);
+		}
+		if (event.shouldCommit()) {
+			event.n = getNumVariables();
+			event.evals = evals;
+			event.value = v;
+			event.commit();
+		}
+		return v;
+	}
+	
+	/**
+	 * Returns the number of fidelity levels at which points can be evaluated. Levels range
+	 * from 0 (the lowest fidelity, e.g., a coarse simulation) to the number of levels minus 
+	 * one (the full fidelity, i.e., {@link #evaluate(List)}). By default, there is just
+	 * the full fidelity.
+	 * @return the number of fidelity levels
+	 */
+	public int getNumFidelities() {
+		return 1;
+	}
+	
+	/**
+	 * Returns the cost of an evaluation at a fidelity level
+	 * @param level the fidelity level
+	 * @return the cost of an evaluation at the fidelity level, as a fraction of the cost of a full evaluation
+	 */
+	public double getFidelityCost(int level) {
+		return 1.0;
+	}
+	
+	/**
+	 * Evaluates a point at a fidelity level. Evaluations below the full fidelity are charged 
+	 * to the count of evaluations by their cost (see {@link #charge(double)}), and are neither
+	 * profiled nor recorded as flight recorder events.
+	 * @param solution an n-dimentional point
+	 * @param level the fidelity level
+	 * @return the approximate value of the objective function at this point (the exact one at full fidelity)
+	 */
+	public double evaluateAtFidelity(List<Double> solution, int level) {
+		if (level >= getNumFidelities() - 1) {
+			return evaluate(solution);
+		}
+		charge(getFidelityCost(level));
+		return _evaluateAtFidelity(solution, level);
+	}
+	
+	/**
+	 * Evaluates a batch of points. If an executor has been set, the points are evaluated
+	 * in parallel (so {@link #_evaluate(List)} must be thread-safe); otherwise, they are 
+	 * evaluated sequentially, in order.
+	 * @param solutions a list of n-dimensional points
+	 * @return the values of the objective function at these points
+	 */
+	public double[] evaluateAll(List<List<Double>> solutions) {
+		int k = solutions.size();
+		double[] values = new double[k];
+		if ((executor == null) || (k < 2)) {
+			for (int i=0; i<k; i++) {
+				values[i] = evaluate(solutions.get(i));
+			}
+			return values;
+		}
+		
+		long[] nanos = new long[k];
+		int base = evals;
+		List<Future<?>> futures = new ArrayList<Future<?>>(k);
+		for (int i=0; i<k; i++) {
+			int j = i;
+			futures.add(executor.submit(() -> {
+				EvaluationEvent event = new EvaluationEvent();
+				event.begin();
+				long t = System.nanoTime();
+				values[j] = _evaluate(solutions.get(j));
+				nanos[j] = System.nanoTime() - t;
+				if (event.shouldCommit()) {
+					event.n = getNumVariables();
+					event.evals = base + j + 1;
+					event.value = values[j];
+					event.commit();
+				}
+			}));
+		}
+		try {
+			for (Future<?> f: futures) {
+				f.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while evaluating a batch of points", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException)e.getCause();
+			}
+			throw new IllegalStateException("Error while evaluating a batch of points", e.getCause());
+		}
+		
+		evals += k;
+		if (profiler != null) {
+			for (int i=0; i<k; i++) {
+				profiler.record(nanos[i]);
+			}
+		}
+		return values;
+	}
+	
+	/**
+	 * Submits a point for asynchronous evaluation. If an executor has been set, the point is
+	 * evaluated by the executor (so {@link #_evaluate(List)} must be thread-safe), and the 
+	 * future completes when the evaluation finishes; otherwise, the point is evaluated 
+	 * immediately and the future returned is already completed. The evaluation is counted
+	 * when the point is submitted, so {@link #getNumEvals()} includes the evaluations in progress.
+	 * @param solution an n-dimensional point
+	 * @return the future value of the objective function at this point
+	 */
+	public CompletableFuture<Double> submit(List<Double> solution) {
+		if (executor == null) {
+			return CompletableFuture.completedFuture(evaluate(solution));
+		}
+		int current = ++evals;
+		return CompletableFuture.supplyAsync(() -> {
+			EvaluationEvent event = new EvaluationEvent();
+			event.begin();
+			long t = System.nanoTime();
+			double v = _evaluate(solution);
+			if (profiler != null) {
+				profiler.record(System.nanoTime() - t);
+			}
+			if (event.shouldCommit()) {
+				event.n = getNumVariables();
+				event.evals = current;
+				event.value = v;
+				event.commit();
+			}
+			return v;
+		}, executor);
 	}
 	
 	/**
@@ -49,13 +228,83 @@ public abstract class DerivativeFreeObjectiveFunction {
 	 * @return the value of the objective function at this point
 	 */
 	protected abstract double _evaluate(List<Double> solution);
+	
+	/**
+	 * Internal method for computing the value for the objective function, which may stop
+	 * early once the value is known to exceed a cutoff. By default, the value is fully 
+	 * computed; objective functions that accumulate their value (e.g., sums of non-negative 
+	 * terms) can override this method to return a lower bound of the value as soon as it 
+	 * exceeds the cutoff. If the cutoff is not exceeded, the value returned must be the same 
+	 * as that of {@link #_evaluate(List)}.
+	 * @param solution an n-dimentional point
+	 * @param cutoff the cutoff
+	 * @return the value of the objective function at this point, or a value greater than the
+	 * cutoff if the former exceeds it
+	 */
+	protected double _evaluate(List<Double> solution, double cutoff) {
+		return _evaluate(solution);
+	}
+	
+	/**
+	 * Internal method for computing the value for the objective function at a fidelity level
+	 * lower than the full one. By default, the value is computed at full fidelity.
+	 * @param solution an n-dimentional point
+	 * @param level the fidelity level
+	 * @return the approximate value of the objective function at this point (NaN if no
+	 * estimate is available)
+	 */
+	protected double _evaluateAtFidelity(List<Double> solution, int level) {
+		return _evaluate(solution);
+	}
 
 	/**
-	 * Returns the number of calls to the objective function in the current run
+	 * Returns the number of calls to the objective function in the current run (including
+	 * the evaluations charged by partial evaluations, see {@link #charge(double)})
 	 * @return the number of calls to the objective function in the current run
 	 */
 	public int getNumEvals() {
-		return evals;
+		return evals + (int)partial.sum();
+	}
+	
+	/**
+	 * Charges a partial evaluation (e.g., of some of the terms of the function) to the count 
+	 * of evaluations. This method is thread-safe.
+	 * @param fraction the cost of the partial evaluation, as a fraction of the cost of a full evaluation
+	 */
+	protected void charge(double fraction) {
+		partial.add(fraction);
+	}
+	
+	/**
+	 * Sets the profiler of the evaluations
+	 * @param profiler the profiler (null to disable profiling)
+	 */
+	public void setProfiler(EvaluationProfiler profiler) {
+		this.profiler = profiler;
+	}
+	
+	/**
+	 * Returns the profiler of the evaluations
+	 * @return the profiler of the evaluations (null if evaluations are not profiled)
+	 */
+	public EvaluationProfiler getProfiler() {
+		return profiler;
+	}
+	
+	/**
+	 * Sets the executor for the evaluation of batches of points
+	 * @param executor the executor (null to evaluate batches sequentially)
+	 */
+	public void setExecutor(ExecutorService executor) {
+		this.executor = executor;
+	}
+	
+	/**
+	 * Returns the executor for the evaluation of batches of points
+	 * @return the executor (null if batches are evaluated sequentially)
+	 */
+	public ExecutorService getExecutor() {
+		return executor;
 	}
 	
 	/**
@@ -63,5 +312,6 @@ public abstract class DerivativeFreeObjectiveFunction {
 	 */
 	public void newRun() {
 		evals = 0;
+		partial.reset();
 	}
 }
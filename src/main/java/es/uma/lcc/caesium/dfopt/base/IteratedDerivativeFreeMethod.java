@@ -1,11 +1,24 @@
 package es.uma.lcc.caesium.dfopt.base;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import es.uma.lcc.caesium.dfopt.events.DerivativeFreeListener;
+import es.uma.lcc.caesium.dfopt.events.DerivativeFreeListeners;
+import es.uma.lcc.caesium.dfopt.jfr.RestartEvent;
+import es.uma.lcc.caesium.dfopt.restart.Allocation;
+import es.uma.lcc.caesium.dfopt.restart.BudgetSchedule;
+import es.uma.lcc.caesium.dfopt.restart.RestartPolicy;
+import es.uma.lcc.caesium.dfopt.restart.RestartPolicyFactory;
 import es.uma.lcc.caesium.dfopt.statistics.DerivativeFreeStatistics;
 
 /**
- * Iterated derivative-free method. Performs multi-start for a given number of function calls
+ * Iterated derivative-free method. Performs multi-start for a given number of function calls.
+ * The starting point of each cycle is decided by the restart policy of the configuration, and
+ * its budget (and the method that runs it, if a portfolio of methods is configured) by the
+ * budget schedule.
  * @author ccottap
- * @version 1.0
+ * @version 1.4
  */
 public class IteratedDerivativeFreeMethod {
 	/**
@@ -20,14 +33,26 @@ public class IteratedDerivativeFreeMethod {
 	 * the Nelder-Mead optimizer
 	 */
 	private DerivativeFreeMethod dfm;
+	/**
+	 * the restart policy
+	 */
+	private RestartPolicy restart;
+	/**
+	 * the underlying method followed by the other methods in the portfolio
+	 */
+	private List<DerivativeFreeMethod> portfolio;
+	/**
+	 * the budget schedule
+	 */
+	private BudgetSchedule schedule;
 	/**
 	 * current seed of the algorithm
 	 */
 	private long currentSeed;
 	/**
-	 * to control verbosity
+	 * listeners to the events of the algorithm
 	 */
-	private int verbosityLevel = 0;
+	private final DerivativeFreeListeners listeners = new DerivativeFreeListeners();
 	/**
 	 * to measure computational times
 	 */
@@ -52,6 +77,13 @@ public class IteratedDerivativeFreeMethod {
 		this.conf = conf;
 		setSeed(conf.getSeed());
 		this.dfm = dfm;
+		portfolio = new ArrayList<DerivativeFreeMethod>();
+		portfolio.add(dfm);
+		DerivativeFreeMethodFactory dfmf = new DerivativeFreeMethodFactory();
+		for (String file: conf.getRestart().getPortfolio()) {
+			portfolio.add(dfmf.create(file));
+		}
+		schedule = new RestartPolicyFactory().createSchedule(conf, portfolio.size());
 		stats = new DerivativeFreeStatistics();
 	}
 	
@@ -65,12 +97,33 @@ public class IteratedDerivativeFreeMethod {
 	}
 	
 	/**
-	 * Sets the verbosity level
-	 * @param verbosityLevel the verbosity level to set
+	 * Adds a listener to the events of the algorithm. Note that the listener 
+	 * is not registered in the underlying methods (this has to be done 
+	 * separately if the events of the latter are sought, see 
+	 * {@link #addMethodListener(DerivativeFreeListener)}). 
+	 * @param l the listener
 	 */
-	public void setVerbosityLevel(int verbosityLevel) {
-		this.verbosityLevel = verbosityLevel;
-		dfm.setVerbosityLevel(Math.max(0, verbosityLevel-1));
+	public void addListener(DerivativeFreeListener l) {
+		listeners.add(l);
+	}
+	
+	/**
+	 * Adds a listener to the events of the underlying methods, i.e., the method 
+	 * given in the constructor and the other methods of the portfolio (if any)
+	 * @param l the listener
+	 */
+	public void addMethodListener(DerivativeFreeListener l) {
+		for (DerivativeFreeMethod m: portfolio) {
+			m.addListener(l);
+		}
+	}
+	
+	/**
+	 * Removes a listener to the events of the algorithm
+	 * @param l the listener
+	 */
+	public void removeListener(DerivativeFreeListener l) {
+		listeners.remove(l);
 	}
 
 	/**
@@ -79,7 +132,10 @@ public class IteratedDerivativeFreeMethod {
 	 */
 	public void setObjectiveFunction(DerivativeFreeObjectiveFunction nmof) {
 		this.obj = nmof;
-		dfm.setObjectiveFunction(obj);
+		for (DerivativeFreeMethod m: portfolio) {
+			m.setObjectiveFunction(obj);
+		}
+		restart = new RestartPolicyFactory().create(conf, obj);
 	}
 	
 	/**
@@ -107,22 +163,65 @@ public class IteratedDerivativeFreeMethod {
 		tic = System.nanoTime();
 		
 		stats.newRun();
+		listeners.runStarted();
+		if (obj.getProfiler() != null) {
+			obj.getProfiler().reset();
+		}
 		EvaluatedSolution bestSol = new EvaluatedSolution(null, Double.POSITIVE_INFINITY);
 		int evals = 0;
-		dfm.setSeed(currentSeed);
+		int cycle = 0;
+		for (DerivativeFreeMethod m: portfolio) {
+			m.setSeed(currentSeed);
+		}
+		restart.newRun(currentSeed);
+		schedule.newRun();
 		currentSeed += conf.getMaxevals()/(obj.getNumVariables()+1);
+		EvaluatedSolution last = null;
 		while (evals < conf.getMaxevals()) {
-			EvaluatedSolution sol = dfm.run();
-			evals += obj.getNumEvals();
-			if (sol.value() < bestSol.value()) {
-				bestSol = sol;
+			RestartEvent event = new RestartEvent();
+			event.begin();
+			Allocation allocation = schedule.next(conf.getMaxevals() - evals);
+			EvaluatedSolution start;
+			if (allocation.resume() && (last != null)) {
+				start = last;
+			}
+			else {
+				start = restart.next(conf.getMaxevals() - evals);
+				evals += restart.getNumEvals();
+				EvaluatedSolution sampled = restart.getBest();
+				if ((sampled != null) && (sampled.value() < bestSol.value())) {
+					bestSol = sampled;
+					listeners.improvement(evals, bestSol);
+				}
+			}
+			if (start != null) {
+				DerivativeFreeMethod m = portfolio.get(allocation.method());
+				m.setBudget(allocation.budget());
+				EvaluatedSolution sol = (start.point() == null) ? m.run() : m.run(start.point());
+				evals += obj.getNumEvals();
+				restart.localOptimum(sol);
+				schedule.update(allocation, sol);
+				last = sol;
+				if (sol.value() < bestSol.value()) {
+					bestSol = sol;
+					listeners.improvement(evals, bestSol);
+				}
 			}
 			stats.takeStats(evals, bestSol);
-			if (verbosityLevel > 0) {
-				System.out.println(evals + "\t" + obj.getNumEvals() + "\t" + bestSol.value());
+			listeners.restart(cycle, evals, bestSol.value());
+			if (event.shouldCommit()) {
+				event.cycle = cycle;
+				event.n = obj.getNumVariables();
+				event.evals = evals;
+				event.value = bestSol.value();
+				event.commit();
 			}
+			cycle++;
 		}
 		
+		if (obj.getProfiler() != null) {
+			stats.takeProfile(obj.getProfiler());
+		}
 		stats.closeRun();
 		
 		toc = System.nanoTime();
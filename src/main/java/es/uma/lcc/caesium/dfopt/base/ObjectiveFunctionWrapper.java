@@ -0,0 +1,67 @@
+package es.uma.lcc.caesium.dfopt.base;
+
+import java.util.List;
+
+/**
+ * Objective function that delegates on another one. Subclasses can override 
+ * {@link #_evaluate(List)} to add behavior around the evaluation. The number of 
+ * evaluations is counted by the wrapper (the wrapped function is not affected). The
+ * fidelity levels of the wrapped function are not exposed by default, since the behavior
+ * added by subclasses may not apply to them (see {@link #innerAtFidelity(List, int)}).
+ * @author ccottap
+ * @version 1.1
+ */
+public class ObjectiveFunctionWrapper extends DerivativeFreeObjectiveFunction {
+	/**
+	 * the wrapped objective function
+	 */
+	protected DerivativeFreeObjectiveFunction inner;
+	
+	/**
+	 * Creates the wrapper
+	 * @param inner the objective function wrapped
+	 */
+	public ObjectiveFunctionWrapper(DerivativeFreeObjectiveFunction inner) {
+		this.inner = inner;
+	}
+	
+	/**
+	 * Returns the wrapped objective function
+	 * @return the wrapped objective function
+	 */
+	public DerivativeFreeObjectiveFunction getInner() {
+		return inner;
+	}
+
+	@Override
+	public int getNumVariables() {
+		return inner.getNumVariables();
+	}
+
+	@Override
+	public double getMinValue(int i) {
+		return inner.getMinValue(i);
+	}
+
+	@Override
+	public double getMaxValue(int i) {
+		return inner.getMaxValue(i);
+	}
+
+	@Override
+	protected double _evaluate(List<Double> solution) {
+		return inner._evaluate(solution);
+	}
+	
+	/**
+	 * Computes the value of the wrapped function at a fidelity level lower than the full one, 
+	 * for subclasses that expose the fidelity levels of the wrapped function
+	 * @param solution an n-dimentional point
+	 * @param level the fidelity level
+	 * @return the approximate value of the wrapped function at this point
+	 */
+	protected double innerAtFidelity(List<Double> solution, int level) {
+		return inner._evaluateAtFidelity(solution, level);
+	}
+
+}
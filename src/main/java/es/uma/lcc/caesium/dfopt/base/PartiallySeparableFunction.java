@@ -0,0 +1,95 @@
+package es.uma.lcc.caesium.dfopt.base;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Abstract class for a partially separable objective function, i.e., a sum of element functions,
+ * each of which depends on a declared subset of the variables. A change in some variables only
+ * affects the element functions depending on them, so the value of the modified point can be 
+ * obtained by re-evaluating just these (see {@link #evaluateElements(int[], List)}). 
+ * Element functions must be thread-safe, so that disjoint groups of them can be evaluated 
+ * concurrently.
+ * @author ccottap
+ * @version 1.0
+ */
+public abstract class PartiallySeparableFunction extends DerivativeFreeObjectiveFunction {
+	/**
+	 * element functions depending on each variable (null until first needed)
+	 */
+	private volatile int[][] elementsOf = null;
+
+	/**
+	 * Returns the number of element functions
+	 * @return the number of element functions
+	 */
+	public abstract int getNumElements();
+	
+	/**
+	 * Returns the variables an element function depends on
+	 * @param e the index of the element function
+	 * @return the indices of the variables of the {@code e}-th element function
+	 */
+	public abstract int[] getElementVariables(int e);
+	
+	/**
+	 * Computes the value of an element function
+	 * @param e the index of the element function
+	 * @param solution an n-dimensional point (only the variables of the element function are read)
+	 * @return the value of the {@code e}-th element function at this point
+	 */
+	public abstract double evaluateElement(int e, List<Double> solution);
+	
+	/**
+	 * Returns the element functions depending on a variable
+	 * @param j the index of the variable
+	 * @return the indices of the element functions depending on the {@code j}-th variable
+	 */
+	public int[] getElementsOf(int j) {
+		if (elementsOf == null) {
+			int n = getNumVariables();
+			List<List<Integer>> index = new ArrayList<List<Integer>>(n);
+			for (int i=0; i<n; i++) {
+				index.add(new ArrayList<Integer>());
+			}
+			for (int e=0; e<getNumElements(); e++) {
+				for (int i: getElementVariables(e)) {
+					index.get(i).add(e);
+				}
+			}
+			int[][] map = new int[n][];
+			for (int i=0; i<n; i++) {
+				map[i] = index.get(i).stream().mapToInt(Integer::intValue).toArray();
+			}
+			elementsOf = map;
+		}
+		return elementsOf[j];
+	}
+	
+	/**
+	 * Evaluates some element functions at a point (a partial evaluation), which is 
+	 * charged as the corresponding fraction of a full evaluation. This method is thread-safe.
+	 * @param elements the indices of the element functions
+	 * @param solution an n-dimensional point
+	 * @return the sum of the element functions at this point
+	 */
+	public double evaluateElements(int[] elements, List<Double> solution) {
+		double v = 0;
+		for (int e: elements) {
+			v += evaluateElement(e, solution);
+		}
+		if (elements.length > 0) {
+			charge((double)elements.length / getNumElements());
+		}
+		return v;
+	}
+	
+	@Override
+	protected double _evaluate(List<Double> solution) {
+		double v = 0;
+		for (int e=0; e<getNumElements(); e++) {
+			v += evaluateElement(e, solution);
+		}
+		return v;
+	}
+}
@@ -0,0 +1,672 @@
+package es.uma.lcc.caesium.dfopt.bobyqa;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import es.uma.lcc.caesium.dfopt.base.DerivativeFreeMethod;
+import es.uma.lcc.caesium.dfopt.base.DerivativeFreeObjectiveFunction;
+import es.uma.lcc.caesium.dfopt.base.EvaluatedSolution;
+import es.uma.lcc.caesium.dfopt.sampling.Sampler;
+import es.uma.lcc.caesium.dfopt.sampling.SamplerFactory;
+
+/**
+ * Model-based trust-region method for bound-constrained problems, in the style of
+ * Powell's NEWUOA/BOBYQA. A quadratic model of the objective function interpolates
+ * m = 2n+1 points; whenever a point of the interpolation set is replaced, the model is
+ * updated so that the Frobenius norm of the change of its Hessian is minimal (Powell, 2004).
+ * Each iteration minimizes the model within the trust region and the bounds by truncated
+ * conjugate gradients, fixing the variables that reach a bound. Points far from the current
+ * best point are replaced by geometry-improving points that maximize their Lagrange function.
+ * The trust-region radius is bounded below by a resolution rho, which is decreased from
+ * rhobeg to rhoend when the model can no longer make progress.
+ * <p>
+ * The method works in coordinates scaled to [0,1] by the bounds given by
+ * {@code getMinValue(i)} and {@code getMaxValue(i)}, so points are always feasible.
+ * Unlike Powell's implementation, the KKT system of the interpolation conditions is
+ * factorized anew at each iteration (O(n<sup>3</sup>) operations rather than O(n<sup>2</sup>)
+ * updating of its inverse), which is negligible when evaluations are expensive.
+ * All vectors and matrices are stored in flat arrays.
+ * @author ccottap
+ * @version 1.3
+ */
+public class BOBYQA extends DerivativeFreeMethod {
+	/**
+	 * sampler of random points
+	 */
+	private Sampler sampler;
+	/**
+	 * number of variables
+	 */
+	private int n;
+	/**
+	 * number of interpolation points
+	 */
+	private int m;
+	/**
+	 * interpolation points, scaled to [0,1] (m x n, by rows)
+	 */
+	private double[] y;
+	/**
+	 * values of the interpolation points
+	 */
+	private double[] fy;
+	/**
+	 * index of the best interpolation point (the center of the model)
+	 */
+	private int kopt;
+	/**
+	 * whether the KKT matrix of the interpolation set is factorized (it is not if the matrix 
+	 * is singular and the remaining budget does not allow rebuilding the interpolation set)
+	 */
+	private boolean valid;
+	/**
+	 * value of the model at the center
+	 */
+	private double c;
+	/**
+	 * gradient of the model at the center
+	 */
+	private double[] g;
+	/**
+	 * Hessian of the model (n x n, by rows)
+	 */
+	private double[] h;
+	/**
+	 * scale of the interpolation set (distance from the center to the farthest point)
+	 */
+	private double sigma;
+	/**
+	 * KKT matrix of the interpolation conditions ((m+n+1) x (m+n+1), by rows)
+	 */
+	private double[] w;
+	/**
+	 * factorization of the KKT matrix
+	 */
+	private LUDecomposition lu;
+	/**
+	 * work arrays
+	 */
+	private double[] rhs, sol, d, s, hs, trial;
+
+
+	/**
+	 * Default constructor
+	 */
+	public BOBYQA() {
+		this(new BOBYQAConfiguration());
+	}
+
+	/**
+	 * Creates the algorithm given a configuration
+	 * @param conf the configuration of the algorithm
+	 */
+	public BOBYQA(BOBYQAConfiguration conf) {
+		super(conf);
+	}
+
+
+	@Override
+	public void setObjectiveFunction(DerivativeFreeObjectiveFunction dfof) {
+		super.setObjectiveFunction(dfof);
+		n = obj.getNumVariables();
+		sampler = new SamplerFactory().create(conf, n, 1);
+		m = 2*n + 1;
+		int size = m + n + 1;
+		y = new double[m*n];
+		fy = new double[m];
+		g = new double[n];
+		h = new double[n*n];
+		w = new double[size*size];
+		lu = new LUDecomposition(size);
+		rhs = new double[size];
+		sol = new double[size];
+		d = new double[n];
+		s = new double[n];
+		hs = new double[n];
+		trial = new double[n];
+	}
+
+
+	@Override
+	protected EvaluatedSolution _run() {
+		sampler.setSeed(currentSeed);
+		return _run(sampler.next(obj));
+	}
+
+	@Override
+	protected EvaluatedSolution _run(List<Double> p) {
+		return bobyqaCycle(p);
+	}
+
+
+	/**
+	 * main cycle of the method
+	 * @param p the initial point
+	 * @return the best solution found
+	 */
+	private EvaluatedSolution bobyqaCycle(List<Double> p) {
+		currentSeed++;
+		BOBYQAConfiguration bconf = (BOBYQAConfiguration)conf;
+		int maxevals = getBudget();
+		double rhoend = bconf.getRhoEnd();
+		double rho = Math.max(bconf.getRhoBeg(), rhoend);
+		double delta = rho;
+
+		double[] x0 = new double[n];
+		for (int j=0; j<n; j++) {
+			double lo = obj.getMinValue(j);
+			double hi = obj.getMaxValue(j);
+			x0[j] = (p.get(j) - lo) / (hi - lo);
+		}
+		initialize(x0, rho);
+
+		while (valid && (obj.getNumEvals() < maxevals)) {
+			listeners.iterationStarted(obj.getNumEvals(), delta, fy[kopt]);
+			boolean reduce = false;
+			double dnorm = trustRegionStep(delta);
+			if (dnorm < 0.5*rho) {
+				// the step is too short: improves the geometry or reduces the resolution
+				int t = farthest();
+				if (distance(t) > 2*delta) {
+					geometryStep(t, delta);
+				}
+				else {
+					reduce = true;
+				}
+			}
+			else {
+				double predicted = -(dot(g, d) + 0.5*quadratic(d));
+				for (int j=0; j<n; j++) {
+					trial[j] = y[kopt*n + j] + d[j];
+				}
+				double fold = fy[kopt];
+				double f = evaluate(trial);
+				double ratio = (predicted > 0) ? (fold - f)/predicted : -1;
+				if (ratio <= 0.1) {
+					delta = Math.min(0.5*delta, dnorm);
+				}
+				else if (ratio <= 0.7) {
+					delta = Math.max(0.5*delta, dnorm);
+				}
+				else {
+					delta = Math.max(0.5*delta, 2*dnorm);
+				}
+				if (delta <= 1.5*rho) {
+					delta = rho;
+				}
+				replace(choose(trial, delta, f < fold), trial, f);
+				if ((ratio <= 0.1) && valid && (obj.getNumEvals() < maxevals)) {
+					int t = farthest();
+					if (distance(t) > 2*delta) {
+						geometryStep(t, delta);
+					}
+					else if ((delta <= rho) && (dnorm <= rho) && (f >= fold)) {
+						reduce = true;
+					}
+				}
+			}
+			if (reduce) {
+				if (rho <= rhoend) {
+					break;
+				}
+				double old = rho;
+				double r = rho/rhoend;
+				if (r <= 16) {
+					rho = rhoend;
+				}
+				else if (r <= 250) {
+					rho = Math.sqrt(rho*rhoend);
+				}
+				else {
+					rho *= 0.1;
+				}
+				delta = Math.max(0.5*delta, rho);
+				listeners.shrink(obj.getNumEvals(), rho/old);
+			}
+		}
+
+		return new EvaluatedSolution(unscale(y, kopt*n), fy[kopt]);
+	}
+
+
+	/**
+	 * Creates the interpolation set x0 and x0 +/- rho·e_j (moving x0 away from the bounds if
+	 * needed), and the corresponding model
+	 * @param x0 the initial point, scaled to [0,1] (modified)
+	 * @param rho the initial trust-region radius
+	 */
+	private void initialize(double[] x0, double rho) {
+		for (int j=0; j<n; j++) {
+			x0[j] = Math.min(1 - rho, Math.max(rho, x0[j]));
+		}
+		List<List<Double>> batch = new ArrayList<List<Double>>(m);
+		for (int k=0; k<m; k++) {
+			System.arraycopy(x0, 0, y, k*n, n);
+			if (k > 0) {
+				y[k*n + (k - 1)/2] += ((k % 2) == 1) ? rho : -rho;
+			}
+			batch.add(unscale(y, k*n));
+		}
+		double[] values = obj.evaluateAll(batch);
+		System.arraycopy(values, 0, fy, 0, m);
+		kopt = 0;
+		for (int k=1; k<m; k++) {
+			if (fy[k] < fy[kopt]) {
+				kopt = k;
+			}
+		}
+		c = 0;
+		Arrays.fill(g, 0);
+		Arrays.fill(h, 0);
+		updateModel();
+	}
+
+
+	/**
+	 * Updates the model so that it interpolates the current set of points, by adding the
+	 * quadratic function that interpolates the residuals with least Frobenius norm of its
+	 * Hessian. The KKT matrix of the interpolation set (relative to the best point, and scaled
+	 * by the distance to the farthest point) is factorized as well, for the computation of
+	 * Lagrange functions. If it is singular, the interpolation set is rebuilt around the best point,
+	 * provided that the remaining budget allows evaluating 2n+1 points (otherwise, the model is
+	 * left as invalid and the cycle ends).
+	 */
+	private void updateModel() {
+		int size = m + n + 1;
+		int base = kopt*n;
+		sigma = 0;
+		for (int k=0; k<m; k++) {
+			sigma = Math.max(sigma, distance(k));
+		}
+		for (int i=0; i<m; i++) {
+			for (int k=i; k<m; k++) {
+				double v = 0;
+				for (int j=0; j<n; j++) {
+					v += (y[i*n + j] - y[base + j]) * (y[k*n + j] - y[base + j]);
+				}
+				v /= sigma*sigma;
+				w[i*size + k] = w[k*size + i] = 0.5*v*v;
+			}
+			w[i*size + m] = w[m*size + i] = 1;
+			for (int j=0; j<n; j++) {
+				w[i*size + m + 1 + j] = w[(m + 1 + j)*size + i] = (y[i*n + j] - y[base + j]) / sigma;
+			}
+		}
+		for (int i=m; i<size; i++) {
+			Arrays.fill(w, i*size + m, (i + 1)*size, 0);
+		}
+		if (!lu.factor(w)) {
+			valid = (getBudget() - obj.getNumEvals() >= m);
+			if (valid) {
+				double[] x0 = new double[n];
+				System.arraycopy(y, base, x0, 0, n);
+				initialize(x0, Math.max(Math.min(sigma, 0.5), 1e-8));
+			}
+			return;
+		}
+		valid = true;
+		for (int i=0; i<m; i++) {
+			for (int j=0; j<n; j++) {
+				s[j] = y[i*n + j] - y[base + j];
+			}
+			rhs[i] = fy[i] - (c + dot(g, s) + 0.5*quadratic(s));
+		}
+		Arrays.fill(rhs, m, size, 0);
+		lu.solve(rhs, sol);
+		c += sol[m];
+		for (int j=0; j<n; j++) {
+			g[j] += sol[m + 1 + j] / sigma;
+		}
+		for (int k=0; k<m; k++) {
+			double lambda = sol[k] / (sigma*sigma*sigma*sigma);
+			if (lambda != 0) {
+				for (int i=0; i<n; i++) {
+					double li = lambda * (y[k*n + i] - y[base + i]);
+					for (int j=0; j<n; j++) {
+						h[i*n + j] += li * (y[k*n + j] - y[base + j]);
+					}
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Minimizes the model within the trust region and the bounds by truncated conjugate
+	 * gradients. When a variable reaches a bound, it is fixed and the conjugate gradient
+	 * iteration is restarted on the remaining variables.
+	 * @param delta the trust-region radius
+	 * @return the length of the step (stored in d)
+	 */
+	private double trustRegionStep(double delta) {
+		int base = kopt*n;
+		boolean[] free = new boolean[n];
+		double[] r = new double[n];
+		double[] pd = new double[n];
+		double[] hp = new double[n];
+		Arrays.fill(d, 0);
+		for (int j=0; j<n; j++) {
+			double x = y[base + j];
+			free[j] = !(((x <= 0) && (g[j] > 0)) || ((x >= 1) && (g[j] < 0)));
+		}
+		boolean done = false;
+		for (int restart=0; (restart<=n) && !done; restart++) {
+			// residual: minus the gradient of the model at the current step
+			double rr = 0;
+			for (int j=0; j<n; j++) {
+				double v = 0;
+				if (free[j]) {
+					v = -g[j];
+					for (int k=0; k<n; k++) {
+						v -= h[j*n + k] * d[k];
+					}
+				}
+				r[j] = v;
+				pd[j] = v;
+				rr += v*v;
+			}
+			done = true;
+			for (int iter=0; (iter<n) && (rr > 1e-30); iter++) {
+				double php = 0, dp = 0, dd = 0, pp = 0;
+				for (int i=0; i<n; i++) {
+					double v = 0;
+					if (free[i]) {
+						for (int k=0; k<n; k++) {
+							v += h[i*n + k] * pd[k];
+						}
+					}
+					hp[i] = v;
+					php += pd[i]*v;
+					dp += d[i]*pd[i];
+					dd += d[i]*d[i];
+					pp += pd[i]*pd[i];
+				}
+				// step to the boundary of the trust region
+				double disc = dp*dp + pp*(delta*delta - dd);
+				double alphaTR = (-dp + Math.sqrt(Math.max(0, disc))) / pp;
+				// step to the bounds
+				double alphaB = Double.POSITIVE_INFINITY;
+				int jb = -1;
+				for (int j=0; j<n; j++) {
+					if (pd[j] != 0) {
+						double x = y[base + j] + d[j];
+						double a = (pd[j] > 0) ? (1 - x)/pd[j] : -x/pd[j];
+						if (a < alphaB) {
+							alphaB = Math.max(0, a);
+							jb = j;
+						}
+					}
+				}
+				double alpha = (php > 0) ? rr/php : Double.POSITIVE_INFINITY;
+				if ((alphaTR <= alpha) && (alphaTR <= alphaB)) {
+					for (int j=0; j<n; j++) {
+						d[j] += alphaTR*pd[j];
+					}
+					break;
+				}
+				if (alphaB < alpha) {
+					for (int j=0; j<n; j++) {
+						d[j] += alphaB*pd[j];
+					}
+					d[jb] = ((pd[jb] > 0) ? 1 : 0) - y[base + jb];
+					free[jb] = false;
+					done = false;
+					break;
+				}
+				double rrnew = 0;
+				for (int j=0; j<n; j++) {
+					d[j] += alpha*pd[j];
+					r[j] -= alpha*hp[j];
+					rrnew += r[j]*r[j];
+				}
+				double beta = rrnew/rr;
+				for (int j=0; j<n; j++) {
+					pd[j] = r[j] + beta*pd[j];
+				}
+				rr = rrnew;
+			}
+		}
+		return Math.sqrt(dot(d, d));
+	}
+
+
+	/**
+	 * Replaces an interpolation point by a point maximizing (approximately) the absolute
+	 * value of its Lagrange function within the trust region, so as to improve the geometry
+	 * of the interpolation set
+	 * @param t the index of the point to be replaced
+	 * @param delta the trust-region radius
+	 */
+	private void geometryStep(int t, double delta) {
+		Arrays.fill(rhs, 0);
+		rhs[t] = 1;
+		lu.solve(rhs, sol);
+		// the gradient of the Lagrange function at the center gives the direction
+		double norm = 0;
+		for (int j=0; j<n; j++) {
+			norm += sol[m + 1 + j]*sol[m + 1 + j];
+		}
+		norm = Math.sqrt(norm);
+		int base = kopt*n;
+		double best = -1;
+		for (double sign: new double[] {1, -1}) {
+			for (int j=0; j<n; j++) {
+				double dir = (norm > 0) ? sol[m + 1 + j]/norm : ((j == 0) ? 1 : 0);
+				s[j] = Math.min(1, Math.max(0, y[base + j] + sign*delta*dir)) - y[base + j];
+			}
+			double value = Math.abs(lagrange(sol, s));
+			if (value > best) {
+				best = value;
+				System.arraycopy(s, 0, d, 0, n);
+			}
+		}
+		for (int j=0; j<n; j++) {
+			trial[j] = y[base + j] + d[j];
+		}
+		double f = evaluate(trial);
+		replace(t, trial, f);
+	}
+
+
+	/**
+	 * Chooses the interpolation point to be replaced by a new point, maximizing the absolute
+	 * value of its Lagrange function at the new point, weighted by its distance to the center
+	 * @param x the new point
+	 * @param delta the trust-region radius
+	 * @param improves whether the new point improves the center or not
+	 * @return the index of the point to be replaced
+	 */
+	private int choose(double[] x, double delta, boolean improves) {
+		int base = kopt*n;
+		for (int j=0; j<n; j++) {
+			s[j] = x[j] - y[base + j];
+		}
+		for (int i=0; i<m; i++) {
+			double v = 0;
+			for (int j=0; j<n; j++) {
+				v += (y[i*n + j] - y[base + j]) * s[j];
+			}
+			v /= sigma*sigma;
+			rhs[i] = 0.5*v*v;
+		}
+		rhs[m] = 1;
+		for (int j=0; j<n; j++) {
+			rhs[m + 1 + j] = s[j] / sigma;
+		}
+		lu.solve(rhs, sol);
+		int t = -1;
+		double best = -1;
+		for (int k=0; k<m; k++) {
+			if (k != kopt) {
+				// distances are measured from the new point if it becomes the center
+				double dist = 0;
+				for (int j=0; j<n; j++) {
+					double diff = y[k*n + j] - (improves ? x[j] : y[base + j]);
+					dist += diff*diff;
+				}
+				dist /= delta*delta;
+				double score = Math.abs(sol[k]) * Math.max(1, dist);
+				if (score > best) {
+					best = score;
+					t = k;
+				}
+			}
+		}
+		return t;
+	}
+
+
+	/**
+	 * Replaces an interpolation point, moves the center of the model if the new point is
+	 * the best one, and updates the model
+	 * @param t the index of the point to be replaced
+	 * @param x the new point
+	 * @param f the value of the new point
+	 */
+	private void replace(int t, double[] x, double f) {
+		System.arraycopy(x, 0, y, t*n, n);
+		fy[t] = f;
+		if (f < fy[kopt]) {
+			// shifts the model to the new center
+			int base = kopt*n;
+			for (int j=0; j<n; j++) {
+				s[j] = x[j] - y[base + j];
+			}
+			c += dot(g, s) + 0.5*quadratic(s);
+			for (int i=0; i<n; i++) {
+				double v = 0;
+				for (int j=0; j<n; j++) {
+					v += h[i*n + j] * s[j];
+				}
+				hs[i] = v;
+			}
+			for (int j=0; j<n; j++) {
+				g[j] += hs[j];
+			}
+			kopt = t;
+		}
+		updateModel();
+	}
+
+
+	/**
+	 * Value of a Lagrange function at the center plus a step
+	 * @param coef the coefficients of the Lagrange function (a column of the inverse KKT matrix)
+	 * @param step the step
+	 * @return the value of the Lagrange function
+	 */
+	private double lagrange(double[] coef, double[] step) {
+		int base = kopt*n;
+		double v = coef[m];
+		for (int j=0; j<n; j++) {
+			v += coef[m + 1 + j]*step[j]/sigma;
+		}
+		for (int k=0; k<m; k++) {
+			double p = 0;
+			for (int j=0; j<n; j++) {
+				p += (y[k*n + j] - y[base + j]) * step[j];
+			}
+			p /= sigma*sigma;
+			v += 0.5*coef[k]*p*p;
+		}
+		return v;
+	}
+
+
+	/**
+	 * Returns the interpolation point farthest from the center
+	 * @return the index of the farthest point
+	 */
+	private int farthest() {
+		int t = (kopt == 0) ? 1 : 0;
+		for (int k=0; k<m; k++) {
+			if (distance(k) > distance(t)) {
+				t = k;
+			}
+		}
+		return t;
+	}
+
+
+	/**
+	 * Distance of an interpolation point to the center
+	 * @param k the index of the point
+	 * @return the Euclidean distance (in scaled coordinates)
+	 */
+	private double distance(int k) {
+		double v = 0;
+		for (int j=0; j<n; j++) {
+			double diff = y[k*n + j] - y[kopt*n + j];
+			v += diff*diff;
+		}
+		return Math.sqrt(v);
+	}
+
+
+	/**
+	 * Computes v'·H·v
+	 * @param v the vector
+	 * @return the quadratic form
+	 */
+	private double quadratic(double[] v) {
+		double q = 0;
+		for (int i=0; i<n; i++) {
+			double r = 0;
+			for (int j=0; j<n; j++) {
+				r += h[i*n + j] * v[j];
+			}
+			q += v[i]*r;
+		}
+		return q;
+	}
+
+
+	/**
+	 * Dot product
+	 * @param a a vector
+	 * @param b a vector
+	 * @return the dot product of a and b
+	 */
+	private double dot(double[] a, double[] b) {
+		double v = 0;
+		for (int j=0; j<n; j++) {
+			v += a[j]*b[j];
+		}
+		return v;
+	}
+
+
+	/**
+	 * Evaluates a point given in scaled coordinates
+	 * @param x the point
+	 * @return its value
+	 */
+	private double evaluate(double[] x) {
+		return obj.evaluate(unscale(x, 0));
+	}
+
+
+	/**
+	 * Maps a point in scaled coordinates to the domain of the objective function
+	 * @param v an array containing the point
+	 * @param offset the position of the point in the array
+	 * @return the point in the domain
+	 */
+	private List<Double> unscale(double[] v, int offset) {
+		List<Double> p = new ArrayList<Double>(n);
+		for (int j=0; j<n; j++) {
+			double lo = obj.getMinValue(j);
+			double hi = obj.getMaxValue(j);
+			p.add(lo + (hi - lo) * Math.min(1, Math.max(0, v[offset + j])));
+		}
+		return p;
+	}
+
+
+	@Override
+	public String toString() {
+		return  "===============================\nBOBYQA\n===============================\n" + conf;
+	}
+
+}
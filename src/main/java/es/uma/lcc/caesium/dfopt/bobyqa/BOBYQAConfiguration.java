@@ -0,0 +1,119 @@
+package es.uma.lcc.caesium.dfopt.bobyqa;
+
+
+import com.github.cliftonlabs.json_simple.JsonObject;
+
+import es.uma.lcc.caesium.dfopt.base.DerivativeFreeConfiguration;
+
+/**
+ * Configuration of the BOBYQA-style trust-region method
+ * @author ccottap
+ * @version 1.0
+ */
+public class BOBYQAConfiguration extends DerivativeFreeConfiguration {
+	/**
+	 * name of the method
+	 */
+	private final static String BOBYQA = "bobyqa";
+	/**
+	 * default value of the initial trust-region radius (relative to the domain range)
+	 */
+	private final static double RHOBEG = 0.1;
+	/**
+	 * default value of the final trust-region radius (relative to the domain range)
+	 */
+	private final static double RHOEND = 1e-8;
+
+	/**
+	 * initial trust-region radius (relative to the domain range)
+	 */
+	private double rhoBeg;
+	/**
+	 * final trust-region radius (relative to the domain range)
+	 */
+	private double rhoEnd;
+
+
+	/**
+	 * Constructor with default values
+	 */
+	public BOBYQAConfiguration() {
+		super();
+		setMethod(BOBYQA);
+		rhoBeg = RHOBEG;
+		rhoEnd = RHOEND;
+	}
+	
+	
+
+	/**
+	 * Creates the configuration by reading from a JSON object
+	 * @param json a JSON object
+	 */
+	public BOBYQAConfiguration(JsonObject json) {
+		super(json);
+		setMethod(BOBYQA);
+		if (json.containsKey("rhobeg")) {
+			setRhoBeg(getDouble(json, "rhobeg"));
+		}
+		else {
+			setRhoBeg(RHOBEG);			
+		}
+		if (json.containsKey("rhoend")) {
+			setRhoEnd(getDouble(json, "rhoend"));
+		}
+		else {
+			setRhoEnd(RHOEND);			
+		}
+	}
+
+
+	/**
+	 * Returns the initial trust-region radius
+	 * @return the initial trust-region radius (relative to the domain range)
+	 */
+	public double getRhoBeg() {
+		return rhoBeg;
+	}
+
+	/**
+	 * Sets the initial trust-region radius
+	 * @param rhoBeg the initial trust-region radius (relative to the domain range)
+	 */
+	public void setRhoBeg(double rhoBeg) {
+		assert (rhoBeg > 0) && (rhoBeg <= 0.5);
+		this.rhoBeg = rhoBeg;
+	}
+
+	/**
+	 * Returns the final trust-region radius
+	 * @return the final trust-region radius (relative to the domain range)
+	 */
+	public double getRhoEnd() {
+		return rhoEnd;
+	}
+
+	/**
+	 * Sets the final trust-region radius
+	 * @param rhoEnd the final trust-region radius (relative to the domain range)
+	 */
+	public void setRhoEnd(double rhoEnd) {
+		assert rhoEnd > 0;
+		this.rhoEnd = rhoEnd;
+	}
+
+
+
+	@Override
+	public String toString() {
+		String str = super.toString();
+		str += 	"rhobeg:\t\t " + rhoBeg + "\n" + 
+				"rhoend:\t\t " + rhoEnd + "\n" + 
+				"-------------------------------\n";
+		return str;		
+	}
+	
+	
+	
+
+}
@@ -0,0 +1,101 @@
+package es.uma.lcc.caesium.dfopt.bobyqa;
+
+/**
+ * LU decomposition with partial pivoting of a square matrix stored in a flat array (by rows)
+ * @author ccottap
+ * @version 1.0
+ */
+class LUDecomposition {
+	/**
+	 * dimension
+	 */
+	private final int n;
+	/**
+	 * the factors L (below the diagonal, unit diagonal) and U
+	 */
+	private final double[] lu;
+	/**
+	 * row permutation
+	 */
+	private final int[] piv;
+	
+	/**
+	 * Allocates the decomposition of matrices of a certain dimension
+	 * @param n the dimension
+	 */
+	LUDecomposition(int n) {
+		this.n = n;
+		lu = new double[n*n];
+		piv = new int[n];
+	}
+	
+	/**
+	 * Factors a matrix
+	 * @param a the matrix (not modified)
+	 * @return false if the matrix is (numerically) singular
+	 */
+	boolean factor(double[] a) {
+		System.arraycopy(a, 0, lu, 0, n*n);
+		double scale = 0;
+		for (int i=0; i<n*n; i++) {
+			scale = Math.max(scale, Math.abs(lu[i]));
+		}
+		for (int i=0; i<n; i++) {
+			piv[i] = i;
+		}
+		for (int k=0; k<n; k++) {
+			int p = k;
+			for (int i=k+1; i<n; i++) {
+				if (Math.abs(lu[i*n + k]) > Math.abs(lu[p*n + k])) {
+					p = i;
+				}
+			}
+			if (Math.abs(lu[p*n + k]) <= 1e-13 * scale) {
+				return false;
+			}
+			if (p != k) {
+				for (int j=0; j<n; j++) {
+					double t = lu[p*n + j];
+					lu[p*n + j] = lu[k*n + j];
+					lu[k*n + j] = t;
+				}
+				int t = piv[p];
+				piv[p] = piv[k];
+				piv[k] = t;
+			}
+			double pivot = lu[k*n + k];
+			for (int i=k+1; i<n; i++) {
+				double f = lu[i*n + k] / pivot;
+				lu[i*n + k] = f;
+				if (f != 0) {
+					for (int j=k+1; j<n; j++) {
+						lu[i*n + j] -= f * lu[k*n + j];
+					}
+				}
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * Solves A·x = b using the last factorization
+	 * @param b the right-hand side
+	 * @param x the solution (output, may not be b)
+	 */
+	void solve(double[] b, double[] x) {
+		for (int i=0; i<n; i++) {
+			double s = b[piv[i]];
+			for (int j=0; j<i; j++) {
+				s -= lu[i*n + j] * x[j];
+			}
+			x[i] = s;
+		}
+		for (int i=n-1; i>=0; i--) {
+			double s = x[i];
+			for (int j=i+1; j<n; j++) {
+				s -= lu[i*n + j] * x[j];
+			}
+			x[i] = s / lu[i*n + i];
+		}
+	}
+}
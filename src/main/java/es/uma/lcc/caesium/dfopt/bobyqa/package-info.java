@@ -0,0 +1,6 @@
+/**
+ * Model-based trust-region method with bounds (BOBYQA-style)
+ * @author ccottap
+ * @version 1.0
+ */
+package es.uma.lcc.caesium.dfopt.bobyqa;
\ No newline at end of file
@@ -0,0 +1,342 @@
+package es.uma.lcc.caesium.dfopt.campaign;
+
+import java.io.PrintWriter;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.github.cliftonlabs.json_simple.JsonArray;
+import com.github.cliftonlabs.json_simple.JsonObject;
+
+import es.uma.lcc.caesium.dfopt.base.DerivativeFreeConfiguration;
+import es.uma.lcc.caesium.dfopt.base.DerivativeFreeMethod;
+import es.uma.lcc.caesium.dfopt.base.DerivativeFreeMethodFactory;
+import es.uma.lcc.caesium.dfopt.base.DerivativeFreeObjectiveFunction;
+import es.uma.lcc.caesium.dfopt.base.IteratedDerivativeFreeMethod;
+import es.uma.lcc.caesium.problem.ProblemFactory;
+
+/**
+ * Benchmarking campaign in the style of BBOB/COCO: a sweep of method configurations,
+ * problems, dimensions, instances and seeds. For each run, the number of evaluations
+ * needed to reach a ladder of target values is recorded, and the expected running time
+ * (ERT) and the empirical cumulative distribution (ECDF) of runtimes are reported.
+ * Each cell (configuration, problem, dimension, instance) is run in parallel with the others.
+ * A cell that cannot be run (e.g., because of an unknown problem) is recorded as failed, and
+ * left out of the reports, without stopping the rest of the campaign.
+ * Targets are absolute values of the objective function (the bundled problems have optimum 0).
+ * If the problems are rotated, each instance is a different shifted and rotated variant
+ * of the problem (otherwise, instances just use different seeds).
+ * @author ccottap
+ * @version 1.2
+ */
+public class Campaign {
+	/**
+	 * number of budgets per decade in the ECDF
+	 */
+	private static final int ECDF_STEPS = 5;
+	/**
+	 * configuration files of the methods
+	 */
+	private List<String> configurations;
+	/**
+	 * problems
+	 */
+	private List<String> problems;
+	/**
+	 * dimensions
+	 */
+	private List<Integer> dimensions;
+	/**
+	 * range of variables
+	 */
+	private double range;
+	/**
+	 * number of instances of each problem
+	 */
+	private int instances;
+	/**
+	 * whether the instances are shifted and rotated variants of the problems
+	 */
+	private boolean rotated;
+	/**
+	 * number of seeds (runs) per instance
+	 */
+	private int seeds;
+	/**
+	 * target values
+	 */
+	private double[] targets;
+	/**
+	 * budget of evaluations per dimension (0 to use the maxevals of the configuration)
+	 */
+	private int budget;
+	/**
+	 * number of threads
+	 */
+	private int threads;
+	/**
+	 * prefix of the output files
+	 */
+	private String output;
+	
+	/**
+	 * Creates the campaign by reading from a JSON object
+	 * @param json a JSON object
+	 */
+	public Campaign(JsonObject json) {
+		configurations = new ArrayList<String>();
+		for (Object o: (JsonArray)json.get("configurations")) {
+			configurations.add((String)o);
+		}
+		problems = new ArrayList<String>();
+		for (Object o: (JsonArray)json.get("problems")) {
+			problems.add(((String)o).toLowerCase());
+		}
+		dimensions = new ArrayList<Integer>();
+		for (Object o: (JsonArray)json.get("dimensions")) {
+			dimensions.add(((BigDecimal)o).intValue());
+		}
+		JsonArray jsontargets = (JsonArray)json.get("targets");
+		targets = new double[jsontargets.size()];
+		for (int i=0; i<targets.length; i++) {
+			targets[i] = ((BigDecimal)jsontargets.get(i)).doubleValue();
+		}
+		range = ((BigDecimal)json.get("range")).doubleValue();
+		instances = json.containsKey("instances") ? ((BigDecimal)json.get("instances")).intValue() : 1;
+		rotated = json.containsKey("rotated") && (Boolean)json.get("rotated");
+		seeds = json.containsKey("seeds") ? ((BigDecimal)json.get("seeds")).intValue() : 1;
+		budget = json.containsKey("budget") ? ((BigDecimal)json.get("budget")).intValue() : 0;
+		threads = json.containsKey("threads") ? ((BigDecimal)json.get("threads")).intValue() : 0;
+		if (threads <= 0) {
+			threads = Runtime.getRuntime().availableProcessors();
+		}
+		output = json.containsKey("output") ? (String)json.get("output") : "campaign";
+	}
+	
+	/**
+	 * Returns the prefix of the output files
+	 * @return the prefix of the output files
+	 */
+	public String getOutput() {
+		return output;
+	}
+	
+	/**
+	 * Runs the campaign
+	 * @return the results of all cells
+	 * @throws InterruptedException if the campaign is interrupted
+	 * @throws ExecutionException if a cell ends with an error (other than an exception, 
+	 * which makes the cell be recorded as failed)
+	 */
+	public List<CellResult> run() throws InterruptedException, ExecutionException {
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		List<Future<CellResult>> futures = new ArrayList<Future<CellResult>>();
+		for (String configuration: configurations) {
+			for (String problem: problems) {
+				for (int dimension: dimensions) {
+					for (int instance=0; instance<instances; instance++) {
+						int i = instance;
+						futures.add(pool.submit(() -> runCell(configuration, problem, dimension, i)));
+					}
+				}
+			}
+		}
+		List<CellResult> results = new ArrayList<CellResult>(futures.size());
+		try {
+			for (Future<CellResult> f: futures) {
+				results.add(f.get());
+			}
+		}
+		finally {
+			pool.shutdownNow();
+		}
+		return results;
+	}
+	
+	/**
+	 * Runs a cell of the campaign. Each cell has its own solver and objective function. 
+	 * Instances are currently distinguished only by the seeds of their runs. If the cell
+	 * cannot be run, it is recorded as failed.
+	 * @param configuration the configuration file of the method
+	 * @param problem the name of the problem
+	 * @param dimension the number of variables
+	 * @param instance the index of the instance
+	 * @return the results of the runs
+	 */
+	private CellResult runCell(String configuration, String problem, int dimension, int instance) {
+		try {
+			return run(configuration, problem, dimension, instance);
+		}
+		catch (RuntimeException e) {
+			return CellResult.failed(configuration, problem, dimension, instance, e.toString());
+		}
+	}
+	
+	/**
+	 * Runs a cell of the campaign (see {@link #runCell(String, String, int, int)})
+	 * @param configuration the configuration file of the method
+	 * @param problem the name of the problem
+	 * @param dimension the number of variables
+	 * @param instance the index of the instance
+	 * @return the results of the runs
+	 */
+	private CellResult run(String configuration, String problem, int dimension, int instance) {
+		DerivativeFreeMethodFactory dfmf = new DerivativeFreeMethodFactory();
+		DerivativeFreeConfiguration conf = dfmf.readConfiguration(configuration);
+		if (budget > 0) {
+			conf.setMaxevals(budget * dimension);
+		}
+		DerivativeFreeMethod solver = dfmf.create(conf);
+		ProblemFactory pf = new ProblemFactory();
+		DerivativeFreeObjectiveFunction base = pf.create(problem, dimension, range);
+		if (rotated) {
+			base = pf.rotate(base, problem, instance + 1);
+		}
+		TargetRecorder obj = new TargetRecorder(base, targets);
+		IteratedDerivativeFreeMethod idfm = new IteratedDerivativeFreeMethod(conf, solver);
+		idfm.setObjectiveFunction(obj);
+		
+		long[][] hits = new long[seeds][];
+		long[] evals = new long[seeds];
+		for (int s=0; s<seeds; s++) {
+			obj.reset();
+			idfm.run((int)conf.getSeed() + instance*seeds + s);
+			hits[s] = obj.getHits();
+			evals[s] = obj.getTotalEvals();
+		}
+		return new CellResult(configuration, problem, dimension, instance, hits, evals, null);
+	}
+	
+	/**
+	 * Groups the results of the cells by configuration, problem and dimension 
+	 * (i.e., pooling instances and seeds), leaving out the cells that failed
+	 * @param results the results of the cells
+	 * @param pool whether problems are pooled as well or not
+	 * @return the results grouped
+	 */
+	private Map<String, List<CellResult>> group(List<CellResult> results, boolean pool) {
+		Map<String, List<CellResult>> groups = new LinkedHashMap<String, List<CellResult>>();
+		for (CellResult r: results) {
+			if (r.isFailed()) {
+				continue;
+			}
+			String key = r.configuration() + "\t" + (pool ? "all" : r.problem()) + "\t" + r.dimension();
+			groups.computeIfAbsent(key, k -> new ArrayList<CellResult>()).add(r);
+		}
+		return groups;
+	}
+	
+	/**
+	 * Writes the expected running time (ERT) to reach each target, i.e. the number of
+	 * evaluations in all runs (up to the target if reached) divided by the number of runs 
+	 * that reach the target. One line per configuration, problem, dimension and target.
+	 * @param out the output
+	 * @param results the results of the cells
+	 */
+	public void writeERT(PrintWriter out, List<CellResult> results) {
+		double[] sorted = TargetRecorder.descending(targets);
+		out.println("configuration\tproblem\tdimension\ttarget\truns\tsuccesses\tert");
+		for (Map.Entry<String, List<CellResult>> e: group(results, false).entrySet()) {
+			for (int k=0; k<sorted.length; k++) {
+				int runs = 0;
+				int successes = 0;
+				long total = 0;
+				for (CellResult r: e.getValue()) {
+					for (int s=0; s<r.evals().length; s++) {
+						runs++;
+						long h = r.hits()[s][k];
+						if (h >= 0) {
+							successes++;
+							total += h;
+						}
+						else {
+							total += r.evals()[s];
+						}
+					}
+				}
+				double ert = (successes > 0) ? (double)total/successes : Double.POSITIVE_INFINITY;
+				out.println(e.getKey() + "\t" + sorted[k] + "\t" + runs + "\t" + successes + "\t" + ert);
+			}
+		}
+	}
+	
+	/**
+	 * Writes the empirical cumulative distribution of runtimes, i.e. the fraction of
+	 * (run, target) pairs reached within a ladder of budgets (expressed as evaluations
+	 * per dimension, and log-spaced). One line per configuration, problem (including 
+	 * the aggregation of all problems), dimension and budget.
+	 * @param out the output
+	 * @param results the results of the cells
+	 */
+	public void writeECDF(PrintWriter out, List<CellResult> results) {
+		out.println("configuration\tproblem\tdimension\tbudget\tfraction");
+		for (boolean pool: new boolean[] {false, true}) {
+			for (Map.Entry<String, List<CellResult>> e: group(results, pool).entrySet()) {
+				List<CellResult> cells = e.getValue();
+				int dimension = cells.get(0).dimension();
+				long maxEvals = 0;
+				int pairs = 0;
+				for (CellResult r: cells) {
+					for (int s=0; s<r.evals().length; s++) {
+						maxEvals = Math.max(maxEvals, r.evals()[s]);
+						pairs += r.hits()[s].length;
+					}
+				}
+				for (int i=0; Math.pow(10, (double)i/ECDF_STEPS) <= (double)maxEvals/dimension; i++) {
+					double b = Math.pow(10, (double)i/ECDF_STEPS);
+					int reached = 0;
+					for (CellResult r: cells) {
+						for (long[] runhits: r.hits()) {
+							for (long h: runhits) {
+								if ((h >= 0) && (h <= b * dimension)) {
+									reached++;
+								}
+							}
+						}
+					}
+					out.println(e.getKey() + "\t" + b + "\t" + (double)reached/pairs);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Writes the cells that could not be run, one line per cell
+	 * @param out the output
+	 * @param results the results of the cells
+	 * @return the number of cells that could not be run
+	 */
+	public int writeFailures(PrintWriter out, List<CellResult> results) {
+		int failed = 0;
+		out.println("configuration\tproblem\tdimension\tinstance\tfailure");
+		for (CellResult r: results) {
+			if (r.isFailed()) {
+				out.println(r.configuration() + "\t" + r.problem() + "\t" + r.dimension() + "\t" + r.instance() + "\t" + r.failure());
+				failed++;
+			}
+		}
+		return failed;
+	}
+	
+	@Override
+	public String toString() {
+		String str = "-------------------------------\n";
+		str += 	"configurations:\t " + configurations + "\n" + 
+				"problems:\t " + problems + "\n" +
+				"dimensions:\t " + dimensions + "\n" +
+				"range:\t\t " + range + "\n" +
+				"instances:\t " + instances + (rotated ? " (shifted and rotated)" : "") + "\n" +
+				"seeds:\t\t " + seeds + "\n" +
+				"budget:\t\t " + ((budget > 0) ? (budget + " x dimension") : "maxevals") + "\n" +
+				"threads:\t " + threads + "\n" +
+				"-------------------------------\n";
+		return str;
+	}
+
+}
@@ -0,0 +1,37 @@
+package es.uma.lcc.caesium.dfopt.campaign;
+
+/**
+ * Results of the runs of a configuration on a problem instance of a certain dimension 
+ * @author ccottap
+ * @param configuration the configuration file of the method
+ * @param problem the name of the problem
+ * @param dimension the number of variables
+ * @param instance the index of the instance
+ * @param hits evaluations needed to reach each target (-1 if not reached) in each run
+ * @param evals evaluations performed in each run
+ * @param failure the reason why the cell could not be run (null if it was run)
+ * @version 1.1
+ */
+public record CellResult(String configuration, String problem, int dimension, int instance, long[][] hits, long[] evals, String failure) {
+	
+	/**
+	 * Creates the result of a cell that could not be run (with no runs)
+	 * @param configuration the configuration file of the method
+	 * @param problem the name of the problem
+	 * @param dimension the number of variables
+	 * @param instance the index of the instance
+	 * @param failure the reason why the cell could not be run
+	 * @return the result of the cell
+	 */
+	public static CellResult failed(String configuration, String problem, int dimension, int instance, String failure) {
+		return new CellResult(configuration, problem, dimension, instance, new long[0][], new long[0], failure);
+	}
+	
+	/**
+	 * Indicates whether the cell could not be run
+	 * @return true if the cell could not be run
+	 */
+	public boolean isFailed() {
+		return failure != null;
+	}
+}
@@ -0,0 +1,114 @@
+package es.uma.lcc.caesium.dfopt.campaign;
+
+import java.util.Arrays;
+import java.util.List;
+
+import es.uma.lcc.caesium.dfopt.base.DerivativeFreeObjectiveFunction;
+import es.uma.lcc.caesium.dfopt.base.ObjectiveFunctionWrapper;
+
+/**
+ * Objective function wrapper that records the number of evaluations needed to reach 
+ * each of a ladder of target values. Evaluations are counted along the whole run 
+ * (i.e., across the cycles of an iterated method) until {@link #reset()} is invoked.
+ * @author ccottap
+ * @version 1.0
+ */
+public class TargetRecorder extends ObjectiveFunctionWrapper {
+	/**
+	 * target values, in decreasing order
+	 */
+	private double[] targets;
+	/**
+	 * evaluations needed to reach each target (-1 if not reached yet)
+	 */
+	private long[] hits;
+	/**
+	 * index of the next target to be reached
+	 */
+	private int next;
+	/**
+	 * number of evaluations in the run
+	 */
+	private long totalEvals;
+	/**
+	 * best value in the run
+	 */
+	private double best;
+
+	/**
+	 * Creates the recorder
+	 * @param inner the objective function
+	 * @param targets the target values (in any order)
+	 */
+	public TargetRecorder(DerivativeFreeObjectiveFunction inner, double[] targets) {
+		super(inner);
+		this.targets = descending(targets);
+		hits = new long[targets.length];
+		reset();
+	}
+	
+	/**
+	 * Returns a copy of the target values sorted in decreasing order
+	 * @param targets the target values
+	 * @return the target values in decreasing order
+	 */
+	static double[] descending(double[] targets) {
+		int k = targets.length;
+		double[] sorted = Arrays.copyOf(targets, k);
+		Arrays.sort(sorted);
+		for (int i=0; i<k/2; i++) {
+			double t = sorted[i];
+			sorted[i] = sorted[k-1-i];
+			sorted[k-1-i] = t;
+		}
+		return sorted;
+	}
+	
+	/**
+	 * Resets the recorder for a new run
+	 */
+	public void reset() {
+		Arrays.fill(hits, -1);
+		next = 0;
+		totalEvals = 0;
+		best = Double.POSITIVE_INFINITY;
+	}
+
+	@Override
+	protected double _evaluate(List<Double> solution) {
+		double v = super._evaluate(solution);
+		totalEvals++;
+		if (v < best) {
+			best = v;
+			while ((next < targets.length) && (best <= targets[next])) {
+				hits[next++] = totalEvals;
+			}
+		}
+		return v;
+	}
+	
+	/**
+	 * Returns the target values
+	 * @return the target values, in decreasing order
+	 */
+	public double[] getTargets() {
+		return Arrays.copyOf(targets, targets.length);
+	}
+	
+	/**
+	 * Returns the evaluations needed to reach each target in the current run
+	 * @return the evaluations needed to reach each target (-1 if not reached), in the order of {@link #getTargets()}
+	 */
+	public long[] getHits() {
+		return Arrays.copyOf(hits, hits.length);
+	}
+	
+	/**
+	 * Returns the number of evaluations in the current run
+	 * @return the number of evaluations in the current run
+	 */
+	public long getTotalEvals() {
+		return totalEvals;
+	}
+
+}
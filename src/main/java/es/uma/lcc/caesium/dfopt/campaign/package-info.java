@@ -0,0 +1,6 @@
+/**
+ * Benchmarking campaigns of derivative-free optimization methods
+ * @author ccottap
+ * @version 1.0
+ */
+package es.uma.lcc.caesium.dfopt.campaign;
\ No newline at end of file
@@ -0,0 +1,351 @@
+package es.uma.lcc.caesium.dfopt.cmaes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import es.uma.lcc.caesium.dfopt.base.DerivativeFreeMethod;
+import es.uma.lcc.caesium.dfopt.base.DerivativeFreeObjectiveFunction;
+import es.uma.lcc.caesium.dfopt.base.EvaluatedSolution;
+import es.uma.lcc.caesium.dfopt.sampling.Sampler;
+import es.uma.lcc.caesium.dfopt.sampling.SamplerFactory;
+
+/**
+ * Covariance matrix adaptation evolution strategy (CMA-ES) with weighted recombination,
+ * cumulative step-size adaptation and rank-one plus rank-mu update of the covariance matrix
+ * (Hansen, The CMA Evolution Strategy: A Tutorial, 2016). The eigendecomposition of the
+ * covariance matrix is updated lazily, every O(n/lambda) generations, and all matrices are
+ * stored in flat arrays. Each population is evaluated as a batch (in parallel if the
+ * objective function has an executor). Points are clipped to the domain before evaluation.
+ * @author ccottap
+ * @version 1.2
+ */
+public class CMAES extends DerivativeFreeMethod {
+	/**
+	 * maximum condition number of the covariance matrix
+	 */
+	private static final double MAXCONDITION = 1e14;
+	/**
+	 * random number generator
+	 */
+	private Random rng;
+	/**
+	 * sampler of random points
+	 */
+	private Sampler sampler;
+	/**
+	 * number of variables
+	 */
+	private int n;
+	/**
+	 * population size
+	 */
+	private int lambda;
+	/**
+	 * number of parents
+	 */
+	private int mu;
+	/**
+	 * recombination weights
+	 */
+	private double[] weights;
+	/**
+	 * variance-effective selection mass
+	 */
+	private double mueff;
+	/**
+	 * learning rate for the cumulation of the rank-one update
+	 */
+	private double cc;
+	/**
+	 * learning rate for the cumulation of the step-size control
+	 */
+	private double cs;
+	/**
+	 * learning rate for the rank-one update
+	 */
+	private double c1;
+	/**
+	 * learning rate for the rank-mu update
+	 */
+	private double cmu;
+	/**
+	 * damping for the step size
+	 */
+	private double damps;
+	/**
+	 * expectation of the norm of a standard normal vector
+	 */
+	private double chiN;
+	/**
+	 * mean of the distribution
+	 */
+	private double[] mean;
+	/**
+	 * evolution path of the covariance matrix
+	 */
+	private double[] pc;
+	/**
+	 * evolution path of the step size
+	 */
+	private double[] ps;
+	/**
+	 * covariance matrix (n x n, by rows)
+	 */
+	private double[] c;
+	/**
+	 * eigenvectors of the covariance matrix (n x n, by columns)
+	 */
+	private double[] b;
+	/**
+	 * square roots of the eigenvalues of the covariance matrix
+	 */
+	private double[] d;
+	/**
+	 * steps of the offspring, (x - mean)/sigma (lambda x n, by rows)
+	 */
+	private double[] y;
+	/**
+	 * work arrays
+	 */
+	private double[] work, work2, work3;
+
+
+	/**
+	 * Default constructor
+	 */
+	public CMAES() {
+		this(new CMAESConfiguration());
+	}
+
+	/**
+	 * Creates the algorithm given a configuration
+	 * @param conf the configuration of the algorithm
+	 */
+	public CMAES(CMAESConfiguration conf) {
+		super(conf);
+		rng = new Random(1);
+	}
+
+
+	@Override
+	public void setObjectiveFunction(DerivativeFreeObjectiveFunction dfof) {
+		super.setObjectiveFunction(dfof);
+		CMAESConfiguration cmaconf = (CMAESConfiguration)conf;
+		n = obj.getNumVariables();
+		sampler = new SamplerFactory().create(conf, n, 1, rng);
+		lambda = (cmaconf.getLambda() > 0) ? cmaconf.getLambda() : 4 + (int)(3*Math.log(n));
+		mu = lambda/2;
+		weights = new double[mu];
+		double sum = 0, sumsq = 0;
+		for (int i=0; i<mu; i++) {
+			weights[i] = Math.log(mu + 0.5) - Math.log(i + 1);
+			sum += weights[i];
+		}
+		for (int i=0; i<mu; i++) {
+			weights[i] /= sum;
+			sumsq += weights[i]*weights[i];
+		}
+		mueff = 1.0/sumsq;
+		cc = (4.0 + mueff/n) / (n + 4.0 + 2.0*mueff/n);
+		cs = (mueff + 2.0) / (n + mueff + 5.0);
+		c1 = 2.0 / ((n + 1.3)*(n + 1.3) + mueff);
+		cmu = Math.min(1.0 - c1, 2.0*(mueff - 2.0 + 1.0/mueff) / ((n + 2.0)*(n + 2.0) + mueff));
+		damps = 1.0 + 2.0*Math.max(0, Math.sqrt((mueff - 1.0)/(n + 1.0)) - 1.0) + cs;
+		chiN = Math.sqrt(n) * (1.0 - 1.0/(4.0*n) + 1.0/(21.0*n*n));
+
+		mean = new double[n];
+		pc = new double[n];
+		ps = new double[n];
+		c = new double[n*n];
+		b = new double[n*n];
+		d = new double[n];
+		y = new double[lambda*n];
+		work = new double[n];
+		work2 = new double[n];
+		work3 = new double[n];
+	}
+
+
+	@Override
+	protected EvaluatedSolution _run() {
+		rng.setSeed(currentSeed);
+		sampler.setSeed(currentSeed);
+		return cmaesCycle(sampler.next(obj));
+	}
+
+	@Override
+	protected EvaluatedSolution _run(List<Double> p) {
+		rng.setSeed(currentSeed);
+		return cmaesCycle(p);
+	}
+
+
+	/**
+	 * main cycle of CMA-ES
+	 * @param p the initial mean
+	 * @return the best solution found
+	 */
+	private EvaluatedSolution cmaesCycle(List<Double> p) {
+		currentSeed++;
+		CMAESConfiguration cmaconf = (CMAESConfiguration)conf;
+
+		double range = 0;
+		for (int j=0; j<n; j++) {
+			range = Math.max(range, obj.getMaxValue(j) - obj.getMinValue(j));
+			mean[j] = p.get(j);
+		}
+		double sigma = cmaconf.getSigma() * range;
+		double tolerance = cmaconf.getTolerance() * range;
+		Arrays.fill(pc, 0);
+		Arrays.fill(ps, 0);
+		Arrays.fill(c, 0);
+		Arrays.fill(b, 0);
+		for (int j=0; j<n; j++) {
+			c[j*n + j] = 1.0;
+			b[j*n + j] = 1.0;
+			d[j] = 1.0;
+		}
+
+		EvaluatedSolution best = new EvaluatedSolution(new ArrayList<Double>(p), obj.evaluate(p));
+		List<List<Double>> batch = new ArrayList<List<Double>>(lambda);
+		Integer[] order = new Integer[lambda];
+		int eigeneval = 0;
+		int generation = 0;
+
+		while (obj.getNumEvals() < getBudget()) {
+			listeners.iterationStarted(obj.getNumEvals(), sigma, best.value());
+
+			// samples and evaluates the offspring
+			batch.clear();
+			for (int k=0; k<lambda; k++) {
+				for (int i=0; i<n; i++) {
+					work[i] = d[i] * rng.nextGaussian();
+				}
+				int row = k*n;
+				List<Double> point = new ArrayList<Double>(n);
+				for (int i=0; i<n; i++) {
+					double s = 0;
+					int bi = i*n;
+					for (int j=0; j<n; j++) {
+						s += b[bi + j] * work[j];
+					}
+					double v = Math.min(obj.getMaxValue(i), Math.max(obj.getMinValue(i), mean[i] + sigma*s));
+					y[row + i] = (v - mean[i]) / sigma;
+					point.add(v);
+				}
+				batch.add(point);
+			}
+			double[] values = obj.evaluateAll(batch);
+			for (int k=0; k<lambda; k++) {
+				order[k] = k;
+			}
+			Arrays.sort(order, (k1, k2) -> Double.compare(values[k1], values[k2]));
+			if (values[order[0]] < best.value()) {
+				best = new EvaluatedSolution(batch.get(order[0]), values[order[0]]);
+			}
+
+			// recombination: new mean and weighted step
+			Arrays.fill(work, 0);
+			for (int i=0; i<mu; i++) {
+				int row = order[i]*n;
+				for (int j=0; j<n; j++) {
+					work[j] += weights[i] * y[row + j];
+				}
+			}
+			for (int j=0; j<n; j++) {
+				mean[j] += sigma*work[j];
+			}
+
+			// cumulation: evolution paths
+			invSqrtC(work, work2);
+			double csn = Math.sqrt(cs*(2.0 - cs)*mueff);
+			double norm = 0;
+			for (int j=0; j<n; j++) {
+				ps[j] = (1.0 - cs)*ps[j] + csn*work2[j];
+				norm += ps[j]*ps[j];
+			}
+			norm = Math.sqrt(norm);
+			generation++;
+			boolean hsig = norm / Math.sqrt(1.0 - Math.pow(1.0 - cs, 2.0*generation)) / chiN < 1.4 + 2.0/(n + 1.0);
+			double ccn = hsig ? Math.sqrt(cc*(2.0 - cc)*mueff) : 0;
+			for (int j=0; j<n; j++) {
+				pc[j] = (1.0 - cc)*pc[j] + ccn*work[j];
+			}
+
+			// adaptation of the covariance matrix (upper triangle, then mirrored)
+			double decay = 1.0 - c1 - cmu + (hsig ? 0 : c1*cc*(2.0 - cc));
+			for (int i=0; i<n; i++) {
+				for (int j=i; j<n; j++) {
+					double rankmu = 0;
+					for (int k=0; k<mu; k++) {
+						int row = order[k]*n;
+						rankmu += weights[k] * y[row + i] * y[row + j];
+					}
+					double v = decay*c[i*n + j] + c1*pc[i]*pc[j] + cmu*rankmu;
+					c[i*n + j] = v;
+					c[j*n + i] = v;
+				}
+			}
+
+			// adaptation of the step size
+			sigma *= Math.exp((cs/damps)*(norm/chiN - 1.0));
+
+			// lazy eigendecomposition
+			int evals = obj.getNumEvals();
+			if (evals - eigeneval > lambda/(c1 + cmu)/n/10.0) {
+				eigeneval = evals;
+				System.arraycopy(c, 0, b, 0, n*n);
+				SymmetricEigen.decompose(n, b, d, work3);
+				for (int j=0; j<n; j++) {
+					d[j] = Math.sqrt(Math.max(d[j], 0));
+				}
+			}
+
+			// termination
+			double dmax = 0, dmin = Double.POSITIVE_INFINITY;
+			for (int j=0; j<n; j++) {
+				dmax = Math.max(dmax, d[j]);
+				dmin = Math.min(dmin, d[j]);
+			}
+			if ((sigma*dmax < tolerance) || (dmin <= 0) || (dmax*dmax > MAXCONDITION*dmin*dmin) || (values[order[0]] == values[order[lambda-1]])) {
+				break;
+			}
+		}
+
+		return best;
+	}
+
+
+	/**
+	 * Computes C^(-1/2)·v = B·D^(-1)·B'·v
+	 * @param v the vector
+	 * @param r the result
+	 */
+	private void invSqrtC(double[] v, double[] r) {
+		double[] t = work3;
+		for (int j=0; j<n; j++) {
+			double s = 0;
+			for (int i=0; i<n; i++) {
+				s += b[i*n + j] * v[i];
+			}
+			t[j] = s / d[j];
+		}
+		for (int i=0; i<n; i++) {
+			double s = 0;
+			int bi = i*n;
+			for (int j=0; j<n; j++) {
+				s += b[bi + j] * t[j];
+			}
+			r[i] = s;
+		}
+	}
+
+
+	@Override
+	public String toString() {
+		return  "===============================\nCMA-ES\n===============================\n" + conf;
+	}
+
+}
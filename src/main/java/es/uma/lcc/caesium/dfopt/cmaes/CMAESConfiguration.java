@@ -0,0 +1,158 @@
+package es.uma.lcc.caesium.dfopt.cmaes;
+
+
+import com.github.cliftonlabs.json_simple.JsonObject;
+
+import es.uma.lcc.caesium.dfopt.base.DerivativeFreeConfiguration;
+
+/**
+ * Configuration of the CMA-ES method
+ * @author ccottap
+ * @version 1.0
+ */
+public class CMAESConfiguration extends DerivativeFreeConfiguration {
+	/**
+	 * name of the method
+	 */
+	private final static String CMAES = "cmaes";
+	/**
+	 * default value of the population size (0 for the default 4 + 3 ln n)
+	 */
+	private final static int LAMBDA = 0;
+	/**
+	 * default value of the initial step size (relative to the domain range)
+	 */
+	private final static double SIGMA = 0.3;
+	/**
+	 * default value of the tolerance (relative to the domain range)
+	 */
+	private final static double TOLERANCE = 1e-12;
+
+	/**
+	 * population size (0 for the default value)
+	 */
+	private int lambda;
+	/**
+	 * initial step size (relative to the domain range)
+	 */
+	private double sigma;
+	/**
+	 * tolerance (relative to the domain range)
+	 */
+	private double tolerance;
+
+
+	/**
+	 * Constructor with default values
+	 */
+	public CMAESConfiguration() {
+		super();
+		setMethod(CMAES);
+		lambda = LAMBDA;
+		sigma = SIGMA;
+		tolerance = TOLERANCE;
+	}
+	
+	
+
+	/**
+	 * Creates the configuration by reading from a JSON object
+	 * @param json a JSON object
+	 */
+	public CMAESConfiguration(JsonObject json) {
+		super(json);
+		setMethod(CMAES);
+		if (json.containsKey("lambda")) {
+			setLambda(getInt(json, "lambda"));
+		}
+		else {
+			setLambda(LAMBDA);			
+		}
+		if (json.containsKey("sigma")) {
+			setSigma(getDouble(json, "sigma"));
+		}
+		else {
+			setSigma(SIGMA);			
+		}
+		if (json.containsKey("tolerance")) {
+			setTolerance(getDouble(json, "tolerance"));
+		}
+		else {
+			setTolerance(TOLERANCE);
+		}
+	}
+
+
+
+	/**
+	 * Returns the population size
+	 * @return the population size (0 for the default value)
+	 */
+	public int getLambda() {
+		return lambda;
+	}
+
+
+	/**
+	 * Sets the population size
+	 * @param lambda the population size (0 for the default value)
+	 */
+	public void setLambda(int lambda) {
+		assert (lambda == 0) || (lambda >= 2);
+		this.lambda = lambda;
+	}
+
+
+	/**
+	 * Returns the initial step size
+	 * @return the initial step size (relative to the domain range)
+	 */
+	public double getSigma() {
+		return sigma;
+	}
+
+
+	/**
+	 * Sets the initial step size
+	 * @param sigma the initial step size (relative to the domain range)
+	 */
+	public void setSigma(double sigma) {
+		assert sigma > 0;
+		this.sigma = sigma;
+	}
+
+
+	/**
+	 * Returns the tolerance
+	 * @return the tolerance (relative to the domain range)
+	 */
+	public double getTolerance() {
+		return tolerance;
+	}
+
+
+	/**
+	 * Sets the tolerance
+	 * @param tolerance the tolerance (relative to the domain range)
+	 */
+	public void setTolerance(double tolerance) {
+		assert tolerance >= 0;
+		this.tolerance = tolerance;
+	}
+
+
+
+	@Override
+	public String toString() {
+		String str = super.toString();
+		str += 	"lambda:\t\t " + ((lambda > 0) ? lambda : "default") + "\n" + 
+				"sigma:\t\t " + sigma + "\n" + 
+				"tolerance:\t " + tolerance + "\n" + 
+				"-------------------------------\n";
+		return str;		
+	}
+	
+	
+	
+
+}
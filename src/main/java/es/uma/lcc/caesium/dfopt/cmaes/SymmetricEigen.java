@@ -0,0 +1,211 @@
+package es.uma.lcc.caesium.dfopt.cmaes;
+
+/**
+ * Eigendecomposition of a symmetric matrix stored in a flat array (by rows), by 
+ * Householder reduction to tridiagonal form followed by the QL algorithm with 
+ * implicit shifts (adapted from the public-domain JAMA library).
+ * @author ccottap
+ * @version 1.0
+ */
+class SymmetricEigen {
+	/**
+	 * Static methods only
+	 */
+	private SymmetricEigen() {
+	}
+	
+	/**
+	 * Computes the eigendecomposition of a symmetric matrix A = V·diag(d)·V'
+	 * @param n the dimension
+	 * @param v on input, the matrix A; on output, the eigenvectors (by columns)
+	 * @param d on output, the eigenvalues
+	 * @param e work array of length n
+	 */
+	static void decompose(int n, double[] v, double[] d, double[] e) {
+		tred2(n, v, d, e);
+		tql2(n, v, d, e);
+	}
+
+	/**
+	 * Householder reduction to tridiagonal form
+	 * @param n the dimension
+	 * @param v the matrix
+	 * @param d diagonal of the tridiagonal form
+	 * @param e subdiagonal of the tridiagonal form
+	 */
+	private static void tred2(int n, double[] v, double[] d, double[] e) {
+		for (int j=0; j<n; j++) {
+			d[j] = v[(n-1)*n + j];
+		}
+		for (int i=n-1; i>0; i--) {
+			double scale = 0.0;
+			double h = 0.0;
+			for (int k=0; k<i; k++) {
+				scale += Math.abs(d[k]);
+			}
+			if (scale == 0.0) {
+				e[i] = d[i-1];
+				for (int j=0; j<i; j++) {
+					d[j] = v[(i-1)*n + j];
+					v[i*n + j] = 0.0;
+					v[j*n + i] = 0.0;
+				}
+			}
+			else {
+				for (int k=0; k<i; k++) {
+					d[k] /= scale;
+					h += d[k] * d[k];
+				}
+				double f = d[i-1];
+				double g = Math.sqrt(h);
+				if (f > 0) {
+					g = -g;
+				}
+				e[i] = scale * g;
+				h = h - f * g;
+				d[i-1] = f - g;
+				for (int j=0; j<i; j++) {
+					e[j] = 0.0;
+				}
+				for (int j=0; j<i; j++) {
+					f = d[j];
+					v[j*n + i] = f;
+					g = e[j] + v[j*n + j] * f;
+					for (int k=j+1; k<=i-1; k++) {
+						g += v[k*n + j] * d[k];
+						e[k] += v[k*n + j] * f;
+					}
+					e[j] = g;
+				}
+				f = 0.0;
+				for (int j=0; j<i; j++) {
+					e[j] /= h;
+					f += e[j] * d[j];
+				}
+				double hh = f / (h + h);
+				for (int j=0; j<i; j++) {
+					e[j] -= hh * d[j];
+				}
+				for (int j=0; j<i; j++) {
+					f = d[j];
+					g = e[j];
+					for (int k=j; k<=i-1; k++) {
+						v[k*n + j] -= (f * e[k] + g * d[k]);
+					}
+					d[j] = v[(i-1)*n + j];
+					v[i*n + j] = 0.0;
+				}
+			}
+			d[i] = h;
+		}
+		
+		// accumulates the transformations
+		for (int i=0; i<n-1; i++) {
+			v[(n-1)*n + i] = v[i*n + i];
+			v[i*n + i] = 1.0;
+			double h = d[i+1];
+			if (h != 0.0) {
+				for (int k=0; k<=i; k++) {
+					d[k] = v[k*n + i+1] / h;
+				}
+				for (int j=0; j<=i; j++) {
+					double g = 0.0;
+					for (int k=0; k<=i; k++) {
+						g += v[k*n + i+1] * v[k*n + j];
+					}
+					for (int k=0; k<=i; k++) {
+						v[k*n + j] -= g * d[k];
+					}
+				}
+			}
+			for (int k=0; k<=i; k++) {
+				v[k*n + i+1] = 0.0;
+			}
+		}
+		for (int j=0; j<n; j++) {
+			d[j] = v[(n-1)*n + j];
+			v[(n-1)*n + j] = 0.0;
+		}
+		v[(n-1)*n + n-1] = 1.0;
+		e[0] = 0.0;
+	}
+	
+	/**
+	 * QL algorithm with implicit shifts on a tridiagonal matrix
+	 * @param n the dimension
+	 * @param v the transformations accumulated so far
+	 * @param d diagonal of the tridiagonal form (eigenvalues on output)
+	 * @param e subdiagonal of the tridiagonal form
+	 */
+	private static void tql2(int n, double[] v, double[] d, double[] e) {
+		for (int i=1; i<n; i++) {
+			e[i-1] = e[i];
+		}
+		e[n-1] = 0.0;
+
+		double f = 0.0;
+		double tst1 = 0.0;
+		double eps = Math.ulp(1.0);
+		for (int l=0; l<n; l++) {
+			// finds a small subdiagonal element
+			tst1 = Math.max(tst1, Math.abs(d[l]) + Math.abs(e[l]));
+			int m = l;
+			while (m < n-1) {
+				if (Math.abs(e[m]) <= eps*tst1) {
+					break;
+				}
+				m++;
+			}
+			// if m == l, d[l] is an eigenvalue; otherwise, iterates
+			if (m > l) {
+				do {
+					double g = d[l];
+					double p = (d[l+1] - g) / (2.0 * e[l]);
+					double r = Math.hypot(p, 1.0);
+					if (p < 0) {
+						r = -r;
+					}
+					d[l] = e[l] / (p + r);
+					d[l+1] = e[l] * (p + r);
+					double dl1 = d[l+1];
+					double h = g - d[l];
+					for (int i=l+2; i<n; i++) {
+						d[i] -= h;
+					}
+					f = f + h;
+
+					p = d[m];
+					double c = 1.0;
+					double c2 = c;
+					double c3 = c;
+					double el1 = e[l+1];
+					double s = 0.0;
+					double s2 = 0.0;
+					for (int i=m-1; i>=l; i--) {
+						c3 = c2;
+						c2 = c;
+						s2 = s;
+						g = c * e[i];
+						h = c * p;
+						r = Math.hypot(p, e[i]);
+						e[i+1] = s * r;
+						s = e[i] / r;
+						c = p / r;
+						p = c * d[i] - s * g;
+						d[i+1] = h + s * (c * g + s * d[i]);
+						for (int k=0; k<n; k++) {
+							h = v[k*n + i+1];
+							v[k*n + i+1] = s * v[k*n + i] + c * h;
+							v[k*n + i] = c * v[k*n + i] - s * h;
+						}
+					}
+					p = -s * s2 * c3 * el1 * e[l] / dl1;
+					e[l] = s * p;
+					d[l] = c * p;
+				} while (Math.abs(e[l]) > eps*tst1);
+			}
+			d[l] = d[l] + f;
+			e[l] = 0.0;
+		}
+	}
+}
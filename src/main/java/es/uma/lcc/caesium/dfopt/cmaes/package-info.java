@@ -0,0 +1,6 @@
+/**
+ * Covariance matrix adaptation evolution strategy (CMA-ES)
+ * @author ccottap
+ * @version 1.0
+ */
+package es.uma.lcc.caesium.dfopt.cmaes;
\ No newline at end of file
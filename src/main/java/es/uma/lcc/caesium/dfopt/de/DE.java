@@ -0,0 +1,245 @@
+package es.uma.lcc.caesium.dfopt.de;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import es.uma.lcc.caesium.dfopt.base.DerivativeFreeMethod;
+import es.uma.lcc.caesium.dfopt.base.DerivativeFreeObjectiveFunction;
+import es.uma.lcc.caesium.dfopt.base.EvaluatedSolution;
+import es.uma.lcc.caesium.dfopt.sampling.Sampler;
+import es.uma.lcc.caesium.dfopt.sampling.SamplerFactory;
+
+/**
+ * Differential evolution, DE/rand/1/bin (Storn and Price, 1997). At each generation, a trial
+ * vector is created for every member of the population by adding the weighted difference of
+ * two random members to a third one, and recombining the result with the member by binomial
+ * crossover. The trial vector replaces the member if it is not worse. Coordinates of trial
+ * vectors out of the domain are set halfway between the base vector and the violated bound.
+ * <p>
+ * The population is stored in a flat array, and the trial vectors of each generation are
+ * evaluated as a batch (in parallel if the objective function has an executor). The budget
+ * of the cycle is never exceeded: if fewer evaluations than trial vectors remain, only the
+ * first trial vectors are evaluated. The cycle also ends when the population has converged,
+ * i.e., when it spans less than the tolerance in every variable.
+ * @author ccottap
+ * @version 1.2
+ */
+public class DE extends DerivativeFreeMethod {
+	/**
+	 * random number generator
+	 */
+	private Random rng;
+	/**
+	 * sampler of random points
+	 */
+	private Sampler sampler;
+	/**
+	 * number of variables
+	 */
+	private int n;
+	/**
+	 * population size
+	 */
+	private int np;
+	/**
+	 * population (np x n, by rows)
+	 */
+	private double[] pop;
+	/**
+	 * values of the members of the population
+	 */
+	private double[] fit;
+	/**
+	 * trial vectors (np x n, by rows)
+	 */
+	private double[] trial;
+
+
+	/**
+	 * Default constructor
+	 */
+	public DE() {
+		this(new DEConfiguration());
+	}
+
+	/**
+	 * Creates the algorithm given a configuration
+	 * @param conf the configuration of the algorithm
+	 */
+	public DE(DEConfiguration conf) {
+		super(conf);
+		rng = new Random(1);
+	}
+
+
+	@Override
+	public void setObjectiveFunction(DerivativeFreeObjectiveFunction dfof) {
+		super.setObjectiveFunction(dfof);
+		DEConfiguration deconf = (DEConfiguration)conf;
+		n = obj.getNumVariables();
+		np = (deconf.getPopsize() > 0) ? deconf.getPopsize() : Math.max(4, 10*n);
+		sampler = new SamplerFactory().create(conf, n, np, rng);
+		pop = new double[np*n];
+		fit = new double[np];
+		trial = new double[np*n];
+	}
+
+
+	@Override
+	protected EvaluatedSolution _run() {
+		rng.setSeed(currentSeed);
+		sampler.setSeed(currentSeed);
+		return deCycle(null);
+	}
+
+	@Override
+	protected EvaluatedSolution _run(List<Double> p) {
+		rng.setSeed(currentSeed);
+		sampler.setSeed(currentSeed);
+		return deCycle(p);
+	}
+
+
+	/**
+	 * main cycle of differential evolution
+	 * @param p a point to be included in the initial population (null if none)
+	 * @return the best solution found
+	 */
+	private EvaluatedSolution deCycle(List<Double> p) {
+		currentSeed++;
+		DEConfiguration deconf = (DEConfiguration)conf;
+		int maxevals = getBudget();
+		double f = deconf.getWeight();
+		double cr = deconf.getCrossover();
+
+		double range = 0;
+		for (int j=0; j<n; j++) {
+			range = Math.max(range, obj.getMaxValue(j) - obj.getMinValue(j));
+		}
+		double tolerance = deconf.getTolerance() * range;
+
+		// initial population
+		for (int i=0; i<np; i++) {
+			List<Double> q = ((i == 0) && (p != null)) ? p : sampler.next(obj);
+			for (int j=0; j<n; j++) {
+				pop[i*n + j] = q.get(j);
+			}
+		}
+		int best = 0;
+		int k = Math.min(np, maxevals);
+		double[] values = obj.evaluateAll(batch(pop, k));
+		for (int i=0; i<np; i++) {
+			fit[i] = (i < k) ? values[i] : Double.POSITIVE_INFINITY;
+			if (fit[i] < fit[best]) {
+				best = i;
+			}
+		}
+
+		while (obj.getNumEvals() < maxevals) {
+			double spread = spread();
+			listeners.iterationStarted(obj.getNumEvals(), spread, fit[best]);
+			if (spread < tolerance) {
+				break;
+			}
+
+			// creates the trial vectors
+			for (int i=0; i<np; i++) {
+				int r1, r2, r3;
+				do {
+					r1 = rng.nextInt(np);
+				} while (r1 == i);
+				do {
+					r2 = rng.nextInt(np);
+				} while ((r2 == i) || (r2 == r1));
+				do {
+					r3 = rng.nextInt(np);
+				} while ((r3 == i) || (r3 == r1) || (r3 == r2));
+				int jrand = rng.nextInt(n);
+				int row = i*n;
+				for (int j=0; j<n; j++) {
+					if ((j == jrand) || (rng.nextDouble() < cr)) {
+						double base = pop[r1*n + j];
+						double v = base + f*(pop[r2*n + j] - pop[r3*n + j]);
+						double lo = obj.getMinValue(j);
+						double hi = obj.getMaxValue(j);
+						if (v < lo) {
+							v = 0.5*(base + lo);
+						}
+						else if (v > hi) {
+							v = 0.5*(base + hi);
+						}
+						trial[row + j] = v;
+					}
+					else {
+						trial[row + j] = pop[row + j];
+					}
+				}
+			}
+
+			// evaluates them (within the budget) and selects the survivors
+			k = Math.min(np, maxevals - obj.getNumEvals());
+			values = obj.evaluateAll(batch(trial, k));
+			for (int i=0; i<k; i++) {
+				if (values[i] <= fit[i]) {
+					System.arraycopy(trial, i*n, pop, i*n, n);
+					fit[i] = values[i];
+					if (values[i] < fit[best]) {
+						best = i;
+					}
+				}
+			}
+		}
+
+		List<Double> sol = new ArrayList<Double>(n);
+		for (int j=0; j<n; j++) {
+			sol.add(pop[best*n + j]);
+		}
+		return new EvaluatedSolution(sol, fit[best]);
+	}
+
+
+	/**
+	 * Returns the largest span of the population in any variable
+	 * @return the largest difference between the maximum and minimum value of a variable in the population
+	 */
+	private double spread() {
+		double spread = 0;
+		for (int j=0; j<n; j++) {
+			double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+			for (int i=0; i<np; i++) {
+				double v = pop[i*n + j];
+				min = Math.min(min, v);
+				max = Math.max(max, v);
+			}
+			spread = Math.max(spread, max - min);
+		}
+		return spread;
+	}
+
+
+	/**
+	 * Creates the batch of points to be evaluated from a flat array
+	 * @param v the array (by rows)
+	 * @param k the number of points
+	 * @return the first k points of the array
+	 */
+	private List<List<Double>> batch(double[] v, int k) {
+		List<List<Double>> points = new ArrayList<List<Double>>(k);
+		for (int i=0; i<k; i++) {
+			List<Double> point = new ArrayList<Double>(n);
+			for (int j=0; j<n; j++) {
+				point.add(v[i*n + j]);
+			}
+			points.add(point);
+		}
+		return points;
+	}
+
+
+	@Override
+	public String toString() {
+		return  "===============================\nDE\n===============================\n" + conf;
+	}
+
+}
@@ -0,0 +1,185 @@
+package es.uma.lcc.caesium.dfopt.de;
+
+
+import com.github.cliftonlabs.json_simple.JsonObject;
+
+import es.uma.lcc.caesium.dfopt.base.DerivativeFreeConfiguration;
+
+/**
+ * Configuration of the differential evolution method
+ * @author ccottap
+ * @version 1.0
+ */
+public class DEConfiguration extends DerivativeFreeConfiguration {
+	/**
+	 * name of the method
+	 */
+	private final static String DE = "de";
+	/**
+	 * default value of the population size (0 for the default 10n)
+	 */
+	private final static int POPSIZE = 0;
+	/**
+	 * default value of the differential weight
+	 */
+	private final static double WEIGHT = 0.5;
+	/**
+	 * default value of the crossover rate
+	 */
+	private final static double CROSSOVER = 0.9;
+	/**
+	 * default value of the tolerance (relative to the domain range)
+	 */
+	private final static double TOLERANCE = 1e-12;
+
+	/**
+	 * population size (0 for the default value)
+	 */
+	private int popsize;
+	/**
+	 * differential weight
+	 */
+	private double weight;
+	/**
+	 * crossover rate
+	 */
+	private double crossover;
+	/**
+	 * tolerance (relative to the domain range)
+	 */
+	private double tolerance;
+
+
+	/**
+	 * Constructor with default values
+	 */
+	public DEConfiguration() {
+		super();
+		setMethod(DE);
+		popsize = POPSIZE;
+		weight = WEIGHT;
+		crossover = CROSSOVER;
+		tolerance = TOLERANCE;
+	}
+	
+	
+
+	/**
+	 * Creates the configuration by reading from a JSON object
+	 * @param json a JSON object
+	 */
+	public DEConfiguration(JsonObject json) {
+		super(json);
+		setMethod(DE);
+		if (json.containsKey("popsize")) {
+			setPopsize(getInt(json, "popsize"));
+		}
+		else {
+			setPopsize(POPSIZE);			
+		}
+		if (json.containsKey("weight")) {
+			setWeight(getDouble(json, "weight"));
+		}
+		else {
+			setWeight(WEIGHT);			
+		}
+		if (json.containsKey("crossover")) {
+			setCrossover(getDouble(json, "crossover"));
+		}
+		else {
+			setCrossover(CROSSOVER);			
+		}
+		if (json.containsKey("tolerance")) {
+			setTolerance(getDouble(json, "tolerance"));
+		}
+		else {
+			setTolerance(TOLERANCE);			
+		}
+	}
+
+
+	/**
+	 * Returns the population size
+	 * @return the population size (0 for the default value 10n)
+	 */
+	public int getPopsize() {
+		return popsize;
+	}
+
+	/**
+	 * Sets the population size
+	 * @param popsize the population size (0 for the default value 10n, at least 4 otherwise)
+	 */
+	public void setPopsize(int popsize) {
+		assert (popsize == 0) || (popsize >= 4);
+		this.popsize = popsize;
+	}
+
+	/**
+	 * Returns the differential weight
+	 * @return the differential weight
+	 */
+	public double getWeight() {
+		return weight;
+	}
+
+	/**
+	 * Sets the differential weight
+	 * @param weight the differential weight
+	 */
+	public void setWeight(double weight) {
+		assert (weight > 0) && (weight <= 2);
+		this.weight = weight;
+	}
+
+	/**
+	 * Returns the crossover rate
+	 * @return the crossover rate
+	 */
+	public double getCrossover() {
+		return crossover;
+	}
+
+	/**
+	 * Sets the crossover rate
+	 * @param crossover the crossover rate
+	 */
+	public void setCrossover(double crossover) {
+		assert (crossover >= 0) && (crossover <= 1);
+		this.crossover = crossover;
+	}
+
+	/**
+	 * Returns the tolerance
+	 * @return the tolerance (relative to the domain range)
+	 */
+	public double getTolerance() {
+		return tolerance;
+	}
+
+	/**
+	 * Sets the tolerance
+	 * @param tolerance the tolerance (relative to the domain range)
+	 */
+	public void setTolerance(double tolerance) {
+		assert tolerance > 0;
+		this.tolerance = tolerance;
+	}
+
+
+
+	@Override
+	public String toString() {
+		String str = super.toString();
+		str += 	"popsize:\t " + ((popsize > 0) ? popsize : "10n") + "\n" + 
+				"weight:\t\t " + weight + "\n" + 
+				"crossover:\t " + crossover + "\n" + 
+				"tolerance:\t " + tolerance + "\n" + 
+				"-------------------------------\n";
+		return str;		
+	}
+	
+	
+	
+
+}
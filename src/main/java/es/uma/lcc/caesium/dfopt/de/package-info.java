@@ -0,0 +1,6 @@
+/**
+ * Differential evolution
+ * @author ccottap
+ * @version 1.0
+ */
+package es.uma.lcc.caesium.dfopt.de;
\ No newline at end of file
@@ -0,0 +1,18 @@
+package es.uma.lcc.caesium.dfopt.events;
+
+/**
+ * Listener that prints events to the standard output
+ * @author ccottap
+ * @version 1.0
+ */
+public class ConsoleListener extends StreamListener {
+
+	/**
+	 * Creates the listener
+	 * @param level the level of detail (see {@link StreamListener})
+	 */
+	public ConsoleListener(int level) {
+		super(System.out, level);
+	}
+
+}
@@ -0,0 +1,70 @@
+package es.uma.lcc.caesium.dfopt.events;
+
+import es.uma.lcc.caesium.dfopt.base.EvaluatedSolution;
+
+/**
+ * Listener to the events produced by a derivative-free method. All methods
+ * have an empty default implementation, so that listeners only need to
+ * override those events they are interested in.
+ * @author ccottap
+ * @version 1.1
+ */
+public interface DerivativeFreeListener {
+	
+	/**
+	 * Notifies the start of a run of an iterated method
+	 */
+	default void runStarted() {
+	}
+	
+	/**
+	 * Notifies the start of an iteration of the method
+	 * @param evals number of evaluations so far in the current cycle
+	 * @param spread a method-specific measure of the size of the search (e.g., the normalized 
+	 * standard deviation of the simplex in Nelder-Mead, or the step size in Hooke-Jeeves)
+	 * @param best value of the best solution in the current cycle
+	 */
+	default void iterationStarted(int evals, double spread, double best) {
+	}
+	
+	/**
+	 * Notifies that a move has been accepted
+	 * @param move the type of move
+	 * @param sol the solution accepted
+	 */
+	default void moveAccepted(MoveType move, EvaluatedSolution sol) {
+	}
+	
+	/**
+	 * Notifies that the search shrinks (the simplex in Nelder-Mead, or the step size in Hooke-Jeeves)
+	 * @param evals number of evaluations so far in the current cycle
+	 * @param factor the shrink factor
+	 */
+	default void shrink(int evals, double factor) {
+	}
+	
+	/**
+	 * Notifies that a cycle of an iterated method has finished, and the underlying method is restarted
+	 * @param cycle the index of the cycle just finished
+	 * @param evals number of evaluations so far in the run
+	 * @param best value of the best solution so far in the run
+	 */
+	default void restart(int cycle, long evals, double best) {
+	}
+	
+	/**
+	 * Notifies that the best solution of an iterated method has improved
+	 * @param evals number of evaluations so far in the run
+	 * @param sol the new best solution
+	 */
+	default void improvement(long evals, EvaluatedSolution sol) {
+	}
+	
+	/**
+	 * Notifies a lookup in the cache of evaluations of the method (if any)
+	 * @param hit whether the point was found in the cache or not
+	 */
+	default void cacheLookup(boolean hit) {
+	}
+
+}
@@ -0,0 +1,110 @@
+package es.uma.lcc.caesium.dfopt.events;
+
+import java.util.Arrays;
+
+import es.uma.lcc.caesium.dfopt.base.EvaluatedSolution;
+
+/**
+ * Collection of listeners that forwards every event to each of them. Listeners are
+ * kept in a plain array, so that notifying an event with no listeners registered
+ * reduces to an empty loop.
+ * @author ccottap
+ * @version 1.1
+ */
+public final class DerivativeFreeListeners implements DerivativeFreeListener {
+	/**
+	 * the listeners
+	 */
+	private DerivativeFreeListener[] listeners;
+
+	/**
+	 * Creates an empty collection of listeners
+	 */
+	public DerivativeFreeListeners() {
+		listeners = new DerivativeFreeListener[0];
+	}
+	
+	/**
+	 * Adds a listener
+	 * @param l the listener
+	 */
+	public void add(DerivativeFreeListener l) {
+		listeners = Arrays.copyOf(listeners, listeners.length + 1);
+		listeners[listeners.length - 1] = l;
+	}
+	
+	/**
+	 * Removes a listener (if present)
+	 * @param l the listener
+	 */
+	public void remove(DerivativeFreeListener l) {
+		int n = listeners.length;
+		for (int i=0; i<n; i++) {
+			if (listeners[i] == l) {
+				DerivativeFreeListener[] newListeners = new DerivativeFreeListener[n-1];
+				System.arraycopy(listeners, 0, newListeners, 0, i);
+				System.arraycopy(listeners, i+1, newListeners, i, n-i-1);
+				listeners = newListeners;
+				return;
+			}
+		}
+	}
+	
+	/**
+	 * Indicates whether there are no listeners registered
+	 * @return true if there are no listeners registered
+	 */
+	public boolean isEmpty() {
+		return listeners.length == 0;
+	}
+
+	@Override
+	public void runStarted() {
+		for (DerivativeFreeListener l: listeners) {
+			l.runStarted();
+		}
+	}
+
+	@Override
+	public void iterationStarted(int evals, double spread, double best) {
+		for (DerivativeFreeListener l: listeners) {
+			l.iterationStarted(evals, spread, best);
+		}
+	}
+
+	@Override
+	public void moveAccepted(MoveType move, EvaluatedSolution sol) {
+		for (DerivativeFreeListener l: listeners) {
+			l.moveAccepted(move, sol);
+		}
+	}
+
+	@Override
+	public void shrink(int evals, double factor) {
+		for (DerivativeFreeListener l: listeners) {
+			l.shrink(evals, factor);
+		}
+	}
+
+	@Override
+	public void restart(int cycle, long evals, double best) {
+		for (DerivativeFreeListener l: listeners) {
+			l.restart(cycle, evals, best);
+		}
+	}
+
+	@Override
+	public void improvement(long evals, EvaluatedSolution sol) {
+		for (DerivativeFreeListener l: listeners) {
+			l.improvement(evals, sol);
+		}
+	}
+
+	@Override
+	public void cacheLookup(boolean hit) {
+		for (DerivativeFreeListener l: listeners) {
+			l.cacheLookup(hit);
+		}
+	}
+
+}
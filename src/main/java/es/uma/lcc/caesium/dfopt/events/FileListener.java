@@ -0,0 +1,31 @@
+package es.uma.lcc.caesium.dfopt.events;
+
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+
+/**
+ * Listener that prints events to a file
+ * @author ccottap
+ * @version 1.0
+ */
+public class FileListener extends StreamListener implements AutoCloseable {
+
+	/**
+	 * Creates the listener
+	 * @param filename the name of the file
+	 * @param level the level of detail (see {@link StreamListener})
+	 * @throws FileNotFoundException if the file cannot be created
+	 */
+	public FileListener(String filename, int level) throws FileNotFoundException {
+		super(new PrintStream(filename), level);
+	}
+
+	/**
+	 * Closes the file
+	 */
+	@Override
+	public void close() {
+		out.close();
+	}
+
+}
@@ -0,0 +1,131 @@
+package es.uma.lcc.caesium.dfopt.events;
+
+import es.uma.lcc.caesium.dfopt.base.EvaluatedSolution;
+
+/**
+ * Listener that counts events
+ * @author ccottap
+ * @version 1.0
+ */
+public class MetricsListener implements DerivativeFreeListener {
+	/**
+	 * number of iterations
+	 */
+	private long iterations;
+	/**
+	 * number of moves accepted, indexed by type
+	 */
+	private long[] moves;
+	/**
+	 * number of shrinks
+	 */
+	private long shrinks;
+	/**
+	 * number of restarts
+	 */
+	private long restarts;
+	/**
+	 * number of improvements
+	 */
+	private long improvements;
+	
+	/**
+	 * Creates the listener
+	 */
+	public MetricsListener() {
+		moves = new long[MoveType.values().length];
+		clear();
+	}
+	
+	/**
+	 * Resets all counters
+	 */
+	public void clear() {
+		iterations = 0;
+		for (int i=0; i<moves.length; i++) {
+			moves[i] = 0;
+		}
+		shrinks = 0;
+		restarts = 0;
+		improvements = 0;
+	}
+
+	@Override
+	public void iterationStarted(int evals, double spread, double best) {
+		iterations++;
+	}
+
+	@Override
+	public void moveAccepted(MoveType move, EvaluatedSolution sol) {
+		moves[move.ordinal()]++;
+	}
+
+	@Override
+	public void shrink(int evals, double factor) {
+		shrinks++;
+	}
+
+	@Override
+	public void restart(int cycle, long evals, double best) {
+		restarts++;
+	}
+
+	@Override
+	public void improvement(long evals, EvaluatedSolution sol) {
+		improvements++;
+	}
+
+	/**
+	 * Returns the number of iterations
+	 * @return the number of iterations
+	 */
+	public long getIterations() {
+		return iterations;
+	}
+
+	/**
+	 * Returns the number of moves of a given type accepted
+	 * @param move the type of move
+	 * @return the number of moves of type {@code move} accepted
+	 */
+	public long getMoves(MoveType move) {
+		return moves[move.ordinal()];
+	}
+
+	/**
+	 * Returns the number of shrinks
+	 * @return the number of shrinks
+	 */
+	public long getShrinks() {
+		return shrinks;
+	}
+
+	/**
+	 * Returns the number of restarts
+	 * @return the number of restarts
+	 */
+	public long getRestarts() {
+		return restarts;
+	}
+
+	/**
+	 * Returns the number of improvements
+	 * @return the number of improvements
+	 */
+	public long getImprovements() {
+		return improvements;
+	}
+
+	@Override
+	public String toString() {
+		String str = "iterations:\t " + iterations + "\n";
+		for (MoveType m: MoveType.values()) {
+			str += m + ":\t " + moves[m.ordinal()] + "\n";
+		}
+		str += "shrinks:\t " + shrinks + "\n" + 
+				"restarts:\t " + restarts + "\n" + 
+				"improvements:\t " + improvements + "\n";
+		return str;
+	}
+
+}
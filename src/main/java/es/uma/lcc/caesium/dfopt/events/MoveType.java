@@ -0,0 +1,37 @@
+package es.uma.lcc.caesium.dfopt.events;
+
+/**
+ * Types of moves that a derivative-free method can accept
+ * @author ccottap
+ * @version 1.1
+ */
+public enum MoveType {
+	/**
+	 * reflection of the worst point (Nelder-Mead)
+	 */
+	REFLECTION,
+	/**
+	 * expansion of the reflected point (Nelder-Mead)
+	 */
+	EXPANSION,
+	/**
+	 * contraction on the outside (Nelder-Mead)
+	 */
+	OUTSIDE_CONTRACTION,
+	/**
+	 * contraction on the inside (Nelder-Mead)
+	 */
+	INSIDE_CONTRACTION,
+	/**
+	 * pattern move (Hooke-Jeeves)
+	 */
+	PATTERN,
+	/**
+	 * successful search step (MADS)
+	 */
+	SEARCH,
+	/**
+	 * successful poll step (MADS)
+	 */
+	POLL
+}
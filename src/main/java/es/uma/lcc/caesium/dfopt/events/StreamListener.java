@@ -0,0 +1,69 @@
+package es.uma.lcc.caesium.dfopt.events;
+
+import java.io.PrintStream;
+
+import es.uma.lcc.caesium.dfopt.base.EvaluatedSolution;
+
+/**
+ * Listener that prints events to a stream. At level 1 the progress of the
+ * search is printed (one line per iteration or cycle); at level 2 and above,
+ * individual moves, shrinks and improvements are printed as well.
+ * @author ccottap
+ * @version 1.0
+ */
+public class StreamListener implements DerivativeFreeListener {
+	/**
+	 * the output stream
+	 */
+	protected PrintStream out;
+	/**
+	 * level of detail
+	 */
+	private int level;
+	
+	/**
+	 * Creates the listener
+	 * @param out the output stream
+	 * @param level the level of detail
+	 */
+	public StreamListener(PrintStream out, int level) {
+		this.out = out;
+		this.level = level;
+	}
+
+	@Override
+	public void iterationStarted(int evals, double spread, double best) {
+		if (level > 0) {
+			out.println(evals + "\t" + spread + "\t" + best);
+		}
+	}
+
+	@Override
+	public void moveAccepted(MoveType move, EvaluatedSolution sol) {
+		if (level > 1) {
+			out.println(move + ": " + sol + " accepted");
+		}
+	}
+
+	@Override
+	public void shrink(int evals, double factor) {
+		if (level > 1) {
+			out.println("Shrink (" + factor + ")");
+		}
+	}
+
+	@Override
+	public void restart(int cycle, long evals, double best) {
+		if (level > 0) {
+			out.println(evals + "\t" + cycle + "\t" + best);
+		}
+	}
+
+	@Override
+	public void improvement(long evals, EvaluatedSolution sol) {
+		if (level > 1) {
+			out.println("New best: " + sol);
+		}
+	}
+
+}
@@ -0,0 +1,6 @@
+/**
+ * Events notified by derivative-free optimization methods, and listeners to them
+ * @author ccottap
+ * @version 1.0
+ */
+package es.uma.lcc.caesium.dfopt.events;
\ No newline at end of file
@@ -2,22 +2,28 @@ package es.uma.lcc.caesium.dfopt.hookejeeves;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 
 import es.uma.lcc.caesium.dfopt.base.DerivativeFreeConfiguration;
 import es.uma.lcc.caesium.dfopt.base.DerivativeFreeMethod;
+import es.uma.lcc.caesium.dfopt.base.DerivativeFreeObjectiveFunction;
 import es.uma.lcc.caesium.dfopt.base.EvaluatedSolution;
+import es.uma.lcc.caesium.dfopt.events.MoveType;
+import es.uma.lcc.caesium.dfopt.jfr.PatternMoveEvent;
+import es.uma.lcc.caesium.dfopt.sampling.Sampler;
+import es.uma.lcc.caesium.dfopt.sampling.SamplerFactory;
 
 /**
- * Hooke-Jeeves algorithm
+ * Hooke-Jeeves algorithm. If screening is enabled and the objective function has several
+ * fidelity levels, the neighbors of a point are ranked at the lowest fidelity, and only the
+ * most promising ones are evaluated at full fidelity.
  * @author ccottap
- * @version 1.1
+ * @version 1.6
  */
 public class HookeJeeves extends DerivativeFreeMethod {
 	/**
-	 * random number generator
+	 * sampler of random points
 	 */
-	private Random rng;
+	private Sampler sampler;
 
 	
 	/**
@@ -34,14 +40,20 @@ public class HookeJeeves extends DerivativeFreeMethod {
 	 */
 	public HookeJeeves(DerivativeFreeConfiguration conf) {
 		super(conf);
-		rng = new Random(1);
 	}
 	
 
 	
+	@Override
+	public void setObjectiveFunction(DerivativeFreeObjectiveFunction dfof) {
+		super.setObjectiveFunction(dfof);
+		sampler = new SamplerFactory().create(conf, obj.getNumVariables(), 1);
+	}
+	
+	
 	@Override
 	protected EvaluatedSolution _run() {
-		rng.setSeed(currentSeed);
+		sampler.setSeed(currentSeed);
 		return _run(randomPoint());
 	}
 	
@@ -50,12 +62,7 @@ public class HookeJeeves extends DerivativeFreeMethod {
 	 * @return a random point in the domain
 	 */
 	private List<Double> randomPoint() {
-		int n = obj.getNumVariables();
-		List<Double> p = new ArrayList<Double> (n);
-		for (int j=0; j<n; j++) {
-			p.add(rng.nextDouble(obj.getMinValue(j), obj.getMaxValue(j)));
-		}
-		return p;
+		return sampler.next(obj);
 	}
 
 
@@ -70,56 +77,38 @@ public class HookeJeeves extends DerivativeFreeMethod {
 		double[] delta = new double[n];		// compute step sizes along each dimension
 		initializeDelta (delta, curStep);
 		double[] direct = new double[n];	// direction of the last improvement
+		boolean screening = isScreening();	// neighbors are screened at low fidelity
 
 		
 		EvaluatedSolution current = new EvaluatedSolution(p, obj.evaluate(p));
-		if (verbosityLevel > 0) {
-			System.out.println(obj.getNumEvals() + "\t" + curStep + "\t" + current.value());
-			if (verbosityLevel > 1) {
-				System.out.println("HJ starts at " + current);
-			}
-		}
-		while ((obj.getNumEvals() < hjconf.getMaxevalsCycle()) && (curStep > hjconf.getMinStep())) {
-			EvaluatedSolution newSol = getBestNeighbor (current.point(), delta, false);
-			while ((newSol.value() < current.value()) && (obj.getNumEvals() < hjconf.getMaxevalsCycle())) {
+		while ((obj.getNumEvals() < getBudget()) && (curStep > hjconf.getMinStep())) {
+			listeners.iterationStarted(obj.getNumEvals(), curStep, current.value());
+			EvaluatedSolution newSol = screening ? getBestScreenedNeighbor(current.point(), delta, false) : getBestNeighbor (current.point(), delta, false);
+			while ((newSol.value() < current.value()) && (obj.getNumEvals() < getBudget())) {
+				PatternMoveEvent event = new PatternMoveEvent();
+				event.begin();
 				getDirection (direct, current.point(), newSol.point());
-				if (verbosityLevel > 1) {
-					System.out.println("Better neighbor = " + newSol);
-					System.out.println("Becomes current. Direction = " + toString(direct));
-				}
 				current = newSol;
-				newSol = getBestNeighbor(displacePoint(newSol.point(), direct, hjconf.getAcceleration()), delta);
-				if (verbosityLevel > 0) {
-					System.out.println(obj.getNumEvals() + "\t" + curStep + "\t" + current.value());
+				listeners.moveAccepted(MoveType.PATTERN, current);
+				List<Double> next = displacePoint(newSol.point(), direct, hjconf.getAcceleration());
+				newSol = screening ? getBestScreenedNeighbor(next, delta, true) : getBestNeighbor(next, delta);
+				if (event.shouldCommit()) {
+					event.step = curStep;
+					event.n = n;
+					event.evals = obj.getNumEvals();
+					event.value = newSol.value();
+					event.commit();
 				}
 			}
 			curStep *= hjconf.getContraction();
 			initializeDelta (delta, curStep);
-			if (verbosityLevel > 1) {
-				System.out.println("Worst neighbor = " + newSol);
-				System.out.println("Step reduced to = " + curStep);
-			}
+			listeners.shrink(obj.getNumEvals(), hjconf.getContraction());
 		}
 		
 		return current;
 	}
 
 
-	/**
-	 * Returns a printable version of the double array
-	 * @param v a double array
-	 * @return a printable version of the double array
-	 */
-	private String toString(double[] v) {
-		int n = v.length;
-		String str = "[" + v[0];
-		for (int i=1; i<n; i++)
-			str += ", " + v[i];
-		str += "]";
-		return str;
-	}
-
-
 	/**
 	 * Initializes delta values given the current step size
 	 * @param delta an array where the deltas for each dimension will be stored (allocated outside)
@@ -182,7 +171,7 @@ public class HookeJeeves extends DerivativeFreeMethod {
 	 * @param solid whether the neighborhood is solid or not, i.e. whether the base point is included as well or not
 	 * @return the best point neighboring the base point
 	 */
-	private EvaluatedSolution getBestNeighbor(List<Double> point, double[] delta, boolean solid) {
+	EvaluatedSolution getBestNeighbor(List<Double> point, double[] delta, boolean solid) {
 		assert (point.size() == delta.length) && (point.size() == obj.getNumVariables());
 		
 		EvaluatedSolution best;		
@@ -198,7 +187,8 @@ public class HookeJeeves extends DerivativeFreeMethod {
 			for (int j=-1; j<=1; j+=2) {
 				List<Double> p = new ArrayList<Double>(point);
 				p.set(i, Math.min(obj.getMaxValue(i), Math.max(obj.getMinValue(i), point.get(i) + j*delta[i])));
-				EvaluatedSolution sol = new EvaluatedSolution(p, obj.evaluate(p));
+				// the exact value of a neighbor worse than the best one is not needed
+				EvaluatedSolution sol = new EvaluatedSolution(p, obj.evaluate(p, best.value()));
 				if (sol.value() < best.value()) {
 					best = sol;
 				}
@@ -209,6 +199,36 @@ public class HookeJeeves extends DerivativeFreeMethod {
 	}
 	
 	
+	/**
+	 * Gets the best point in the neighborhood of a given point, screening the neighbors at low fidelity
+	 * @param point the base point
+	 * @param delta step sizes along each dimension
+	 * @param solid whether the neighborhood is solid or not, i.e. whether the base point is included as well or not
+	 * @return the best point neighboring the base point
+	 */
+	private EvaluatedSolution getBestScreenedNeighbor(List<Double> point, double[] delta, boolean solid) {
+		EvaluatedSolution best;		
+		if (solid) {
+			best = new EvaluatedSolution(point, obj.evaluate(point));
+		}
+		else {
+			best = new EvaluatedSolution(null, Double.POSITIVE_INFINITY);
+		}
+		
+		int n = point.size();
+		List<List<Double>> neighbors = new ArrayList<List<Double>>(2*n);
+		for (int i=0; i<n; i++) {
+			for (int j=-1; j<=1; j+=2) {
+				List<Double> p = new ArrayList<Double>(point);
+				p.set(i, Math.min(obj.getMaxValue(i), Math.max(obj.getMinValue(i), point.get(i) + j*delta[i])));
+				neighbors.add(p);
+			}
+		}
+		EvaluatedSolution sol = screen(neighbors, best.value());
+		return (sol != null) ? sol : best;
+	}
+	
+	
 	@Override
 	public String toString() {
 		return  "===============================\nHooke-Jeeves\n===============================\n" + conf;
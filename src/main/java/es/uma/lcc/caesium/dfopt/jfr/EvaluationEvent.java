@@ -0,0 +1,36 @@
+package es.uma.lcc.caesium.dfopt.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for a call to the objective function
+ * @author ccottap
+ * @version 1.0
+ */
+@Name("es.uma.lcc.caesium.dfopt.Evaluation")
+@Label("Evaluation")
+@Category({"Derivative-Free Optimization"})
+@Description("Call to the objective function")
+@Enabled(false)
+public class EvaluationEvent extends Event {
+	/**
+	 * number of variables
+	 */
+	@Label("Variables")
+	public int n;
+	/**
+	 * number of evaluations in the current cycle
+	 */
+	@Label("Evaluations")
+	public int evals;
+	/**
+	 * value of the objective function
+	 */
+	@Label("Value")
+	public double value;
+}
@@ -0,0 +1,41 @@
+package es.uma.lcc.caesium.dfopt.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for an iteration of the Nelder-Mead algorithm
+ * @author ccottap
+ * @version 1.0
+ */
+@Name("es.uma.lcc.caesium.dfopt.NelderMeadStep")
+@Label("Nelder-Mead Step")
+@Category({"Derivative-Free Optimization"})
+@Description("Iteration of the Nelder-Mead algorithm")
+@Enabled(false)
+public class NelderMeadStepEvent extends Event {
+	/**
+	 * the step taken (reflection, expansion, contraction or shrink)
+	 */
+	@Label("Step")
+	public String step;
+	/**
+	 * number of variables
+	 */
+	@Label("Variables")
+	public int n;
+	/**
+	 * number of evaluations in the current cycle
+	 */
+	@Label("Evaluations")
+	public int evals;
+	/**
+	 * value of the best solution in the simplex
+	 */
+	@Label("Value")
+	public double value;
+}
@@ -0,0 +1,41 @@
+package es.uma.lcc.caesium.dfopt.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for a pattern move of the Hooke-Jeeves algorithm
+ * @author ccottap
+ * @version 1.0
+ */
+@Name("es.uma.lcc.caesium.dfopt.PatternMove")
+@Label("Pattern Move")
+@Category({"Derivative-Free Optimization"})
+@Description("Pattern move of the Hooke-Jeeves algorithm, followed by an exploration of the neighborhood")
+@Enabled(false)
+public class PatternMoveEvent extends Event {
+	/**
+	 * current step size (relative to the domain range)
+	 */
+	@Label("Step")
+	public double step;
+	/**
+	 * number of variables
+	 */
+	@Label("Variables")
+	public int n;
+	/**
+	 * number of evaluations in the current cycle
+	 */
+	@Label("Evaluations")
+	public int evals;
+	/**
+	 * value of the best neighbor found
+	 */
+	@Label("Value")
+	public double value;
+}
@@ -0,0 +1,41 @@
+package es.uma.lcc.caesium.dfopt.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for a cycle of an iterated method (i.e., the interval between restarts)
+ * @author ccottap
+ * @version 1.0
+ */
+@Name("es.uma.lcc.caesium.dfopt.Restart")
+@Label("Restart")
+@Category({"Derivative-Free Optimization"})
+@Description("Cycle of an iterated method, up to the next restart")
+@Enabled(false)
+public class RestartEvent extends Event {
+	/**
+	 * index of the cycle
+	 */
+	@Label("Cycle")
+	public int cycle;
+	/**
+	 * number of variables
+	 */
+	@Label("Variables")
+	public int n;
+	/**
+	 * number of evaluations in the run
+	 */
+	@Label("Evaluations")
+	public long evals;
+	/**
+	 * value of the best solution in the run
+	 */
+	@Label("Value")
+	public double value;
+}
@@ -0,0 +1,8 @@
+/**
+ * Flight Recorder events of derivative-free optimization methods. All events are disabled 
+ * by default, and must be enabled explicitly in the recording settings (e.g., 
+ * {@code es.uma.lcc.caesium.dfopt.Evaluation#enabled=true}).
+ * @author ccottap
+ * @version 1.0
+ */
+package es.uma.lcc.caesium.dfopt.jfr;
\ No newline at end of file
@@ -0,0 +1,323 @@
+package es.uma.lcc.caesium.dfopt.mads;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import es.uma.lcc.caesium.dfopt.base.DerivativeFreeMethod;
+import es.uma.lcc.caesium.dfopt.base.DerivativeFreeObjectiveFunction;
+import es.uma.lcc.caesium.dfopt.base.EvaluatedSolution;
+import es.uma.lcc.caesium.dfopt.events.MoveType;
+import es.uma.lcc.caesium.dfopt.sampling.HaltonSampler;
+import es.uma.lcc.caesium.dfopt.sampling.Sampler;
+import es.uma.lcc.caesium.dfopt.sampling.SamplerFactory;
+
+/**
+ * Mesh adaptive direct search (MADS) with OrthoMADS poll directions (Abramson et al., 2009).
+ * Points lie on a mesh of size 4<sup>-l</sup> (relative to the domain range), and the poll
+ * step explores 2n points at distance 2<sup>-l</sup> along the positive spanning set [H -H],
+ * where H is the Householder matrix of a direction taken from a Halton sequence (so the
+ * poll directions change at each iteration and become dense in the unit sphere). A search
+ * step is tried before polling, repeating the last successful displacement.
+ * Successful iterations coarsen the mesh and unsuccessful ones refine it.
+ * <p>
+ * Polling is either complete (all poll points are evaluated as a batch and the best one
+ * is taken) or opportunistic (poll points are evaluated in batches, stopping at the first
+ * batch that improves the current point). Batches are evaluated in parallel if the
+ * objective function has an executor. Mesh points are represented by integer coordinates,
+ * so that points already evaluated in the run are recognized exactly and not re-evaluated
+ * (each lookup in this cache is notified to the listeners).
+ * @author ccottap
+ * @version 1.4
+ */
+public class MADS extends DerivativeFreeMethod {
+	/**
+	 * finest mesh level
+	 */
+	private static final int LMAX = 25;
+	/**
+	 * number of integer coordinates per domain range (mesh size at the finest level)
+	 */
+	private static final long UNIT = 1L << (2*LMAX);
+	/**
+	 * random number generator
+	 */
+	private Random rng;
+	/**
+	 * sampler of random points
+	 */
+	private Sampler sampler;
+	/**
+	 * number of variables
+	 */
+	private int n;
+	/**
+	 * generator of poll directions
+	 */
+	private HaltonSampler halton;
+	/**
+	 * values of the mesh points evaluated in the current run
+	 */
+	private Map<MeshPoint, Double> cache;
+
+	/**
+	 * A point of the mesh, given by its integer coordinates
+	 * @param z the integer coordinates
+	 */
+	private record MeshPoint(long[] z) {
+		@Override
+		public boolean equals(Object o) {
+			return (o instanceof MeshPoint) && Arrays.equals(z, ((MeshPoint)o).z);
+		}
+
+		@Override
+		public int hashCode() {
+			return Arrays.hashCode(z);
+		}
+	}
+
+
+	/**
+	 * Default constructor
+	 */
+	public MADS() {
+		this(new MADSConfiguration());
+	}
+
+	/**
+	 * Creates the algorithm given a configuration
+	 * @param conf the configuration of the algorithm
+	 */
+	public MADS(MADSConfiguration conf) {
+		super(conf);
+		rng = new Random(1);
+		cache = new HashMap<MeshPoint, Double>();
+	}
+
+
+	@Override
+	public void setObjectiveFunction(DerivativeFreeObjectiveFunction dfof) {
+		super.setObjectiveFunction(dfof);
+		n = obj.getNumVariables();
+		sampler = new SamplerFactory().create(conf, n, 1, rng);
+		halton = new HaltonSampler(n);
+	}
+
+
+	@Override
+	protected EvaluatedSolution _run() {
+		rng.setSeed(currentSeed);
+		sampler.setSeed(currentSeed);
+		return madsCycle(sampler.next(obj));
+	}
+
+	@Override
+	protected EvaluatedSolution _run(List<Double> p) {
+		rng.setSeed(currentSeed);
+		return madsCycle(p);
+	}
+
+
+	/**
+	 * main cycle of MADS
+	 * @param p the initial point
+	 * @return the best solution found
+	 */
+	private EvaluatedSolution madsCycle(List<Double> p) {
+		currentSeed++;
+		MADSConfiguration mconf = (MADSConfiguration)conf;
+		int maxevals = getBudget();
+		int lmin = (int)Math.max(0, Math.round(-Math.log(mconf.getStep())/Math.log(2)));
+		int lstop = Math.min(LMAX, (int)Math.ceil(-Math.log(mconf.getMinStep())/Math.log(2)));
+		cache.clear();
+
+		long[] x = new long[n];
+		for (int j=0; j<n; j++) {
+			double lo = obj.getMinValue(j);
+			double hi = obj.getMaxValue(j);
+			x[j] = Math.round((p.get(j) - lo) / (hi - lo) * UNIT);
+		}
+		x = clamp(x);
+		EvaluatedSolution current = evaluate(List.of(x)).get(0);
+		long[] displacement = null;
+		long t = 1 + rng.nextInt(1 << 16);
+		int level = lmin;
+		double[] u = new double[n];
+
+		while ((obj.getNumEvals() < maxevals) && (level <= lstop)) {
+			listeners.iterationStarted(obj.getNumEvals(), Math.scalb(1.0, -level), current.value());
+			long[] next = null;
+			EvaluatedSolution nextSol = null;
+			MoveType move = null;
+
+			// search step: repeats the last successful displacement
+			if (displacement != null) {
+				long[] s = new long[n];
+				for (int j=0; j<n; j++) {
+					s[j] = x[j] + displacement[j];
+				}
+				s = clamp(s);
+				List<long[]> candidates = unevaluated(List.of(s));
+				if (!candidates.isEmpty()) {
+					EvaluatedSolution sol = evaluate(candidates).get(0);
+					if (sol.value() < current.value()) {
+						next = s;
+						nextSol = sol;
+						move = MoveType.SEARCH;
+					}
+				}
+			}
+
+			// poll step
+			if (next == null) {
+				List<long[]> poll = unevaluated(pollSet(x, level, t++, u));
+				int batch = mconf.isOpportunistic() ? mconf.getBatch() : poll.size();
+				for (int i=0; (i<poll.size()) && (next == null) && (obj.getNumEvals() < maxevals); i+=batch) {
+					int end = Math.min(poll.size(), Math.min(i + batch, i + maxevals - obj.getNumEvals()));
+					List<long[]> chunk = poll.subList(i, end);
+					List<EvaluatedSolution> sols = evaluate(chunk);
+					for (int k=0; k<sols.size(); k++) {
+						EvaluatedSolution sol = sols.get(k);
+						if (sol.value() < ((nextSol == null) ? current.value() : nextSol.value())) {
+							next = chunk.get(k);
+							nextSol = sol;
+							move = MoveType.POLL;
+						}
+					}
+				}
+			}
+
+			// mesh update
+			if (next != null) {
+				displacement = new long[n];
+				for (int j=0; j<n; j++) {
+					displacement[j] = next[j] - x[j];
+				}
+				x = next;
+				current = nextSol;
+				listeners.moveAccepted(move, current);
+				level = Math.max(0, level - 1);
+			}
+			else {
+				displacement = null;
+				level++;
+				listeners.shrink(obj.getNumEvals(), 0.5);
+			}
+		}
+
+		return current;
+	}
+
+
+	/**
+	 * Computes the poll set [H -H] scaled to the poll size, where H is the Householder
+	 * matrix of the t-th Halton direction.
+	 * @param x the poll center
+	 * @param level the mesh level
+	 * @param t the index of the Halton direction
+	 * @param u work array
+	 * @return the poll points
+	 */
+	private List<long[]> pollSet(long[] x, int level, long t, double[] u) {
+		halton.get(t, u);
+		double norm = 0;
+		for (int j=0; j<n; j++) {
+			u[j] = 2*u[j] - 1;
+			norm += u[j]*u[j];
+		}
+		if (norm == 0) {
+			u[0] = 1;
+			norm = 1;
+		}
+		long mesh = UNIT >> (2*level);			// mesh size in integer coordinates
+		double poll = Math.scalb(1.0, level);	// poll size in mesh units
+		List<long[]> points = new ArrayList<long[]>(2*n);
+		double[] h = new double[n];
+		for (int i=0; i<n; i++) {
+			double max = 0;
+			for (int j=0; j<n; j++) {
+				h[j] = ((i == j) ? 1.0 : 0.0) - 2*u[i]*u[j]/norm;
+				max = Math.max(max, Math.abs(h[j]));
+			}
+			long[] plus = new long[n];
+			long[] minus = new long[n];
+			for (int j=0; j<n; j++) {
+				long d = Math.round(poll * h[j] / max) * mesh;
+				plus[j] = x[j] + d;
+				minus[j] = x[j] - d;
+			}
+			points.add(clamp(plus));
+			points.add(clamp(minus));
+		}
+		return points;
+	}
+
+
+	/**
+	 * Clamps a mesh point to the domain
+	 * @param z the integer coordinates of the point (modified)
+	 * @return the point
+	 */
+	private long[] clamp(long[] z) {
+		for (int j=0; j<n; j++) {
+			z[j] = Math.min(UNIT, Math.max(0, z[j]));
+		}
+		return z;
+	}
+
+
+	/**
+	 * Filters the points that have been evaluated in the current run (or that are repeated)
+	 * @param points the mesh points
+	 * @return the points not evaluated yet
+	 */
+	private List<long[]> unevaluated(List<long[]> points) {
+		List<long[]> fresh = new ArrayList<long[]>(points.size());
+		Map<MeshPoint, Boolean> seen = new HashMap<MeshPoint, Boolean>();
+		for (long[] z: points) {
+			MeshPoint m = new MeshPoint(z);
+			boolean hit = cache.containsKey(m);
+			listeners.cacheLookup(hit);
+			if (!hit && (seen.put(m, Boolean.TRUE) == null)) {
+				fresh.add(z);
+			}
+		}
+		return fresh;
+	}
+
+
+	/**
+	 * Evaluates a batch of mesh points, and stores their values in the cache
+	 * @param points the mesh points
+	 * @return the evaluated points
+	 */
+	private List<EvaluatedSolution> evaluate(List<long[]> points) {
+		List<List<Double>> batch = new ArrayList<List<Double>>(points.size());
+		for (long[] z: points) {
+			List<Double> p = new ArrayList<Double>(n);
+			for (int j=0; j<n; j++) {
+				double lo = obj.getMinValue(j);
+				double hi = obj.getMaxValue(j);
+				p.add(lo + (hi - lo) * ((double)z[j] / UNIT));
+			}
+			batch.add(p);
+		}
+		double[] values = obj.evaluateAll(batch);
+		List<EvaluatedSolution> sols = new ArrayList<EvaluatedSolution>(points.size());
+		for (int i=0; i<values.length; i++) {
+			cache.put(new MeshPoint(points.get(i)), values[i]);
+			sols.add(new EvaluatedSolution(batch.get(i), values[i]));
+		}
+		return sols;
+	}
+
+
+	@Override
+	public String toString() {
+		return  "===============================\nMADS\n===============================\n" + conf;
+	}
+
+}
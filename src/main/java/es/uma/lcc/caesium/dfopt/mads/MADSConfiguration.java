@@ -0,0 +1,182 @@
+package es.uma.lcc.caesium.dfopt.mads;
+
+
+import com.github.cliftonlabs.json_simple.JsonObject;
+
+import es.uma.lcc.caesium.dfopt.base.DerivativeFreeConfiguration;
+
+/**
+ * Configuration of the MADS method
+ * @author ccottap
+ * @version 1.0
+ */
+public class MADSConfiguration extends DerivativeFreeConfiguration {
+	/**
+	 * name of the method
+	 */
+	private final static String MADS = "mads";
+	/**
+	 * default value of the initial poll size (relative to the domain range)
+	 */
+	private final static double STEP = 0.25;
+	/**
+	 * default value of the minimum poll size (relative to the domain range)
+	 */
+	private final static double MINSTEP = 1e-6;
+	/**
+	 * default value of the polling strategy
+	 */
+	private final static boolean OPPORTUNISTIC = true;
+	/**
+	 * default value of the number of poll points evaluated at once in opportunistic polling
+	 */
+	private final static int BATCH = 1;
+
+	/**
+	 * initial poll size (relative to the domain range)
+	 */
+	private double step;
+	/**
+	 * minimum poll size (relative to the domain range)
+	 */
+	private double minStep;
+	/**
+	 * whether polling is opportunistic (stops at the first improving batch) or complete
+	 */
+	private boolean opportunistic;
+	/**
+	 * number of poll points evaluated at once in opportunistic polling
+	 */
+	private int batch;
+
+	/**
+	 * Constructor with default values
+	 */
+	public MADSConfiguration() {
+		super();
+		setMethod(MADS);
+		step = STEP;
+		minStep = MINSTEP;
+		opportunistic = OPPORTUNISTIC;
+		batch = BATCH;
+	}
+	
+	
+
+	/**
+	 * Creates the configuration by reading from a JSON object
+	 * @param json a JSON object
+	 */
+	public MADSConfiguration(JsonObject json) {
+		super(json);
+		setMethod(MADS);
+		if (json.containsKey("step")) {
+			setStep(getDouble(json, "step"));
+		}
+		else {
+			setStep(STEP);			
+		}
+		if (json.containsKey("minstep")) {
+			setMinStep(getDouble(json, "minstep"));
+		}
+		else {
+			setMinStep(MINSTEP);			
+		}
+		if (json.containsKey("opportunistic")) {
+			setOpportunistic(getBoolean(json, "opportunistic"));
+		}
+		else {
+			setOpportunistic(OPPORTUNISTIC);			
+		}
+		if (json.containsKey("batch")) {
+			setBatch(getInt(json, "batch"));
+		}
+		else {
+			setBatch(BATCH);			
+		}
+	}
+
+
+	/**
+	 * Returns the initial poll size
+	 * @return the initial poll size (relative to the domain range)
+	 */
+	public double getStep() {
+		return step;
+	}
+
+	/**
+	 * Sets the initial poll size
+	 * @param step the initial poll size (relative to the domain range)
+	 */
+	public void setStep(double step) {
+		assert (step > 0) && (step <= 1);
+		this.step = step;
+	}
+
+	/**
+	 * Returns the minimum poll size
+	 * @return the minimum poll size (relative to the domain range)
+	 */
+	public double getMinStep() {
+		return minStep;
+	}
+
+	/**
+	 * Sets the minimum poll size
+	 * @param minStep the minimum poll size (relative to the domain range)
+	 */
+	public void setMinStep(double minStep) {
+		assert minStep > 0;
+		this.minStep = minStep;
+	}
+
+	/**
+	 * Indicates whether polling is opportunistic
+	 * @return true if polling is opportunistic, false if it is complete
+	 */
+	public boolean isOpportunistic() {
+		return opportunistic;
+	}
+
+	/**
+	 * Sets the polling strategy
+	 * @param opportunistic true for opportunistic polling, false for complete polling
+	 */
+	public void setOpportunistic(boolean opportunistic) {
+		this.opportunistic = opportunistic;
+	}
+
+	/**
+	 * Returns the number of poll points evaluated at once in opportunistic polling
+	 * @return the number of poll points evaluated at once
+	 */
+	public int getBatch() {
+		return batch;
+	}
+
+	/**
+	 * Sets the number of poll points evaluated at once in opportunistic polling
+	 * @param batch the number of poll points evaluated at once
+	 */
+	public void setBatch(int batch) {
+		assert batch > 0;
+		this.batch = batch;
+	}
+
+
+
+	@Override
+	public String toString() {
+		String str = super.toString();
+		str += 	"step:\t\t " + step + "\n" + 
+				"minstep:\t " + minStep + "\n" + 
+				"polling:\t " + (opportunistic ? ("opportunistic (batch " + batch + ")") : "complete") + "\n" + 
+				"-------------------------------\n";
+		return str;		
+	}
+	
+	
+	
+
+}
@@ -0,0 +1,6 @@
+/**
+ * Mesh adaptive direct search (MADS)
+ * @author ccottap
+ * @version 1.0
+ */
+package es.uma.lcc.caesium.dfopt.mads;
\ No newline at end of file
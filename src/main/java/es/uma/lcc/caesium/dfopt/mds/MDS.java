@@ -0,0 +1,156 @@
+package es.uma.lcc.caesium.dfopt.mds;
+
+import java.util.List;
+
+import es.uma.lcc.caesium.dfopt.base.DerivativeFreeMethod;
+import es.uma.lcc.caesium.dfopt.base.DerivativeFreeObjectiveFunction;
+import es.uma.lcc.caesium.dfopt.base.EvaluatedSolution;
+import es.uma.lcc.caesium.dfopt.events.MoveType;
+import es.uma.lcc.caesium.dfopt.neldermead.NelderMeadSimplex;
+import es.uma.lcc.caesium.dfopt.sampling.Sampler;
+import es.uma.lcc.caesium.dfopt.sampling.SamplerFactory;
+
+/**
+ * Multi-directional search (Torczon, 1989). At each iteration, all the vertices of the 
+ * simplex except the best one are reflected through the best one; if some reflected vertex
+ * improves the best one, an expansion is tried as well, and otherwise the simplex contracts
+ * towards the best vertex. The n new vertices of each step are evaluated as a batch (in
+ * parallel if the objective function has an executor). Since the shape of the simplex 
+ * is kept along the search, the initial simplex is right-angled (around a random point 
+ * or the point supplied), and vertices outside the domain are discarded rather than 
+ * projected onto it.
+ * @author ccottap
+ * @version 1.2
+ */
+public class MDS extends DerivativeFreeMethod {
+	/**
+	 * the simplex
+	 */
+	private NelderMeadSimplex simplex;
+	/**
+	 * sampler of random points
+	 */
+	private Sampler sampler;
+
+
+
+	/**
+	 * Default constructor
+	 */
+	public MDS() {
+		this(new MDSConfiguration());
+	}
+
+	/**
+	 * Creates the algorithm given a configuration
+	 * @param conf the configuration of the algorithm
+	 */
+	public MDS(MDSConfiguration conf) {
+		super(conf);
+	}
+
+
+
+	@Override
+	public void setObjectiveFunction(DerivativeFreeObjectiveFunction dfof) {
+		super.setObjectiveFunction(dfof);
+		simplex = new NelderMeadSimplex(obj.getNumVariables());
+		simplex.setObjectiveFunction(obj);
+		simplex.setSeed(currentSeed);
+		sampler = new SamplerFactory().create(conf, obj.getNumVariables(), 1);
+	}
+
+
+
+	@Override
+	public EvaluatedSolution _run () {		
+		sampler.setSeed(currentSeed);
+		return _run(sampler.next(obj));
+	}
+
+
+	@Override
+	public EvaluatedSolution _run (List<Double> p) {		
+		simplex.setSeed(currentSeed++);		
+		simplex.initialize(p);
+		mdsCycle();
+		return simplex.get(0);
+	}
+
+
+
+	/**
+	 * main cycle of the multi-directional search
+	 */
+	private void mdsCycle () {
+		MDSConfiguration conf = (MDSConfiguration)this.conf;
+		int n = obj.getNumVariables();
+		double range = 0;
+		for (int j=0; j<n; j++) {
+			range = Math.max(range, obj.getMaxValue(j) - obj.getMinValue(j));
+		}
+		double size = size(n);
+
+		while ((obj.getNumEvals() < getBudget()) && (size > conf.getTolerance()*range)) {
+			double best = simplex.get(0).value();
+			listeners.iterationStarted(obj.getNumEvals(), size, best);
+			List<EvaluatedSolution> reflected = simplex.getPoints(-1.0);
+			if (min(reflected) < best) {
+				List<EvaluatedSolution> expanded = simplex.getPoints(-conf.getExpansion());
+				if (min(expanded) < min(reflected)) {
+					simplex.setPoints(expanded);
+					listeners.moveAccepted(MoveType.EXPANSION, simplex.get(0));
+				}
+				else {
+					simplex.setPoints(reflected);
+					listeners.moveAccepted(MoveType.REFLECTION, simplex.get(0));
+				}
+			}
+			else {
+				simplex.shrink(conf.getContraction());
+				listeners.shrink(obj.getNumEvals(), conf.getContraction());
+			}
+			size = size(n);
+		}
+	}
+
+
+	/**
+	 * Returns the minimum value of a list of solutions
+	 * @param sols the solutions
+	 * @return the minimum value of the solutions
+	 */
+	private double min(List<EvaluatedSolution> sols) {
+		double m = Double.POSITIVE_INFINITY;
+		for (EvaluatedSolution sol: sols) {
+			m = Math.min(m, sol.value());
+		}
+		return m;
+	}
+
+
+	/**
+	 * Returns the size of the simplex, i.e., the maximum distance (in any coordinate) 
+	 * of a vertex to the best one
+	 * @param n the number of variables
+	 * @return the size of the simplex
+	 */
+	private double size(int n) {
+		List<Double> best = simplex.get(0).point();
+		double size = 0;
+		for (int i=1; i<=n; i++) {
+			List<Double> p = simplex.get(i).point();
+			for (int j=0; j<n; j++) {
+				size = Math.max(size, Math.abs(p.get(j) - best.get(j)));
+			}
+		}
+		return size;
+	}
+
+
+	@Override
+	public String toString() {
+		return  "===============================\nMulti-directional search\n===============================\n" + conf;
+	}
+
+}
@@ -0,0 +1,158 @@
+package es.uma.lcc.caesium.dfopt.mds;
+
+
+import com.github.cliftonlabs.json_simple.JsonObject;
+
+import es.uma.lcc.caesium.dfopt.base.DerivativeFreeConfiguration;
+
+/**
+ * Configuration of the multi-directional search method
+ * @author ccottap
+ * @version 1.0
+ */
+public class MDSConfiguration extends DerivativeFreeConfiguration {
+	/**
+	 * name of the method
+	 */
+	private final static String MDS = "mds";
+	/**
+	 * default value of the expansion constant
+	 */
+	private final static double EXPANSION = 2;
+	/**
+	 * default value of the contraction constant
+	 */
+	private final static double CONTRACTION = 0.5;
+	/**
+	 * default value of the tolerance (size of the simplex relative to the domain range)
+	 */
+	private final static double TOLERANCE = 1e-8;
+
+	/**
+	 * expansion constant
+	 */
+	private double expansion;
+	/**
+	 * contraction constant
+	 */
+	private double contraction;
+	/**
+	 * tolerance (size of the simplex relative to the domain range)
+	 */
+	private double tolerance;
+
+
+	/**
+	 * Constructor with default values
+	 */
+	public MDSConfiguration() {
+		super();
+		setMethod(MDS);
+		expansion = EXPANSION;
+		contraction = CONTRACTION;
+		tolerance = TOLERANCE;
+	}
+	
+	
+
+	/**
+	 * Creates the configuration by reading from a JSON object
+	 * @param json a JSON object
+	 */
+	public MDSConfiguration(JsonObject json) {
+		super(json);
+		setMethod(MDS);
+		if (json.containsKey("expansion")) {
+			setExpansion(getDouble(json, "expansion"));
+		}
+		else {
+			setExpansion(EXPANSION);			
+		}
+		if (json.containsKey("contraction")) {
+			setContraction(getDouble(json, "contraction"));
+		}
+		else {
+			setContraction(CONTRACTION);			
+		}
+		if (json.containsKey("tolerance")) {
+			setTolerance(getDouble(json, "tolerance"));
+		}
+		else {
+			setTolerance(TOLERANCE);
+		}
+	}
+
+
+
+	/**
+	 * Returns the expansion constant
+	 * @return the expansion constant
+	 */
+	public double getExpansion() {
+		return expansion;
+	}
+
+
+	/**
+	 * Sets the expansion constant
+	 * @param expansion the expansion constant to set
+	 */
+	public void setExpansion(double expansion) {
+		assert (expansion>1);
+		this.expansion = expansion;
+	}
+
+
+	/**
+	 * Returns the contraction constant
+	 * @return the contraction constant
+	 */
+	public double getContraction() {
+		return contraction;
+	}
+
+
+	/**
+	 * Sets the contraction constant
+	 * @param contraction the contraction constant to set
+	 */
+	public void setContraction(double contraction) {
+		assert (contraction>0) && (contraction<1);
+		this.contraction = contraction;
+	}
+
+
+	/**
+	 * Returns the tolerance constant
+	 * @return the tolerance constant (size of the simplex relative to the domain range)
+	 */
+	public double getTolerance() {
+		return tolerance;
+	}
+
+
+	/**
+	 * Sets the tolerance constant
+	 * @param tolerance the tolerance constant (size of the simplex relative to the domain range)
+	 */
+	public void setTolerance(double tolerance) {
+		assert tolerance >= 0;
+		this.tolerance = tolerance;
+	}
+
+
+
+	@Override
+	public String toString() {
+		String str = super.toString();
+		str += 	"expansion:\t " + expansion + "\n" + 
+				"contraction:\t " + contraction + "\n" + 
+				"tolerance:\t " + tolerance + "\n" +
+				"-------------------------------\n";
+		return str;		
+	}
+	
+	
+	
+
+}
@@ -0,0 +1,6 @@
+/**
+ * Multi-directional search (Torczon)
+ * @author ccottap
+ * @version 1.0
+ */
+package es.uma.lcc.caesium.dfopt.mds;
\ No newline at end of file
@@ -0,0 +1,226 @@
+package es.uma.lcc.caesium.dfopt.monitor;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import es.uma.lcc.caesium.dfopt.base.DerivativeFreeObjectiveFunction;
+import es.uma.lcc.caesium.dfopt.base.EvaluatedSolution;
+import es.uma.lcc.caesium.dfopt.events.DerivativeFreeListener;
+
+/**
+ * Monitor of the progress of a derivative-free method. It is fed by the events of the method, 
+ * and hence it must be registered as a listener both in the iterated method and in the 
+ * underlying methods. It can be published as an MBean in the platform MBean server (under
+ * a name that is unique in the JVM, so that several monitors can be published at once). 
+ * The objective time (and the overhead time) is only available if the objective 
+ * function is profiled.
+ * @author ccottap
+ * @version 1.2
+ */
+public class DerivativeFreeMonitor implements DerivativeFreeMonitorMBean, DerivativeFreeListener {
+	/**
+	 * domain of the MBeans
+	 */
+	private static final String DOMAIN = "es.uma.lcc.caesium.dfopt";
+	/**
+	 * number of monitors published (to make their names unique)
+	 */
+	private static final AtomicInteger PUBLISHED = new AtomicInteger();
+	/**
+	 * name under which the monitor is published (null if it is not)
+	 */
+	private ObjectName oname;
+	/**
+	 * the objective function
+	 */
+	private DerivativeFreeObjectiveFunction obj;
+	/**
+	 * number of runs started
+	 */
+	private volatile int runs;
+	/**
+	 * number of restarts in the current run
+	 */
+	private volatile int restarts;
+	/**
+	 * number of evaluations in the completed cycles of the current run
+	 */
+	private volatile long runEvals;
+	/**
+	 * number of evaluations in the current cycle
+	 */
+	private volatile int cycleEvals;
+	/**
+	 * number of evaluations in the completed cycles of all runs
+	 */
+	private volatile long totalEvals;
+	/**
+	 * best value in the current run
+	 */
+	private volatile double best;
+	/**
+	 * time at the start of the first run (0 if not started)
+	 */
+	private volatile long tic;
+	/**
+	 * objective time in previous runs (the profiler is reset at the start of each run)
+	 */
+	private volatile double objDone;
+	/**
+	 * number of lookups in the cache
+	 */
+	private volatile long lookups;
+	/**
+	 * number of hits in the cache
+	 */
+	private volatile long hits;
+	
+	/**
+	 * Creates the monitor
+	 * @param obj the objective function
+	 */
+	public DerivativeFreeMonitor(DerivativeFreeObjectiveFunction obj) {
+		this.obj = obj;
+		reset();
+	}
+	
+	/**
+	 * Publishes the monitor in the platform MBean server. The name is completed with a
+	 * sequence number, so that monitors with the same name can be published at once.
+	 * @param name the name of the monitor
+	 * @return the name under which the monitor is registered
+	 * @throws JMException if the monitor cannot be registered
+	 */
+	public synchronized ObjectName register(String name) throws JMException {
+		ObjectName oname = new ObjectName(DOMAIN + ":type=DerivativeFreeMonitor,name=" + ObjectName.quote(name) + ",id=" + PUBLISHED.incrementAndGet());
+		ManagementFactory.getPlatformMBeanServer().registerMBean(this, oname);
+		this.oname = oname;
+		return oname;
+	}
+	
+	/**
+	 * Removes the monitor from the platform MBean server (if it is published)
+	 * @throws JMException if the monitor cannot be unregistered
+	 */
+	public synchronized void unregister() throws JMException {
+		if (oname != null) {
+			ManagementFactory.getPlatformMBeanServer().unregisterMBean(oname);
+			oname = null;
+		}
+	}
+	
+	@Override
+	public void reset() {
+		runs = 0;
+		restarts = 0;
+		runEvals = 0;
+		cycleEvals = 0;
+		totalEvals = 0;
+		best = Double.POSITIVE_INFINITY;
+		tic = 0;
+		objDone = 0;
+		lookups = 0;
+		hits = 0;
+	}
+	
+	@Override
+	public void runStarted() {
+		if (tic == 0) {
+			tic = System.nanoTime();
+		}
+		else if (obj.getProfiler() != null) {
+			objDone += obj.getProfiler().getObjectiveTime();
+		}
+		runs++;
+		restarts = 0;
+		runEvals = 0;
+		cycleEvals = 0;
+		best = Double.POSITIVE_INFINITY;
+	}
+
+	@Override
+	public void iterationStarted(int evals, double spread, double best) {
+		cycleEvals = evals;
+		if (best < this.best) {
+			this.best = best;
+		}
+	}
+
+	@Override
+	public void restart(int cycle, long evals, double best) {
+		totalEvals += evals - runEvals;
+		runEvals = evals;
+		cycleEvals = 0;
+		restarts = cycle + 1;
+		this.best = best;
+	}
+
+	@Override
+	public void improvement(long evals, EvaluatedSolution sol) {
+		best = sol.value();
+	}
+
+	@Override
+	public void cacheLookup(boolean hit) {
+		lookups++;
+		if (hit) {
+			hits++;
+		}
+	}
+
+	@Override
+	public long getEvals() {
+		return runEvals + cycleEvals;
+	}
+
+	@Override
+	public long getTotalEvals() {
+		return totalEvals + cycleEvals;
+	}
+
+	@Override
+	public double getBestValue() {
+		return best;
+	}
+
+	@Override
+	public int getRuns() {
+		return runs;
+	}
+
+	@Override
+	public int getRestarts() {
+		return restarts;
+	}
+
+	@Override
+	public double getElapsedTime() {
+		return (tic == 0) ? 0 : (System.nanoTime() - tic)/1e9;
+	}
+
+	@Override
+	public double getEvalsPerSecond() {
+		double t = getElapsedTime();
+		return (t > 0) ? getTotalEvals()/t : 0;
+	}
+
+	@Override
+	public double getObjectiveTime() {
+		EvaluationProfiler profiler = obj.getProfiler();
+		return (profiler == null) ? Double.NaN : objDone + profiler.getObjectiveTime();
+	}
+
+	@Override
+	public double getOverheadTime() {
+		return getElapsedTime() - getObjectiveTime();
+	}
+
+	@Override
+	public double getCacheHitRate() {
+		return (lookups == 0) ? Double.NaN : (double)hits/lookups;
+	}
+
+}
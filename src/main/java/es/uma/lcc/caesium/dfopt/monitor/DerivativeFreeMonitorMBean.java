@@ -0,0 +1,74 @@
+package es.uma.lcc.caesium.dfopt.monitor;
+
+/**
+ * Management interface of the progress of a derivative-free method
+ * @author ccottap
+ * @version 1.0
+ */
+public interface DerivativeFreeMonitorMBean {
+	
+	/**
+	 * Returns the number of evaluations in the current run
+	 * @return the number of evaluations in the current run
+	 */
+	long getEvals();
+	
+	/**
+	 * Returns the number of evaluations in all runs
+	 * @return the number of evaluations in all runs
+	 */
+	long getTotalEvals();
+	
+	/**
+	 * Returns the value of the best solution in the current run
+	 * @return the value of the best solution in the current run
+	 */
+	double getBestValue();
+	
+	/**
+	 * Returns the number of runs started
+	 * @return the number of runs started
+	 */
+	int getRuns();
+	
+	/**
+	 * Returns the number of restarts in the current run
+	 * @return the number of restarts in the current run
+	 */
+	int getRestarts();
+	
+	/**
+	 * Returns the time (s) elapsed since the start of the first run 
+	 * @return the time (s) elapsed since the start of the first run
+	 */
+	double getElapsedTime();
+	
+	/**
+	 * Returns the number of evaluations per second 
+	 * @return the number of evaluations per second
+	 */
+	double getEvalsPerSecond();
+	
+	/**
+	 * Returns the time (s) spent inside the objective function (NaN if it is not profiled)
+	 * @return the time (s) spent inside the objective function
+	 */
+	double getObjectiveTime();
+	
+	/**
+	 * Returns the time (s) spent outside the objective function (NaN if it is not profiled)
+	 * @return the time (s) spent outside the objective function
+	 */
+	double getOverheadTime();
+	
+	/**
+	 * Returns the hit rate of the cache of evaluations (NaN if no cache is enabled)
+	 * @return the hit rate of the cache of evaluations
+	 */
+	double getCacheHitRate();
+	
+	/**
+	 * Resets the monitor
+	 */
+	void reset();
+}
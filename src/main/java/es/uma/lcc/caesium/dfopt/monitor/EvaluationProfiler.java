@@ -0,0 +1,79 @@
+package es.uma.lcc.caesium.dfopt.monitor;
+
+/**
+ * Profiler of the calls to an objective function. It accumulates the number of
+ * evaluations and the time spent inside the objective function, and keeps a 
+ * histogram of the latency of evaluations. The time spent by the solver outside
+ * the objective function (bookkeeping: sorting, centroids, clamping, etc.) is
+ * the wall time of a run minus the objective time.
+ * Counters are volatile so that they can be read safely from a monitoring thread, and
+ * evaluations can be recorded from several threads (asynchronous evaluations).
+ * @author ccottap
+ * @version 1.2
+ */
+public class EvaluationProfiler {
+	/**
+	 * number of evaluations recorded
+	 */
+	private volatile long evaluations;
+	/**
+	 * cumulative time (ns) inside the objective function
+	 */
+	private volatile long time;
+	/**
+	 * histogram of the latency of evaluations
+	 */
+	private LatencyHistogram histogram;
+	
+	/**
+	 * Creates the profiler
+	 */
+	public EvaluationProfiler() {
+		histogram = new LatencyHistogram();
+		reset();
+	}
+	
+	/**
+	 * Resets the profiler
+	 */
+	public synchronized void reset() {
+		evaluations = 0;
+		time = 0;
+		histogram.clear();
+	}
+	
+	/**
+	 * Records an evaluation
+	 * @param nanos the duration of the evaluation (ns)
+	 */
+	public synchronized void record(long nanos) {
+		evaluations++;
+		time += nanos;
+		histogram.record(nanos);
+	}
+
+	/**
+	 * Returns the number of evaluations recorded
+	 * @return the number of evaluations recorded
+	 */
+	public long getEvaluations() {
+		return evaluations;
+	}
+
+	/**
+	 * Returns the cumulative time (s) inside the objective function
+	 * @return the cumulative time (s) inside the objective function
+	 */
+	public double getObjectiveTime() {
+		return time/1e9;
+	}
+	
+	/**
+	 * Returns the histogram of the latency (ns) of evaluations
+	 * @return the histogram of the latency (ns) of evaluations
+	 */
+	public LatencyHistogram getHistogram() {
+		return histogram;
+	}
+
+}
@@ -0,0 +1,169 @@
+package es.uma.lcc.caesium.dfopt.monitor;
+
+/**
+ * Histogram of latencies (in nanoseconds) with log-linear buckets, in the spirit of 
+ * HdrHistogram: values are grouped by their most significant bit, and each of these 
+ * groups is split into a fixed number of linear sub-buckets. This provides a bounded 
+ * relative error (below 2<sup>1-SUB_BITS</sup>) over the whole range of long values with 
+ * a fixed amount of memory, and recording a value takes constant time.
+ * @author ccottap
+ * @version 1.0
+ */
+public class LatencyHistogram {
+	/**
+	 * number of bits used for sub-buckets
+	 */
+	private static final int SUB_BITS = 7;
+	/**
+	 * half the number of sub-buckets
+	 */
+	private static final int HALF = 1 << (SUB_BITS - 1);
+	/**
+	 * number of buckets
+	 */
+	private static final int BUCKETS = (65 - SUB_BITS) * HALF + 2 * HALF;
+	/**
+	 * counts per bucket
+	 */
+	private long[] counts;
+	/**
+	 * number of values recorded
+	 */
+	private long count;
+	/**
+	 * sum of the values recorded
+	 */
+	private long sum;
+	/**
+	 * minimum value recorded
+	 */
+	private long min;
+	/**
+	 * maximum value recorded
+	 */
+	private long max;
+	
+	/**
+	 * Creates an empty histogram
+	 */
+	public LatencyHistogram() {
+		counts = new long[BUCKETS];
+		clear();
+	}
+	
+	/**
+	 * Clears the histogram
+	 */
+	public void clear() {
+		for (int i=0; i<BUCKETS; i++) {
+			counts[i] = 0;
+		}
+		count = 0;
+		sum = 0;
+		min = Long.MAX_VALUE;
+		max = 0;
+	}
+	
+	/**
+	 * Returns the bucket of a value
+	 * @param v a non-negative value
+	 * @return the index of the bucket
+	 */
+	private static int bucket(long v) {
+		int m = 63 - Long.numberOfLeadingZeros(v);	// most significant bit
+		if (m < SUB_BITS) {
+			return (int)v;
+		}
+		int shift = m - SUB_BITS + 1;
+		return shift * HALF + (int)(v >>> shift);
+	}
+	
+	/**
+	 * Returns the highest value in a bucket
+	 * @param index the index of the bucket
+	 * @return the highest value that falls in the bucket
+	 */
+	private static long highestValue(int index) {
+		if (index < 2 * HALF) {
+			return index;
+		}
+		int shift = index / HALF - 1;
+		long sub = index - shift * HALF;
+		return ((sub + 1) << shift) - 1;
+	}
+	
+	/**
+	 * Records a value
+	 * @param v the value (negative values are recorded as 0)
+	 */
+	public void record(long v) {
+		v = Math.max(0, v);
+		counts[bucket(v)]++;
+		count++;
+		sum += v;
+		min = Math.min(min, v);
+		max = Math.max(max, v);
+	}
+	
+	/**
+	 * Returns the number of values recorded
+	 * @return the number of values recorded
+	 */
+	public long getCount() {
+		return count;
+	}
+	
+	/**
+	 * Returns the mean of the values recorded
+	 * @return the mean of the values recorded (0 if empty)
+	 */
+	public double getMean() {
+		return (count == 0) ? 0 : (double)sum/count;
+	}
+	
+	/**
+	 * Returns the minimum value recorded
+	 * @return the minimum value recorded (0 if empty)
+	 */
+	public long getMin() {
+		return (count == 0) ? 0 : min;
+	}
+	
+	/**
+	 * Returns the maximum value recorded
+	 * @return the maximum value recorded
+	 */
+	public long getMax() {
+		return max;
+	}
+	
+	/**
+	 * Returns (an upper bound of) the value below which a given percentage of 
+	 * the values recorded fall
+	 * @param p the percentage (in [0, 100])
+	 * @return the p-th percentile of the values recorded (0 if empty)
+	 */
+	public long getPercentile(double p) {
+		assert (p >= 0) && (p <= 100);
+		if (count == 0) {
+			return 0;
+		}
+		long target = Math.max(1, (long)Math.ceil(p / 100.0 * count));
+		long acc = 0;
+		for (int i=0; i<BUCKETS; i++) {
+			acc += counts[i];
+			if (acc >= target) {
+				return Math.min(max, highestValue(i));
+			}
+		}
+		return max;
+	}
+
+	@Override
+	public String toString() {
+		return "{count: " + count + ", mean: " + getMean() + ", min: " + getMin() + 
+				", p50: " + getPercentile(50) + ", p90: " + getPercentile(90) + 
+				", p99: " + getPercentile(99) + ", max: " + max + "}";
+	}
+	
+}
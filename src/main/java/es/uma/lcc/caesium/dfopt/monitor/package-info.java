@@ -0,0 +1,6 @@
+/**
+ * Monitoring and profiling of derivative-free optimization methods
+ * @author ccottap
+ * @version 1.0
+ */
+package es.uma.lcc.caesium.dfopt.monitor;
\ No newline at end of file
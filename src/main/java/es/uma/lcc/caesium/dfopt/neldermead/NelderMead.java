@@ -6,11 +6,21 @@ import java.util.List;
 import es.uma.lcc.caesium.dfopt.base.DerivativeFreeMethod;
 import es.uma.lcc.caesium.dfopt.base.DerivativeFreeObjectiveFunction;
 import es.uma.lcc.caesium.dfopt.base.EvaluatedSolution;
+import es.uma.lcc.caesium.dfopt.events.MoveType;
+import es.uma.lcc.caesium.dfopt.jfr.NelderMeadStepEvent;
+import es.uma.lcc.caesium.dfopt.sampling.SamplerFactory;
 
 /**
- * Nelder-Mead optimizer
+ * Nelder-Mead optimizer. If screening is enabled and the objective function has several
+ * fidelity levels, the moves and their acceptance tests are the usual ones, but the reflected
+ * and expanded points are first estimated at the lowest fidelity, and are not evaluated at full
+ * fidelity if the estimate does not pass the test they are subject to (i.e., the reflected point
+ * is contracted inside if its estimate does not improve the worst point of the simplex, and the
+ * reflected point is accepted without evaluating the expanded one if the estimate of the latter
+ * does not improve it). Contracted points are always evaluated, since rejecting them would make
+ * the simplex shrink.
  * @author ccottap
- * @version 1.1
+ * @version 1.7
  */
 public class NelderMead extends DerivativeFreeMethod {
 	/**
@@ -41,6 +51,7 @@ public class NelderMead extends DerivativeFreeMethod {
 	public void setObjectiveFunction(DerivativeFreeObjectiveFunction dfof) {
 		super.setObjectiveFunction(dfof);
 		simplex = new NelderMeadSimplex(obj.getNumVariables());
+		simplex.setSampler(new SamplerFactory().create(conf, obj.getNumVariables(), obj.getNumVariables() + 1));
 		simplex.setObjectiveFunction(obj);
 		simplex.setSeed(currentSeed);
 	}
@@ -92,50 +103,36 @@ public class NelderMead extends DerivativeFreeMethod {
 	private void nelderMeadCycle () {
 		NelderMeadConfiguration conf = (NelderMeadConfiguration)this.conf;
 		int n = obj.getNumVariables();
-		if (verbosityLevel > 0) {
-			System.out.println(obj.getNumEvals() + "\t" + normStdDev(simplex) + "\t" + simplex.get(0).value());
-		}
+		double spread = normStdDev(simplex);
+		boolean screening = isScreening();	// trial points are estimated at low fidelity
 
-		while ((obj.getNumEvals() < conf.getMaxevalsCycle()) && (normStdDev(simplex) > conf.getTolerance())) {
+		while ((obj.getNumEvals() < getBudget()) && (spread > conf.getTolerance())) {
+			NelderMeadStepEvent event = new NelderMeadStepEvent();
+			event.begin();
+			listeners.iterationStarted(obj.getNumEvals(), spread, simplex.get(0).value());
 			List<Double> centroid = simplex.getCentroid();			
 			List<Double> worstPoint = simplex.get(n).point();
-			EvaluatedSolution x_r = simplex.getPoint(centroid, simplex.getVector(worstPoint, centroid), conf.getReflection());
+			// the exact value of a trial point is not needed if it exceeds the value it is compared to
+			EvaluatedSolution x_r = trial(simplex.displace(centroid, simplex.getVector(worstPoint, centroid), conf.getReflection()), simplex.get(n).value(), screening);
 			double best = simplex.get(0).value();
 			double secondWorst = simplex.get(n-1).value(); 
-			
-			if (verbosityLevel > 1) {
-				System.out.println(simplex);
-				System.out.println("worst: " + worstPoint);
-				System.out.println("reflection: " + x_r);
-			}
+			EvaluatedSolution accepted = null;	// null if the simplex shrinks
+			MoveType move = null;
 			
 			if (x_r.value() < secondWorst) {
 				if (best < x_r.value()) { 	// Accept reflected
-					simplex.addPoint(x_r);
-					if (verbosityLevel > 1) {
-						System.out.println("Better than 2nd worst but worse than best");
-						System.out.println(x_r + " added to simplex");
-					}
+					accepted = x_r;
+					move = MoveType.REFLECTION;
 				}
 				else {	// Choose between reflected and expanded
-					EvaluatedSolution x_e = simplex.getPoint(centroid, simplex.getVector(centroid, x_r.point()), conf.getExpansion());
-					if (verbosityLevel > 1) {
-						System.out.println("Better than best");
-						System.out.println("Expanded: " + x_e);
-					}
+					EvaluatedSolution x_e = trial(simplex.displace(centroid, simplex.getVector(centroid, x_r.point()), conf.getExpansion()), x_r.value(), screening);
 					if (x_e.value() < x_r.value()) {
-						if (verbosityLevel > 1) {
-							System.out.println("Better than reflection");
-							System.out.println(x_e + " added to simplex");
-						}
-						simplex.addPoint(x_e);
+						accepted = x_e;
+						move = MoveType.EXPANSION;
 					}
 					else {
-						if (verbosityLevel > 1) {
-							System.out.println("Worst than reflection");
-							System.out.println(x_r + " added to simplex");
-						}
-						simplex.addPoint(x_r);
+						accepted = x_r;
+						move = MoveType.REFLECTION;
 					}
 				}
 			} 
@@ -144,38 +141,53 @@ public class NelderMead extends DerivativeFreeMethod {
 				boolean better;
 				EvaluatedSolution x_c;
 				if (x_r.value() < worst) {
-					x_c = simplex.getPoint(centroid, simplex.getVector(centroid, x_r.point()), conf.getContraction());
+					x_c = simplex.getPoint(centroid, simplex.getVector(centroid, x_r.point()), conf.getContraction(), x_r.value());
 					better = x_c.value() < x_r.value();
-					if (verbosityLevel > 1) {
-						System.out.println("Worst than 2nd worst but better than worst");
-						System.out.println("Contracted on the outside: " + x_c);
-					}
+					move = MoveType.OUTSIDE_CONTRACTION;
 				}
 				else {
-					x_c = simplex.getPoint(centroid, simplex.getVector(centroid, worstPoint), conf.getContraction());						
+					x_c = simplex.getPoint(centroid, simplex.getVector(centroid, worstPoint), conf.getContraction(), worst);						
 					better = x_c.value() < worst;
-					if (verbosityLevel > 1) {
-						System.out.println("Worst than worst");
-						System.out.println("Contracted in the inside: " + x_c);
-					}
+					move = MoveType.INSIDE_CONTRACTION;
 				}
 				if (better) {
-					if (verbosityLevel > 1) {
-						System.out.println(x_c + " added to simplex");
-					}
-					simplex.addPoint(x_c);
-				}
-				else {
-					if (verbosityLevel > 1) {
-						System.out.println("Simplex shrinks");
-					}
-					simplex.shrink(conf.getShrink());
+					accepted = x_c;
 				}
 			}
-			if (verbosityLevel > 0) {
-				System.out.println(obj.getNumEvals() + "\t" + normStdDev(simplex) + "\t" + simplex.get(0).value());
+			
+			if (accepted != null) {
+				simplex.addPoint(accepted);
+				listeners.moveAccepted(move, accepted);
+			}
+			else {
+				simplex.shrink(conf.getShrink());
+				listeners.shrink(obj.getNumEvals(), conf.getShrink());
 			}
+			if (event.shouldCommit()) {
+				event.step = (accepted != null) ? move.name() : "SHRINK";
+				event.n = n;
+				event.evals = obj.getNumEvals();
+				event.value = simplex.get(0).value();
+				event.commit();
+			}
+			spread = normStdDev(simplex);
+		}
+	}
+	
+	
+	/**
+	 * Evaluates a trial point, whose value is only needed if it does not exceed a cutoff
+	 * @param p the trial point
+	 * @param cutoff the value the trial point is compared to
+	 * @param screening whether the point is estimated at low fidelity first
+	 * @return the evaluated point (its value is infinite if it was not evaluated at full 
+	 * fidelity because its estimate exceeds the cutoff, and not exact if it exceeds the cutoff)
+	 */
+	private EvaluatedSolution trial (List<Double> p, double cutoff, boolean screening) {
+		if (screening && (obj.evaluateAtFidelity(p, 0) >= cutoff)) {	// false if there is no estimate (NaN)
+			return new EvaluatedSolution(p, Double.POSITIVE_INFINITY);
 		}
+		return new EvaluatedSolution(p, obj.evaluate(p, cutoff));
 	}
 	
 	
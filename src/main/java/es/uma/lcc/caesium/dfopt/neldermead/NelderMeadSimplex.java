@@ -3,15 +3,16 @@ package es.uma.lcc.caesium.dfopt.neldermead;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
-import java.util.Random;
 
 import es.uma.lcc.caesium.dfopt.base.DerivativeFreeObjectiveFunction;
 import es.uma.lcc.caesium.dfopt.base.EvaluatedSolution;
+import es.uma.lcc.caesium.dfopt.sampling.Sampler;
+import es.uma.lcc.caesium.dfopt.sampling.UniformSampler;
 
 /**
  * Simplex in the Nelder-Mead algorithm
  * @author ccottap
- * @version 1.0
+ * @version 1.4
  */
 public class NelderMeadSimplex {
 	/**
@@ -36,9 +37,9 @@ public class NelderMeadSimplex {
 	 */
 	private DerivativeFreeObjectiveFunction obj;
 	/**
-	 * random number generator
+	 * sampler of random points
 	 */
-	private Random rng;
+	private Sampler sampler;
 
 
 	/**
@@ -52,7 +53,7 @@ public class NelderMeadSimplex {
 		for (int i=0; i<n; i++) {
 			centroid.add(0.0); // placeholder
 		}
-		rng = new Random(1);
+		sampler = new UniformSampler();
 	}
 	
 	
@@ -61,7 +62,15 @@ public class NelderMeadSimplex {
 	 * @param s seed for the RNG
 	 */
 	public void setSeed (long s) {
-		rng.setSeed(s);
+		sampler.setSeed(s);
+	}
+	
+	/**
+	 * Sets the sampler of the random points of the simplex
+	 * @param sampler the sampler
+	 */
+	public void setSampler (Sampler sampler) {
+		this.sampler = sampler;
 	}
 	
 	/**
@@ -102,11 +111,7 @@ public class NelderMeadSimplex {
 	public void initialize() {
 		clear();
 		for (int i=0; i<=n; i++) {
-			List<Double> p = new ArrayList<Double> (n);
-			for (int j=0; j<n; j++) {
-				p.add(rng.nextDouble(obj.getMinValue(j), obj.getMaxValue(j)));
-			}
-			addPoint(p);
+			addPoint(sampler.next(obj));
 		}
 	}
 	
@@ -203,7 +208,7 @@ public class NelderMeadSimplex {
 	/**
 	 * Updates the centroid, if there are enough points to do so.
 	 */
-	private void updateCentroid() {
+	void updateCentroid() {
 		if (points.size() > n) {
 			points.sort(null);
 			reset(centroid);			
@@ -258,6 +263,20 @@ public class NelderMeadSimplex {
 	 * @return a point p' = origin + k·vector
 	 */
 	public EvaluatedSolution getPoint(List<Double> origin, List<Double> vector, double k) {
+		return getPoint(origin, vector, k, Double.POSITIVE_INFINITY);
+	}
+	
+	/**
+	 * Computes a new point by adding {@code k} times {@code vector} to {@code origin}, 
+	 * whose value is only needed if it does not exceed a cutoff (see 
+	 * {@link DerivativeFreeObjectiveFunction#evaluate(List, double)}).
+	 * @param origin the origin point
+	 * @param vector a displacement vector
+	 * @param k the constant determining a multiple of the vector to be added 
+	 * @param cutoff the cutoff
+	 * @return a point p' = origin + k·vector (its value is not exact if greater than the cutoff)
+	 */
+	public EvaluatedSolution getPoint(List<Double> origin, List<Double> vector, double k, double cutoff) {
 		assert (vector.size() ==  n) && (origin.size() == n);
 		
 		List<Double> x = new ArrayList<Double>(n);
@@ -268,19 +287,92 @@ public class NelderMeadSimplex {
 			x.add(Math.min(obj.getMaxValue(i), Math.max(obj.getMinValue(i), o + k*d)));
 		}
 		
-		return new EvaluatedSolution (x, obj.evaluate(x));
+		return new EvaluatedSolution (x, obj.evaluate(x, cutoff));
 	}
 	
 	/**
-	 * Shrinks the simplex
-	 * @param s shrink constant
+	 * Computes a new point by adding {@code k} times {@code vector} to {@code origin}
+	 * (within the domain), without evaluating it.
+	 * @param origin the origin point
+	 * @param vector a displacement vector
+	 * @param k the constant determining a multiple of the vector to be added 
+	 * @return a point p' = origin + k·vector
 	 */
-	public void shrink(double s) {
+	public List<Double> displace(List<Double> origin, List<Double> vector, double k) {
+		assert (vector.size() ==  n) && (origin.size() == n);
+		
+		List<Double> x = new ArrayList<Double>(n);
+		
+		for (int i=0; i<n; i++) {
+			double o = origin.get(i);
+			double d = vector.get(i);
+			x.add(Math.min(obj.getMaxValue(i), Math.max(obj.getMinValue(i), o + k*d)));
+		}
+		
+		return x;
+	}
+	
+	/**
+	 * Computes the points p'_i = best + k·(p_i - best) for all points of the simplex 
+	 * except the best one, and evaluates them as a batch (in parallel if the objective 
+	 * function has an executor). Points outside the domain are not evaluated, and get
+	 * an infinite value (extreme barrier), so that the shape of the simplex is kept.
+	 * Note that no point is outside the domain if 0 &lt;= k &lt;= 1.
+	 * @param k the constant determining the multiple of the vectors from the best point
+	 * @return the points p'_1, ..., p'_n
+	 */
+	public List<EvaluatedSolution> getPoints(double k) {
 		List<Double> best = points.get(0).point();
+		List<List<Double>> all = new ArrayList<List<Double>>(n);
+		List<List<Double>> batch = new ArrayList<List<Double>>(n);
+		for (int i=1; i<=n; i++) {
+			List<Double> p = points.get(i).point();
+			List<Double> x = new ArrayList<Double>(n);
+			boolean feasible = true;
+			for (int j=0; j<n; j++) {
+				double o = best.get(j);
+				double d = p.get(j) - o;
+				double v = o + k*d;
+				feasible = feasible && (v >= obj.getMinValue(j)) && (v <= obj.getMaxValue(j));
+				x.add(v);
+			}
+			all.add(x);
+			if (feasible) {
+				batch.add(x);
+			}
+		}
+		double[] values = obj.evaluateAll(batch);
+		List<EvaluatedSolution> sols = new ArrayList<EvaluatedSolution>(n);
+		int b = 0;
+		for (List<Double> x: all) {
+			if ((b < batch.size()) && (batch.get(b) == x)) {
+				sols.add(new EvaluatedSolution(x, values[b++]));
+			}
+			else {
+				sols.add(new EvaluatedSolution(x, Double.POSITIVE_INFINITY));
+			}
+		}
+		return sols;
+	}
+	
+	/**
+	 * Replaces all points of the simplex except the best one 
+	 * @param sols the new points (n of them)
+	 */
+	public void setPoints(List<EvaluatedSolution> sols) {
+		assert sols.size() == n;
 		for (int i=1; i<=n; i++) {
-			points.set(i, getPoint(best, getVector(best, points.get(i).point()), s));
+			points.set(i, sols.get(i-1));
 		}
-		updateCentroid();	
+		updateCentroid();
+	}
+	
+	/**
+	 * Shrinks the simplex
+	 * @param s shrink constant
+	 */
+	public void shrink(double s) {
+		setPoints(getPoints(s));
 	}
 	
 
@@ -0,0 +1,248 @@
+package es.uma.lcc.caesium.dfopt.neldermead;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import es.uma.lcc.caesium.dfopt.base.DerivativeFreeObjectiveFunction;
+import es.uma.lcc.caesium.dfopt.base.PartiallySeparableFunction;
+
+/**
+ * Restriction of an objective function to a subspace spanned by some of its coordinates, the
+ * rest of them being fixed at the values of a base point. Points of the subspace are evaluated 
+ * as views of full points (no copy of the fixed coordinates is made), and the base point 
+ * itself is not evaluated again (its value is known). If the objective function is partially 
+ * separable, only the element functions depending on the coordinates of the subspace are 
+ * evaluated (the value of the others is that at the base point). Evaluations are counted both 
+ * by the restriction (for the budget of the search in the subspace) and by the full objective 
+ * function.
+ * @author ccottap
+ * @version 1.2
+ */
+class Subspace extends DerivativeFreeObjectiveFunction {
+	/**
+	 * the full objective function
+	 */
+	private final DerivativeFreeObjectiveFunction obj;
+	/**
+	 * the full objective function, if partially separable (null otherwise)
+	 */
+	private final PartiallySeparableFunction psf;
+	/**
+	 * number of coordinates of the subspace
+	 */
+	private final int k;
+	/**
+	 * coordinates spanning the subspace
+	 */
+	private final int[] coords;
+	/**
+	 * position of each coordinate in the subspace (-1 if fixed)
+	 */
+	private final int[] pos;
+	/**
+	 * element functions depending on the coordinates of the subspace (if partially separable)
+	 */
+	private int[] elements;
+	/**
+	 * marks of the element functions already collected (if partially separable)
+	 */
+	private boolean[] marked;
+	/**
+	 * the base point
+	 */
+	private double[] base;
+	/**
+	 * value of the base point
+	 */
+	private double baseValue;
+	/**
+	 * value of the element functions depending on the coordinates of the subspace at the base point
+	 */
+	private double baseElements;
+	/**
+	 * number of evaluations in the current search
+	 */
+	private int evals;
+
+	/**
+	 * Full point corresponding to a point of the subspace
+	 */
+	private class View extends AbstractList<Double> {
+		/**
+		 * the point of the subspace
+		 */
+		private final List<Double> sub;
+
+		/**
+		 * Creates the view
+		 * @param sub the point of the subspace
+		 */
+		View(List<Double> sub) {
+			this.sub = sub;
+		}
+
+		@Override
+		public Double get(int j) {
+			int p = pos[j];
+			return (p < 0) ? base[j] : sub.get(p);
+		}
+
+		@Override
+		public int size() {
+			return base.length;
+		}
+	}
+
+	/**
+	 * Creates the restriction
+	 * @param obj the full objective function
+	 * @param k the number of coordinates of the subspace
+	 */
+	Subspace(DerivativeFreeObjectiveFunction obj, int k) {
+		this.obj = obj;
+		this.k = k;
+		coords = new int[k];
+		pos = new int[obj.getNumVariables()];
+		Arrays.fill(pos, -1);
+		psf = (obj instanceof PartiallySeparableFunction f) ? f : null;
+		if (psf != null) {
+			marked = new boolean[psf.getNumElements()];
+		}
+	}
+
+	/**
+	 * Sets the subspace and the base point
+	 * @param sel the coordinates spanning the subspace (k of them)
+	 * @param x the base point (not copied: it must not change while the subspace is searched)
+	 * @param value the value of the base point
+	 */
+	void set(int[] sel, double[] x, double value) {
+		for (int i=0; i<k; i++) {
+			pos[coords[i]] = -1;
+		}
+		for (int i=0; i<k; i++) {
+			coords[i] = sel[i];
+			pos[sel[i]] = i;
+		}
+		base = x;
+		baseValue = value;
+		if (psf != null) {
+			int count = 0;
+			int[] found = new int[marked.length];
+			for (int i=0; i<k; i++) {
+				for (int e: psf.getElementsOf(sel[i])) {
+					if (!marked[e]) {
+						marked[e] = true;
+						found[count++] = e;
+					}
+				}
+			}
+			elements = Arrays.copyOf(found, count);
+			for (int e: elements) {
+				marked[e] = false;
+			}
+			baseElements = psf.evaluateElements(elements, new View(getBase()));
+		}
+	}
+
+	/**
+	 * Returns the coordinates of the base point in the subspace
+	 * @return the projection of the base point on the subspace
+	 */
+	List<Double> getBase() {
+		List<Double> p = new ArrayList<Double>(k);
+		for (int i=0; i<k; i++) {
+			p.add(base[coords[i]]);
+		}
+		return p;
+	}
+
+	/**
+	 * Returns the cost of an evaluation in the subspace
+	 * @return the cost of an evaluation, as a fraction of a full evaluation of the objective function
+	 */
+	double getCost() {
+		return (psf == null) ? 1.0 : (double)elements.length / psf.getNumElements();
+	}
+
+	@Override
+	public int getNumVariables() {
+		return k;
+	}
+
+	@Override
+	public double getMinValue(int i) {
+		return obj.getMinValue(coords[i]);
+	}
+
+	@Override
+	public double getMaxValue(int i) {
+		return obj.getMaxValue(coords[i]);
+	}
+
+	/**
+	 * Checks whether a point of the subspace is the base point
+	 * @param sub a point of the subspace
+	 * @return true if the point is the projection of the base point
+	 */
+	private boolean isBase(List<Double> sub) {
+		for (int i=0; i<k; i++) {
+			if (sub.get(i) != base[coords[i]]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public double evaluate(List<Double> sub, double cutoff) {
+		evals++;
+		return _evaluate(sub, cutoff);
+	}
+
+	@Override
+	public double[] evaluateAll(List<List<Double>> subs) {
+		if (psf != null) {
+			// partial evaluations are cheap (and may already run in a worker of the executor)
+			double[] values = new double[subs.size()];
+			for (int i=0; i<values.length; i++) {
+				values[i] = evaluate(subs.get(i));
+			}
+			return values;
+		}
+		List<List<Double>> views = new ArrayList<List<Double>>(subs.size());
+		for (List<Double> sub: subs) {
+			views.add(new View(sub));
+		}
+		evals += subs.size();
+		return obj.evaluateAll(views);
+	}
+
+	@Override
+	protected double _evaluate(List<Double> sub) {
+		return _evaluate(sub, Double.POSITIVE_INFINITY);
+	}
+
+	@Override
+	protected double _evaluate(List<Double> sub, double cutoff) {
+		if (isBase(sub)) {
+			return baseValue;
+		}
+		if (psf != null) {
+			return baseValue - baseElements + psf.evaluateElements(elements, new View(sub));
+		}
+		return obj.evaluate(new View(sub), cutoff);
+	}
+
+	@Override
+	public int getNumEvals() {
+		return evals;
+	}
+
+	@Override
+	public void newRun() {
+		evals = 0;
+	}
+}
@@ -0,0 +1,469 @@
+package es.uma.lcc.caesium.dfopt.neldermead;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import es.uma.lcc.caesium.dfopt.base.DerivativeFreeMethod;
+import es.uma.lcc.caesium.dfopt.base.DerivativeFreeObjectiveFunction;
+import es.uma.lcc.caesium.dfopt.base.EvaluatedSolution;
+import es.uma.lcc.caesium.dfopt.base.PartiallySeparableFunction;
+import es.uma.lcc.caesium.dfopt.sampling.Sampler;
+import es.uma.lcc.caesium.dfopt.sampling.SamplerFactory;
+
+/**
+ * Random-subspace Nelder-Mead, for problems with many variables. The current point is improved
+ * by searching subspaces spanned by k random coordinates (k &lt;&lt; n): a k-dimensional 
+ * Nelder-Mead search is run in each subspace, from a simplex with the current point as a
+ * vertex, while the other coordinates stay fixed. Each search thus needs k evaluations to
+ * initialize (instead of n) and its iterations cost O(k<sup>2</sup>) (instead of O(n<sup>2</sup>)), 
+ * and the points it evaluates differ from each other in at most k coordinates, which objective 
+ * functions with incremental evaluation can exploit. 
+ * <p>
+ * The side of the initial simplex along each coordinate adapts to the progress made: it is
+ * twice the last move in that coordinate, or half the previous side if the coordinate did not 
+ * move. The cycle ends when the budget is exhausted, or when n/k consecutive searches (i.e., 
+ * as many as needed to visit every coordinate once on average) fail to improve the current point.
+ * <p>
+ * If the objective function is partially separable, the searches in the subspaces only evaluate
+ * the element functions that depend on the coordinates of the subspace. In block mode (which 
+ * requires such a function), the subspaces are fixed blocks of k contiguous variables instead
+ * of random ones. Blocks sharing no element function are independent, so they are grouped by
+ * a greedy colouring of the graph of blocks sharing element functions, and all the blocks of
+ * a colour are searched concurrently (in parallel if the objective function has an executor),
+ * the improvements found in each of them being combined afterwards. Colours are searched in 
+ * turn, and the cycle ends when the budget is exhausted or no colour improves the current point
+ * in a round.
+ * @author ccottap
+ * @version 1.1
+ */
+public class SubspaceNelderMead extends DerivativeFreeMethod {
+	/**
+	 * initial side of the simplex (expressed as a factor of the range of each variable)
+	 */
+	private static final double SIDE = 0.1;
+	/**
+	 * minimum side of the simplex (expressed as a factor of the range of each variable)
+	 */
+	private static final double MINSIDE = 1e-12;
+	/**
+	 * random number generator
+	 */
+	private Random rng;
+	/**
+	 * sampler of random initial points
+	 */
+	private Sampler sampler;
+	/**
+	 * number of variables
+	 */
+	private int n;
+	/**
+	 * dimension of the subspaces
+	 */
+	private int k;
+	/**
+	 * number of evaluations of the search in a subspace
+	 */
+	private int evals;
+	/**
+	 * restrictions of the objective function to the subspaces (one per block, or a single one for random subspaces)
+	 */
+	private Subspace[] subspaces;
+	/**
+	 * Nelder-Mead optimizers for the subspaces (one per restriction)
+	 */
+	private NelderMead[] nms;
+	/**
+	 * variables of each block (null for random subspaces)
+	 */
+	private int[][] blocks;
+	/**
+	 * blocks of each colour (null for random subspaces)
+	 */
+	private int[][] colours;
+	/**
+	 * current point
+	 */
+	private double[] x;
+	/**
+	 * side of the initial simplex along each coordinate
+	 */
+	private double[] side;
+	/**
+	 * permutation of the coordinates (the first k span the current subspace)
+	 */
+	private int[] perm;
+	
+
+
+	/**
+	 * Default constructor
+	 */
+	public SubspaceNelderMead() {
+		this(new SubspaceNelderMeadConfiguration());
+	}
+
+	/**
+	 * Creates the algorithm given a configuration
+	 * @param conf the configuration of the algorithm
+	 */
+	public SubspaceNelderMead(SubspaceNelderMeadConfiguration conf) {
+		super(conf);
+		rng = new Random(1);
+	}
+	
+	
+
+	@Override
+	public void setObjectiveFunction(DerivativeFreeObjectiveFunction dfof) {
+		super.setObjectiveFunction(dfof);
+		SubspaceNelderMeadConfiguration snmconf = (SubspaceNelderMeadConfiguration)conf;
+		n = obj.getNumVariables();
+		k = (snmconf.getDimension() > 0) ? Math.min(snmconf.getDimension(), n) : Math.min(n, 5);
+		evals = (snmconf.getEvals() > 0) ? snmconf.getEvals() : 20*(k+1);
+		sampler = new SamplerFactory().create(conf, n, 1);
+		if (snmconf.isBlocks()) {
+			if (!(obj instanceof PartiallySeparableFunction psf)) {
+				throw new IllegalArgumentException("Block mode requires a partially separable objective function");
+			}
+			int nb = (n + k - 1) / k;
+			blocks = new int[nb][];
+			subspaces = new Subspace[nb];
+			for (int b=0; b<nb; b++) {
+				blocks[b] = new int[Math.min(k, n - b*k)];
+				for (int i=0; i<blocks[b].length; i++) {
+					blocks[b][i] = b*k + i;
+				}
+				subspaces[b] = new Subspace(obj, blocks[b].length);
+			}
+			colours = colour(psf);
+		}
+		else {
+			blocks = null;
+			colours = null;
+			subspaces = new Subspace[] {new Subspace(obj, k)};
+		}
+		nms = new NelderMead[subspaces.length];
+		for (int s=0; s<subspaces.length; s++) {
+			nms[s] = new NelderMead(snmconf);
+			nms[s].setObjectiveFunction(subspaces[s]);
+		}
+		x = new double[n];
+		side = new double[n];
+		perm = new int[n];
+		for (int j=0; j<n; j++) {
+			perm[j] = j;
+		}
+	}
+	
+
+	
+	@Override
+	public EvaluatedSolution _run () {
+		sampler.setSeed(currentSeed);
+		return _run(sampler.next(obj));
+	}
+	
+	
+	@Override
+	public EvaluatedSolution _run (List<Double> p) {
+		rng.setSeed(currentSeed++);
+		return subspaceCycle(p);
+	}
+	
+	
+	/**
+	 * main cycle of the random-subspace Nelder-Mead algorithm
+	 * @param p the initial point
+	 * @return the best solution found
+	 */
+	private EvaluatedSolution subspaceCycle(List<Double> p) {
+		double fx = obj.evaluate(p);
+		for (int j=0; j<n; j++) {
+			x[j] = p.get(j);
+			side[j] = SIDE * (obj.getMaxValue(j) - obj.getMinValue(j));
+		}
+		fx = (blocks == null) ? randomCycle(fx) : blockCycle(fx);
+		
+		List<Double> best = new ArrayList<Double>(n);
+		for (int j=0; j<n; j++) {
+			best.add(x[j]);
+		}
+		if (obj instanceof PartiallySeparableFunction) {
+			// the value has been updated by partial evaluations: rounding errors are cleared
+			fx = obj.evaluate(best);
+		}
+		return new EvaluatedSolution(best, fx);
+	}
+	
+	
+	/**
+	 * Improves the current point by searching random subspaces
+	 * @param fx the value of the current point
+	 * @return the value of the current point at the end of the search
+	 */
+	private double randomCycle(double fx) {
+		int[] sel = new int[k];
+		int sweep = (n + k - 1) / k;
+		int stall = 0;
+		
+		while ((obj.getNumEvals() + k < getBudget()) && (stall < sweep)) {
+			// picks k random coordinates
+			for (int i=0; i<k; i++) {
+				int r = i + rng.nextInt(n - i);
+				int t = perm[i];
+				perm[i] = perm[r];
+				perm[r] = t;
+				sel[i] = perm[i];
+			}
+			listeners.iterationStarted(obj.getNumEvals(), meanSide(sel), fx);
+			
+			subspaces[0].set(sel, x, fx);
+			EvaluatedSolution sol = search(0, sel, Math.min(evals, getBudget() - obj.getNumEvals()));
+			if (move(sel, sol, fx)) {
+				fx = sol.value();
+				stall = 0;
+			}
+			else {
+				stall++;
+			}
+		}
+		return fx;
+	}
+	
+	
+	/**
+	 * Improves the current point by searching the blocks of variables, colour by colour
+	 * @param fx the value of the current point
+	 * @return the value of the current point at the end of the search
+	 */
+	private double blockCycle(double fx) {
+		int stall = 0;
+		int c = 0;
+		
+		// one evaluation is kept for the final (full) evaluation of the current point 
+		while ((obj.getNumEvals() + 1 < getBudget()) && (stall < colours.length)) {
+			int[] group = colours[c];
+			c = (c + 1) % colours.length;
+			
+			// sets the subspaces, and splits the remaining budget if it does not suffice for all of them
+			double cost = 0;
+			for (int b: group) {
+				subspaces[b].set(blocks[b], x, fx);
+				cost += evals * subspaces[b].getCost();
+			}
+			double remaining = getBudget() - obj.getNumEvals() - 1;
+			int budget = (cost <= remaining) ? evals : (int)(evals * remaining / cost);
+			if (budget <= blocks[group[0]].length) {
+				break;
+			}
+			listeners.iterationStarted(obj.getNumEvals(), meanSide(group), fx);
+			
+			// searches the blocks of the colour (they share no element function, so they are independent)
+			EvaluatedSolution[] sols = new EvaluatedSolution[group.length];
+			ExecutorService executor = obj.getExecutor();
+			int tasks = (executor == null) ? 1 : Math.min(group.length, workers(executor));
+			if (tasks < 2) {
+				searchBlocks(group, sols, 0, 1, budget);
+			}
+			else {
+				// blocks are dealt to as many tasks as workers (searches are too short to be tasks on their own)
+				List<Future<?>> futures = new ArrayList<Future<?>>(tasks);
+				for (int t=0; t<tasks; t++) {
+					int first = t;
+					futures.add(executor.submit(() -> searchBlocks(group, sols, first, tasks, budget)));
+				}
+				try {
+					for (Future<?> f: futures) {
+						f.get();
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new IllegalStateException("Interrupted while searching the blocks", e);
+				} catch (ExecutionException e) {
+					if (e.getCause() instanceof RuntimeException) {
+						throw (RuntimeException)e.getCause();
+					}
+					throw new IllegalStateException("Error while searching the blocks", e.getCause());
+				}
+			}
+			
+			// combines the improvements (each one changes the value of the independent element functions of its block)
+			double delta = 0;
+			for (int i=0; i<group.length; i++) {
+				if (move(blocks[group[i]], sols[i], fx)) {
+					delta += sols[i].value() - fx;
+				}
+			}
+			if (delta < 0) {
+				fx += delta;
+				stall = 0;
+			}
+			else {
+				stall++;
+			}
+		}
+		return fx;
+	}
+	
+	
+	/**
+	 * Searches some blocks of a colour
+	 * @param group the blocks of the colour
+	 * @param sols the array where the best point found in each block is stored
+	 * @param first the position in the colour of the first block to search
+	 * @param step the distance between the positions of the blocks to search
+	 * @param budget the number of evaluations of the search in each block
+	 */
+	private void searchBlocks(int[] group, EvaluatedSolution[] sols, int first, int step, int budget) {
+		for (int i=first; i<group.length; i+=step) {
+			sols[i] = search(group[i], blocks[group[i]], budget);
+		}
+	}
+	
+	
+	/**
+	 * Returns the number of workers of an executor
+	 * @param executor the executor
+	 * @return the number of threads of the pool if known, or the number of available processors otherwise
+	 */
+	private static int workers(ExecutorService executor) {
+		if (executor instanceof ThreadPoolExecutor pool) {
+			return pool.getMaximumPoolSize();
+		}
+		return Runtime.getRuntime().availableProcessors();
+	}
+	
+	
+	/**
+	 * Searches a subspace from a simplex with the current point as a vertex. The subspace
+	 * must have been set on the current point. The current point is not modified. 
+	 * @param s the index of the subspace
+	 * @param sel the coordinates spanning the subspace
+	 * @param budget the number of evaluations of the search
+	 * @return the best point of the subspace found
+	 */
+	private EvaluatedSolution search(int s, int[] sel, int budget) {
+		List<Double> base = subspaces[s].getBase();
+		List<List<Double>> simplex = new ArrayList<List<Double>>(sel.length + 1);
+		simplex.add(base);
+		for (int i=0; i<sel.length; i++) {
+			int j = sel[i];
+			double v = x[j] + side[j];
+			if (v > obj.getMaxValue(j)) {
+				v = Math.max(obj.getMinValue(j), x[j] - side[j]);
+			}
+			List<Double> q = new ArrayList<Double>(base);
+			q.set(i, v);
+			simplex.add(q);
+		}
+		nms[s].setBudget(budget);
+		return nms[s].run(simplex);
+	}
+	
+	
+	/**
+	 * Moves the current point to the best point found in a subspace if it is better, and
+	 * adapts the sides of the simplex along the coordinates of the subspace
+	 * @param sel the coordinates spanning the subspace
+	 * @param sol the best point of the subspace found
+	 * @param fx the value of the current point
+	 * @return true if the current point has been moved
+	 */
+	private boolean move(int[] sel, EvaluatedSolution sol, double fx) {
+		boolean improved = sol.value() < fx;
+		for (int i=0; i<sel.length; i++) {
+			int j = sel[i];
+			double range = obj.getMaxValue(j) - obj.getMinValue(j);
+			double d = improved ? Math.abs(sol.point().get(i) - x[j]) : 0.0;
+			side[j] = Math.max(MINSIDE*range, Math.min(SIDE*range, (d > 0) ? 2*d : side[j]/2));
+			if (improved) {
+				x[j] = sol.point().get(i);
+			}
+		}
+		return improved;
+	}
+	
+	
+	/**
+	 * Returns the mean side of the simplex along some coordinates
+	 * @param sel the coordinates
+	 * @return the mean side of the initial simplex along the coordinates
+	 */
+	private double meanSide(int[] sel) {
+		double mean = 0;
+		for (int j: sel) {
+			mean += side[j];
+		}
+		return mean / sel.length;
+	}
+	
+	
+	/**
+	 * Groups the blocks by a greedy colouring of the graph in which two blocks are adjacent
+	 * if some element function depends on variables of both of them
+	 * @param psf the objective function
+	 * @return the blocks of each colour
+	 */
+	private int[][] colour(PartiallySeparableFunction psf) {
+		int nb = blocks.length;
+		List<Set<Integer>> adjacent = new ArrayList<Set<Integer>>(nb);
+		for (int b=0; b<nb; b++) {
+			adjacent.add(new HashSet<Integer>());
+		}
+		for (int e=0; e<psf.getNumElements(); e++) {
+			int[] vars = psf.getElementVariables(e);
+			for (int u: vars) {
+				for (int v: vars) {
+					if (u/k != v/k) {
+						adjacent.get(u/k).add(v/k);
+					}
+				}
+			}
+		}
+		
+		int[] colour = new int[nb];
+		int num = 0;
+		BitSet used = new BitSet();
+		for (int b=0; b<nb; b++) {
+			used.clear();
+			for (int a: adjacent.get(b)) {
+				if (a < b) {
+					used.set(colour[a]);
+				}
+			}
+			colour[b] = used.nextClearBit(0);
+			num = Math.max(num, colour[b] + 1);
+		}
+		
+		int[] size = new int[num];
+		for (int b=0; b<nb; b++) {
+			size[colour[b]]++;
+		}
+		int[][] groups = new int[num][];
+		for (int c=0; c<num; c++) {
+			groups[c] = new int[size[c]];
+			size[c] = 0;
+		}
+		for (int b=0; b<nb; b++) {
+			groups[colour[b]][size[colour[b]]++] = b;
+		}
+		return groups;
+	}
+	
+	
+	@Override
+	public String toString() {
+		return  "===============================\nRandom-subspace Nelder-Mead\n===============================\n" + conf;
+	}
+	
+
+}
@@ -0,0 +1,157 @@
+package es.uma.lcc.caesium.dfopt.neldermead;
+
+
+import com.github.cliftonlabs.json_simple.JsonObject;
+
+/**
+ * Configuration of the random-subspace Nelder-Mead method
+ * @author ccottap
+ * @version 1.1
+ */
+public class SubspaceNelderMeadConfiguration extends NelderMeadConfiguration {
+	/**
+	 * name of the method
+	 */
+	private final static String SUBSPACE = "subspace";
+	/**
+	 * default value of the dimension of the subspaces (0 for the default min(n, 5))
+	 */
+	private final static int DIMENSION = 0;
+	/**
+	 * default value of the number of evaluations of the search in a subspace (0 for the default 20(k+1))
+	 */
+	private final static int EVALS = 0;
+	/**
+	 * default value of the block mode (random subspaces)
+	 */
+	private final static boolean BLOCKS = false;
+
+	/**
+	 * dimension of the subspaces (0 for the default value)
+	 */
+	private int dimension;
+	/**
+	 * number of evaluations of the search in a subspace (0 for the default value)
+	 */
+	private int evals;
+	/**
+	 * whether the subspaces are fixed blocks of contiguous variables searched in parallel (or random subspaces)
+	 */
+	private boolean blocks;
+
+
+	/**
+	 * Constructor with default values
+	 */
+	public SubspaceNelderMeadConfiguration() {
+		super();
+		setMethod(SUBSPACE);
+		dimension = DIMENSION;
+		evals = EVALS;
+		blocks = BLOCKS;
+	}
+	
+	
+
+	/**
+	 * Creates the configuration by reading from a JSON object
+	 * @param json a JSON object
+	 */
+	public SubspaceNelderMeadConfiguration(JsonObject json) {
+		super(json);
+		setMethod(SUBSPACE);
+		if (json.containsKey("dimension")) {
+			setDimension(getInt(json, "dimension"));
+		}
+		else {
+			setDimension(DIMENSION);			
+		}
+		if (json.containsKey("subspaceevals")) {
+			setEvals(getInt(json, "subspaceevals"));
+		}
+		else {
+			setEvals(EVALS);			
+		}
+		if (json.containsKey("blocks")) {
+			setBlocks(getBoolean(json, "blocks"));
+		}
+		else {
+			setBlocks(BLOCKS);			
+		}
+	}
+
+
+
+	/**
+	 * Returns the dimension of the subspaces
+	 * @return the dimension of the subspaces (0 for the default value)
+	 */
+	public int getDimension() {
+		return dimension;
+	}
+
+
+
+	/**
+	 * Sets the dimension of the subspaces
+	 * @param dimension the dimension of the subspaces (0 for the default value)
+	 */
+	public void setDimension(int dimension) {
+		assert dimension >= 0;
+		this.dimension = dimension;
+	}
+
+
+
+	/**
+	 * Returns the number of evaluations of the search in a subspace
+	 * @return the number of evaluations of the search in a subspace (0 for the default value)
+	 */
+	public int getEvals() {
+		return evals;
+	}
+
+
+
+	/**
+	 * Sets the number of evaluations of the search in a subspace
+	 * @param evals the number of evaluations of the search in a subspace (0 for the default value)
+	 */
+	public void setEvals(int evals) {
+		assert evals >= 0;
+		this.evals = evals;
+	}
+
+
+
+	/**
+	 * Indicates whether the subspaces are fixed blocks of variables
+	 * @return true if the subspaces are fixed blocks of contiguous variables, false if they are random
+	 */
+	public boolean isBlocks() {
+		return blocks;
+	}
+
+
+
+	/**
+	 * Sets whether the subspaces are fixed blocks of variables
+	 * @param blocks true for fixed blocks of contiguous variables (searched in parallel), false for random subspaces
+	 */
+	public void setBlocks(boolean blocks) {
+		this.blocks = blocks;
+	}
+
+
+
+	@Override
+	public String toString() {
+		String str = super.toString();
+		str += 	"dimension:\t " + dimension + "\n" + 
+				"subspace-evals:\t " + evals + "\n" + 
+				"blocks:\t\t " + blocks + "\n" + 
+				"-------------------------------\n";
+		return str;		
+	}
+
+}
@@ -0,0 +1,273 @@
+package es.uma.lcc.caesium.dfopt.pso;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import es.uma.lcc.caesium.dfopt.base.DerivativeFreeMethod;
+import es.uma.lcc.caesium.dfopt.base.DerivativeFreeObjectiveFunction;
+import es.uma.lcc.caesium.dfopt.base.EvaluatedSolution;
+import es.uma.lcc.caesium.dfopt.sampling.Sampler;
+import es.uma.lcc.caesium.dfopt.sampling.SamplerFactory;
+
+/**
+ * Particle swarm optimization with global-best topology and inertia weight (constriction
+ * coefficients by default), in which particles are updated asynchronously: as soon as the
+ * evaluation of a particle finishes, its personal best and the global best are updated, and
+ * the particle moves (using the global best known at that time) and is submitted again.
+ * There are no synchronous generations, so workers are not left idle waiting for the slowest
+ * evaluation of the swarm. Evaluations run in parallel if the objective function has an
+ * executor (the order in which they finish, and hence the trajectory of the swarm, is then
+ * non-deterministic); otherwise, particles are evaluated one at a time, in order.
+ * <p>
+ * Particles are kept within the domain: a coordinate that would leave it is set to the bound,
+ * and the corresponding velocity is reset to zero. Velocities are limited to the domain range.
+ * The cycle ends when the budget is exhausted or when the personal bests of the swarm span less
+ * than the tolerance in every variable.
+ * @author ccottap
+ * @version 1.2
+ */
+public class PSO extends DerivativeFreeMethod {
+	/**
+	 * random number generator
+	 */
+	private Random rng;
+	/**
+	 * sampler of random points
+	 */
+	private Sampler sampler;
+	/**
+	 * number of variables
+	 */
+	private int n;
+	/**
+	 * swarm size
+	 */
+	private int size;
+	/**
+	 * positions of the particles (size x n, by rows)
+	 */
+	private double[] x;
+	/**
+	 * velocities of the particles (size x n, by rows)
+	 */
+	private double[] v;
+	/**
+	 * personal bests of the particles (size x n, by rows)
+	 */
+	private double[] pbest;
+	/**
+	 * values of the personal bests
+	 */
+	private double[] fbest;
+
+	/**
+	 * The completion of the evaluation of a particle
+	 * @param particle the index of the particle
+	 * @param value the value of its position
+	 * @param error the error raised by the evaluation (null if none)
+	 */
+	private record Completion(int particle, double value, Throwable error) {
+	}
+
+
+	/**
+	 * Default constructor
+	 */
+	public PSO() {
+		this(new PSOConfiguration());
+	}
+
+	/**
+	 * Creates the algorithm given a configuration
+	 * @param conf the configuration of the algorithm
+	 */
+	public PSO(PSOConfiguration conf) {
+		super(conf);
+		rng = new Random(1);
+	}
+
+
+	@Override
+	public void setObjectiveFunction(DerivativeFreeObjectiveFunction dfof) {
+		super.setObjectiveFunction(dfof);
+		PSOConfiguration psoconf = (PSOConfiguration)conf;
+		n = obj.getNumVariables();
+		size = (psoconf.getSwarmsize() > 0) ? psoconf.getSwarmsize() : 10 + (int)(2*Math.sqrt(n));
+		sampler = new SamplerFactory().create(conf, n, size, rng);
+		x = new double[size*n];
+		v = new double[size*n];
+		pbest = new double[size*n];
+		fbest = new double[size];
+	}
+
+
+	@Override
+	protected EvaluatedSolution _run() {
+		rng.setSeed(currentSeed);
+		sampler.setSeed(currentSeed);
+		return psoCycle(null);
+	}
+
+	@Override
+	protected EvaluatedSolution _run(List<Double> p) {
+		rng.setSeed(currentSeed);
+		sampler.setSeed(currentSeed);
+		return psoCycle(p);
+	}
+
+
+	/**
+	 * main cycle of particle swarm optimization
+	 * @param p a point to be included in the initial swarm (null if none)
+	 * @return the best solution found
+	 */
+	private EvaluatedSolution psoCycle(List<Double> p) {
+		currentSeed++;
+		PSOConfiguration psoconf = (PSOConfiguration)conf;
+		int maxevals = getBudget();
+		double w = psoconf.getInertia();
+		double c1 = psoconf.getCognitive();
+		double c2 = psoconf.getSocial();
+
+		double range = 0;
+		for (int j=0; j<n; j++) {
+			range = Math.max(range, obj.getMaxValue(j) - obj.getMinValue(j));
+		}
+		double tolerance = psoconf.getTolerance() * range;
+
+		// initial swarm (SPSO 2006 initialization)
+		for (int i=0; i<size; i++) {
+			List<Double> q = ((i == 0) && (p != null)) ? p : sampler.next(obj);
+			for (int j=0; j<n; j++) {
+				double lo = obj.getMinValue(j);
+				double hi = obj.getMaxValue(j);
+				double pos = q.get(j);
+				x[i*n + j] = pos;
+				v[i*n + j] = 0.5*(rng.nextDouble(lo, hi) - pos);
+			}
+			fbest[i] = Double.POSITIVE_INFINITY;
+		}
+		int best = 0;
+
+		BlockingQueue<Completion> done = new LinkedBlockingQueue<Completion>();
+		int pending = 0;
+		for (int i=0; (i<size) && (obj.getNumEvals() < maxevals); i++) {
+			submit(i, done);
+			pending++;
+		}
+
+		boolean converged = false;
+		int completions = 0;
+		while (pending > 0) {
+			Completion c;
+			try {
+				c = done.take();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while waiting for an evaluation", e);
+			}
+			pending--;
+			if (c.error() != null) {
+				Throwable cause = (c.error() instanceof CompletionException) ? c.error().getCause() : c.error();
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException)cause;
+				}
+				throw new IllegalStateException("Error while evaluating a particle", cause);
+			}
+
+			// updates the personal and global bests
+			int i = c.particle();
+			int row = i*n;
+			if (c.value() < fbest[i]) {
+				fbest[i] = c.value();
+				System.arraycopy(x, row, pbest, row, n);
+				if (c.value() < fbest[best]) {
+					best = i;
+				}
+			}
+			if ((++completions % size) == 0) {
+				double spread = spread();
+				listeners.iterationStarted(obj.getNumEvals(), spread, fbest[best]);
+				converged = spread < tolerance;
+			}
+
+			// moves the particle and submits it again
+			if (!converged && (obj.getNumEvals() < maxevals)) {
+				int g = best*n;
+				for (int j=0; j<n; j++) {
+					double lo = obj.getMinValue(j);
+					double hi = obj.getMaxValue(j);
+					double vel = w*v[row + j] + c1*rng.nextDouble()*(pbest[row + j] - x[row + j])
+								+ c2*rng.nextDouble()*(pbest[g + j] - x[row + j]);
+					vel = Math.max(lo - hi, Math.min(hi - lo, vel));
+					double pos = x[row + j] + vel;
+					if (pos < lo) {
+						pos = lo;
+						vel = 0;
+					}
+					else if (pos > hi) {
+						pos = hi;
+						vel = 0;
+					}
+					x[row + j] = pos;
+					v[row + j] = vel;
+				}
+				submit(i, done);
+				pending++;
+			}
+		}
+
+		List<Double> sol = new ArrayList<Double>(n);
+		for (int j=0; j<n; j++) {
+			sol.add(pbest[best*n + j]);
+		}
+		return new EvaluatedSolution(sol, fbest[best]);
+	}
+
+
+	/**
+	 * Submits the current position of a particle for evaluation
+	 * @param i the index of the particle
+	 * @param done the queue where the completion of the evaluation is posted
+	 */
+	private void submit(int i, BlockingQueue<Completion> done) {
+		List<Double> point = new ArrayList<Double>(n);
+		for (int j=0; j<n; j++) {
+			point.add(x[i*n + j]);
+		}
+		obj.submit(point).whenComplete((value, error) ->
+			done.add(new Completion(i, (error == null) ? value : Double.NaN, error)));
+	}
+
+
+	/**
+	 * Returns the largest span of the personal bests in any variable
+	 * @return the largest difference between the maximum and minimum value of a variable in the personal bests
+	 */
+	private double spread() {
+		double spread = 0;
+		for (int j=0; j<n; j++) {
+			double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+			for (int i=0; i<size; i++) {
+				if (fbest[i] < Double.POSITIVE_INFINITY) {
+					double val = pbest[i*n + j];
+					min = Math.min(min, val);
+					max = Math.max(max, val);
+				}
+			}
+			spread = Math.max(spread, max - min);
+		}
+		return spread;
+	}
+
+
+	@Override
+	public String toString() {
+		return  "===============================\nPSO\n===============================\n" + conf;
+	}
+
+}
@@ -0,0 +1,214 @@
+package es.uma.lcc.caesium.dfopt.pso;
+
+
+import com.github.cliftonlabs.json_simple.JsonObject;
+
+import es.uma.lcc.caesium.dfopt.base.DerivativeFreeConfiguration;
+
+/**
+ * Configuration of the particle swarm optimization method
+ * @author ccottap
+ * @version 1.0
+ */
+public class PSOConfiguration extends DerivativeFreeConfiguration {
+	/**
+	 * name of the method
+	 */
+	private final static String PSO = "pso";
+	/**
+	 * default value of the swarm size (0 for the default 10 + 2 sqrt(n))
+	 */
+	private final static int SWARMSIZE = 0;
+	/**
+	 * default value of the inertia weight
+	 */
+	private final static double INERTIA = 0.7298;
+	/**
+	 * default value of the acceleration coefficients
+	 */
+	private final static double ACCELERATION = 1.49618;
+	/**
+	 * default value of the tolerance (relative to the domain range)
+	 */
+	private final static double TOLERANCE = 1e-12;
+
+	/**
+	 * swarm size (0 for the default value)
+	 */
+	private int swarmsize;
+	/**
+	 * inertia weight
+	 */
+	private double inertia;
+	/**
+	 * cognitive acceleration coefficient
+	 */
+	private double cognitive;
+	/**
+	 * social acceleration coefficient
+	 */
+	private double social;
+	/**
+	 * tolerance (relative to the domain range)
+	 */
+	private double tolerance;
+
+
+	/**
+	 * Constructor with default values
+	 */
+	public PSOConfiguration() {
+		super();
+		setMethod(PSO);
+		swarmsize = SWARMSIZE;
+		inertia = INERTIA;
+		cognitive = ACCELERATION;
+		social = ACCELERATION;
+		tolerance = TOLERANCE;
+	}
+	
+	
+
+	/**
+	 * Creates the configuration by reading from a JSON object
+	 * @param json a JSON object
+	 */
+	public PSOConfiguration(JsonObject json) {
+		super(json);
+		setMethod(PSO);
+		if (json.containsKey("swarmsize")) {
+			setSwarmsize(getInt(json, "swarmsize"));
+		}
+		else {
+			setSwarmsize(SWARMSIZE);			
+		}
+		if (json.containsKey("inertia")) {
+			setInertia(getDouble(json, "inertia"));
+		}
+		else {
+			setInertia(INERTIA);			
+		}
+		if (json.containsKey("cognitive")) {
+			setCognitive(getDouble(json, "cognitive"));
+		}
+		else {
+			setCognitive(ACCELERATION);			
+		}
+		if (json.containsKey("social")) {
+			setSocial(getDouble(json, "social"));
+		}
+		else {
+			setSocial(ACCELERATION);			
+		}
+		if (json.containsKey("tolerance")) {
+			setTolerance(getDouble(json, "tolerance"));
+		}
+		else {
+			setTolerance(TOLERANCE);			
+		}
+	}
+
+
+	/**
+	 * Returns the swarm size
+	 * @return the swarm size (0 for the default value 10 + 2 sqrt(n))
+	 */
+	public int getSwarmsize() {
+		return swarmsize;
+	}
+
+	/**
+	 * Sets the swarm size
+	 * @param swarmsize the swarm size (0 for the default value 10 + 2 sqrt(n))
+	 */
+	public void setSwarmsize(int swarmsize) {
+		assert swarmsize >= 0;
+		this.swarmsize = swarmsize;
+	}
+
+	/**
+	 * Returns the inertia weight
+	 * @return the inertia weight
+	 */
+	public double getInertia() {
+		return inertia;
+	}
+
+	/**
+	 * Sets the inertia weight
+	 * @param inertia the inertia weight
+	 */
+	public void setInertia(double inertia) {
+		assert (inertia >= 0) && (inertia < 1);
+		this.inertia = inertia;
+	}
+
+	/**
+	 * Returns the cognitive acceleration coefficient
+	 * @return the cognitive acceleration coefficient
+	 */
+	public double getCognitive() {
+		return cognitive;
+	}
+
+	/**
+	 * Sets the cognitive acceleration coefficient
+	 * @param cognitive the cognitive acceleration coefficient
+	 */
+	public void setCognitive(double cognitive) {
+		assert cognitive >= 0;
+		this.cognitive = cognitive;
+	}
+
+	/**
+	 * Returns the social acceleration coefficient
+	 * @return the social acceleration coefficient
+	 */
+	public double getSocial() {
+		return social;
+	}
+
+	/**
+	 * Sets the social acceleration coefficient
+	 * @param social the social acceleration coefficient
+	 */
+	public void setSocial(double social) {
+		assert social >= 0;
+		this.social = social;
+	}
+
+	/**
+	 * Returns the tolerance
+	 * @return the tolerance (relative to the domain range)
+	 */
+	public double getTolerance() {
+		return tolerance;
+	}
+
+	/**
+	 * Sets the tolerance
+	 * @param tolerance the tolerance (relative to the domain range)
+	 */
+	public void setTolerance(double tolerance) {
+		assert tolerance > 0;
+		this.tolerance = tolerance;
+	}
+
+
+
+	@Override
+	public String toString() {
+		String str = super.toString();
+		str += 	"swarmsize:\t " + ((swarmsize > 0) ? swarmsize : "10+2sqrt(n)") + "\n" + 
+				"inertia:\t " + inertia + "\n" + 
+				"cognitive:\t " + cognitive + "\n" + 
+				"social:\t\t " + social + "\n" + 
+				"tolerance:\t " + tolerance + "\n" + 
+				"-------------------------------\n";
+		return str;		
+	}
+	
+	
+	
+
+}
@@ -0,0 +1,6 @@
+/**
+ * Particle swarm optimization
+ * @author ccottap
+ * @version 1.0
+ */
+package es.uma.lcc.caesium.dfopt.pso;
\ No newline at end of file
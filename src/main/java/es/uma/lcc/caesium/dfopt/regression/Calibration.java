@@ -0,0 +1,60 @@
+package es.uma.lcc.caesium.dfopt.regression;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reference workload that does not depend on the code under test. It mimics the bookkeeping
+ * of the solvers (boxed points in lists, a cheap objective function) and is executed before
+ * and after each execution of a scenario, so that the throughput of the scenario can be 
+ * expressed relative to the speed of the host at that moment. It takes about as long as an
+ * execution of a scenario, since shorter workloads do not follow the changes of speed of 
+ * a loaded host.
+ * @author ccottap
+ * @version 1.0
+ */
+final class Calibration {
+	/**
+	 * number of operations of the workload
+	 */
+	private static final int OPS = 8000000;
+	/**
+	 * number of variables of each point
+	 */
+	private static final int N = 5;
+	/**
+	 * result of the workload (kept so that it is not optimized away)
+	 */
+	static volatile double sink;
+
+	/**
+	 * Not instantiable
+	 */
+	private Calibration() {
+	}
+
+	/**
+	 * Executes the workload
+	 * @return the number of operations per second
+	 */
+	static double rate() {
+		long seed = 1;
+		double acc = 0;
+		long tic = System.nanoTime();
+		for (int i=0; i<OPS; i++) {
+			List<Double> x = new ArrayList<Double>(N);
+			for (int j=0; j<N; j++) {
+				seed = seed * 6364136223846793005L + 1442695040888963407L;
+				x.add((seed >>> 11) * 0x1.0p-53);
+			}
+			double s = 0;
+			for (double v: x) {
+				s += v * v;
+			}
+			acc += s;
+		}
+		long toc = System.nanoTime();
+		sink = acc;
+		return OPS / ((toc - tic)/1e9);
+	}
+}
@@ -0,0 +1,231 @@
+package es.uma.lcc.caesium.dfopt.regression;
+
+import java.io.FileNotFoundException;
+import java.io.FileReader;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.function.ToDoubleFunction;
+
+import com.github.cliftonlabs.json_simple.JsonArray;
+import com.github.cliftonlabs.json_simple.JsonException;
+import com.github.cliftonlabs.json_simple.JsonObject;
+import com.github.cliftonlabs.json_simple.Jsoner;
+
+import es.uma.lcc.caesium.dfopt.base.DerivativeFreeConfiguration;
+import es.uma.lcc.caesium.dfopt.base.DerivativeFreeMethod;
+import es.uma.lcc.caesium.dfopt.base.DerivativeFreeMethodFactory;
+import es.uma.lcc.caesium.dfopt.base.IteratedDerivativeFreeMethod;
+import es.uma.lcc.caesium.dfopt.statistics.DerivativeFreeStatistics;
+import es.uma.lcc.caesium.problem.ProblemFactory;
+
+/**
+ * A fixed scenario given by a run file (as used by {@code RunDerivativeFree}). All runs of the 
+ * configuration are performed in the current thread, measuring the throughput, the bytes allocated 
+ * per evaluation and the peak heap usage. The scenario is executed several times and the median
+ * of each measure is reported. Executions are interleaved with a reference workload (see 
+ * {@link Calibration}), so that the throughput is also measured relative to the speed of the 
+ * host at that moment, which is comparable across hosts and less sensitive to their load. A digest of the trace of solutions (values and points 
+ * of the best solutions along each run, but not times) is computed as well, so that any change 
+ * in the behavior of the method can be detected.
+ * @author ccottap
+ * @version 1.2
+ */
+public class Scenario {
+	/**
+	 * name of the run file
+	 */
+	private String runfile;
+	/**
+	 * description of the run
+	 */
+	private JsonObject runconf;
+	/**
+	 * number of runs per execution (0 to use that of the configuration)
+	 */
+	private int numruns;
+	
+	/**
+	 * Creates the scenario
+	 * @param runfile the name of the run file
+	 * @throws FileNotFoundException if the run file cannot be read 
+	 * @throws JsonException if the run file is not correctly formatted
+	 */
+	public Scenario(String runfile) throws FileNotFoundException, JsonException {
+		this(runfile, 0);
+	}
+	
+	/**
+	 * Creates the scenario with a given number of runs per execution, so that
+	 * short scenarios can be lengthened for measurement purposes
+	 * @param runfile the name of the run file
+	 * @param numruns number of runs per execution (0 to use that of the configuration)
+	 * @throws FileNotFoundException if the run file cannot be read 
+	 * @throws JsonException if the run file is not correctly formatted
+	 */
+	public Scenario(String runfile, int numruns) throws FileNotFoundException, JsonException {
+		this.runfile = runfile;
+		this.numruns = numruns;
+		runconf = (JsonObject) Jsoner.deserialize(new FileReader(runfile));
+	}
+	
+	/**
+	 * Returns the name of the scenario
+	 * @return the name of the scenario
+	 */
+	public String getName() {
+		return runfile;
+	}
+	
+	/**
+	 * Performs all runs of the scenario with a fresh solver and objective function 
+	 * @return the statistics of the runs
+	 */
+	private DerivativeFreeStatistics execute() {
+		DerivativeFreeMethodFactory dfmf = new DerivativeFreeMethodFactory();
+		DerivativeFreeConfiguration conf = dfmf.readConfiguration((String)runconf.get("configuration"));
+		if (numruns > 0) {
+			conf.setNumruns(numruns);
+		}
+		DerivativeFreeMethod solver = dfmf.create(conf);
+		IteratedDerivativeFreeMethod idfm = new IteratedDerivativeFreeMethod(conf, solver);
+		idfm.setObjectiveFunction(new ProblemFactory().create(runconf));
+		for (int i=0; i<conf.getNumruns(); i++) {
+			idfm.run();
+		}
+		return idfm.getStatistics();
+	}
+	
+	/**
+	 * scale factor of the median absolute deviation to estimate the standard deviation
+	 */
+	private static final double MAD = 1.4826;
+	/**
+	 * ratio of the standard error of the median to that of the mean (normal samples)
+	 */
+	private static final double MEDIAN = 1.2533;
+	
+	/**
+	 * Runs the scenario several times and reports the median of each measure (and the spread
+	 * of the relative throughput), so that a single noisy execution does not decide the 
+	 * outcome of the comparison
+	 * @param warmup number of (unmeasured) executions of the scenario prior to the measured ones
+	 * @param repetitions number of measured executions of the scenario
+	 * @return the median measures of the scenario
+	 */
+	public ScenarioResult run(int warmup, int repetitions) {
+		for (int i=0; i<warmup; i++) {
+			Calibration.rate();
+			execute();
+		}
+		
+		// each execution is compared to the speed of the host just before and after it
+		ScenarioResult[] results = new ScenarioResult[repetitions];
+		double[] ratios = new double[repetitions];
+		double reference = Calibration.rate();
+		for (int i=0; i<repetitions; i++) {
+			results[i] = measure();
+			if (!results[i].trace().equals(results[0].trace())) {
+				throw new IllegalStateException("Non-deterministic trace in scenario " + runfile);
+			}
+			double next = Calibration.rate();
+			ratios[i] = results[i].evalsPerSecond() / ((reference + next)/2);
+			reference = next;
+		}
+		long evals = results[0].evals();
+		double time = median(results, ScenarioResult::time);
+		double relative = median(ratios);
+		double[] deviations = new double[repetitions];
+		for (int i=0; i<repetitions; i++) {
+			deviations[i] = Math.abs(ratios[i] - relative);
+		}
+		double spread = MEDIAN * MAD * median(deviations) / relative / Math.sqrt(repetitions);
+		double bytes = median(results, ScenarioResult::bytesPerEval);
+		long peak = (long)median(results, ScenarioResult::peakHeap);
+		return new ScenarioResult(evals, time, evals/time, relative, spread, bytes, peak, results[0].trace());
+	}
+	
+	/**
+	 * Performs one measured execution of the scenario
+	 * @return the measures of the execution (but the relative throughput)
+	 */
+	private ScenarioResult measure() {
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+		System.gc();
+		for (MemoryPoolMXBean pool: ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP) {
+				pool.resetPeakUsage();
+			}
+		}
+		long bytes = threads.getCurrentThreadAllocatedBytes();
+		long tic = System.nanoTime();
+		DerivativeFreeStatistics stats = execute();
+		long toc = System.nanoTime();
+		bytes = threads.getCurrentThreadAllocatedBytes() - bytes;
+		long peak = 0;
+		for (MemoryPoolMXBean pool: ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP) {
+				peak += pool.getPeakUsage().getUsed();
+			}
+		}
+		
+		int runs = stats.toJSON().size();
+		long evals = 0;
+		for (int i=0; i<runs; i++) {
+			evals += stats.getEvals(i);
+		}
+		double time = (toc - tic)/1e9;
+		return new ScenarioResult(evals, time, evals/time, Double.NaN, Double.NaN, (double)bytes/evals, peak, trace(stats));
+	}
+	
+	/**
+	 * Computes the median of a measure over several executions
+	 * @param results the measures of the executions
+	 * @param measure the measure of interest
+	 * @return the median of the measure
+	 */
+	private static double median(ScenarioResult[] results, ToDoubleFunction<ScenarioResult> measure) {
+		double[] values = new double[results.length];
+		for (int i=0; i<results.length; i++) {
+			values[i] = measure.applyAsDouble(results[i]);
+		}
+		return median(values);
+	}
+	
+	/**
+	 * Computes the median of some values
+	 * @param values the values (sorted on return)
+	 * @return the median of the values
+	 */
+	private static double median(double[] values) {
+		Arrays.sort(values);
+		int m = values.length/2;
+		return (values.length % 2 == 1) ? values[m] : (values[m-1] + values[m])/2;
+	}
+	
+	/**
+	 * Computes a digest of the trace of solutions of all runs
+	 * @param stats the statistics of the runs
+	 * @return a SHA-256 digest (hex) of the trace of solutions
+	 */
+	private String trace(DerivativeFreeStatistics stats) {
+		try {
+			MessageDigest md = MessageDigest.getInstance("SHA-256");
+			JsonArray runs = stats.toJSON();
+			for (Object run: runs) {
+				// doubles are serialized in their shortest exact representation
+				String rundata = ((JsonArray)((JsonObject)run).get("rundata")).toJson();
+				md.update(rundata.getBytes(StandardCharsets.UTF_8));
+			}
+			return HexFormat.of().formatHex(md.digest());
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
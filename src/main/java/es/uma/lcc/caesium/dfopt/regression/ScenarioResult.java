@@ -0,0 +1,60 @@
+package es.uma.lcc.caesium.dfopt.regression;
+
+import java.math.BigDecimal;
+
+import com.github.cliftonlabs.json_simple.JsonObject;
+
+/**
+ * Performance measures of a scenario
+ * @author ccottap
+ * @param evals number of evaluations in all runs
+ * @param time wall time (s) of all runs
+ * @param evalsPerSecond throughput (evaluations per second)
+ * @param relativeThroughput throughput relative to the speed of the host (see {@link Calibration})
+ * @param spread relative standard error of the relative throughput (estimated from the median
+ * absolute deviation over several executions)
+ * @param bytesPerEval bytes allocated per evaluation
+ * @param peakHeap peak heap usage (bytes)
+ * @param trace digest of the trace of solutions of all runs
+ * @version 1.1
+ */
+public record ScenarioResult(long evals, double time, double evalsPerSecond, double relativeThroughput, double spread, double bytesPerEval, long peakHeap, String trace) {
+	
+	/**
+	 * Creates the result by reading from a JSON object
+	 * @param json a JSON object
+	 */
+	public ScenarioResult(JsonObject json) {
+		this(((BigDecimal)json.get("evals")).longValue(), 
+				((BigDecimal)json.get("time")).doubleValue(),
+				((BigDecimal)json.get("evalspersecond")).doubleValue(),
+				((BigDecimal)json.get("relativethroughput")).doubleValue(),
+				((BigDecimal)json.get("spread")).doubleValue(),
+				((BigDecimal)json.get("bytespereval")).doubleValue(),
+				((BigDecimal)json.get("peakheap")).longValue(),
+				(String)json.get("trace"));
+	}
+	
+	/**
+	 * Returns the result in JSON format
+	 * @return a JSON object with the result
+	 */
+	public JsonObject toJSON() {
+		JsonObject json = new JsonObject();
+		json.put("evals", evals);
+		json.put("time", time);
+		json.put("evalspersecond", evalsPerSecond);
+		json.put("relativethroughput", relativeThroughput);
+		json.put("spread", spread);
+		json.put("bytespereval", bytesPerEval);
+		json.put("peakheap", peakHeap);
+		json.put("trace", trace);
+		return json;
+	}
+	
+	@Override
+	public String toString() {
+		return evals + " evals in " + time + "s (" + evalsPerSecond + " evals/s, relative " + relativeThroughput + " ± " + spread + "), " + 
+				bytesPerEval + " bytes/eval, peak heap " + peakHeap + " bytes, trace " + trace;
+	}
+}
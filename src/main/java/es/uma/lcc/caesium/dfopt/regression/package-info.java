@@ -0,0 +1,6 @@
+/**
+ * Performance regression testing of derivative-free optimization methods
+ * @author ccottap
+ * @version 1.0
+ */
+package es.uma.lcc.caesium.dfopt.regression;
\ No newline at end of file
@@ -0,0 +1,13 @@
+package es.uma.lcc.caesium.dfopt.restart;
+
+/**
+ * Allocation of a cycle of the iterated method by a budget schedule
+ * @author ccottap
+ * @param method the index of the method (in the portfolio of the iterated method) that runs the cycle
+ * @param budget the maximum number of evaluations of the cycle (0 to use the configuration of the method)
+ * @param resume true if the cycle resumes the search from the solution of the previous cycle, 
+ * false if it starts where the restart policy indicates
+ * @version 1.0
+ */
+public record Allocation(int method, int budget, boolean resume) {
+}
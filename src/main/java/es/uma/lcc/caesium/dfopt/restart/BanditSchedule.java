@@ -0,0 +1,88 @@
+package es.uma.lcc.caesium.dfopt.restart;
+
+import es.uma.lcc.caesium.dfopt.base.EvaluatedSolution;
+
+/**
+ * Bandit schedule: the cycles are allocated among the methods of a portfolio with the UCB1 
+ * rule (Auer, Cesa-Bianchi and Fischer, 2002), each cycle using the budget in the configuration
+ * of its method. The reward of a cycle is the fraction of the previous cycles (of any method)
+ * whose result it improves, so that cycles are sent to the methods that reach better values 
+ * on the problem at hand. Each method is tried once before the rule is applied.
+ * @author ccottap
+ * @version 1.0
+ */
+public class BanditSchedule implements BudgetSchedule {
+	/**
+	 * number of methods
+	 */
+	private final int arms;
+	/**
+	 * exploration constant
+	 */
+	private final double exploration;
+	/**
+	 * number of cycles of each method
+	 */
+	private final int[] count;
+	/**
+	 * total reward of each method
+	 */
+	private final double[] reward;
+	/**
+	 * results of the previous cycles
+	 */
+	private final Ranking ranking;
+
+	/**
+	 * Creates the schedule
+	 * @param arms the number of methods in the portfolio
+	 * @param exploration the exploration constant
+	 */
+	public BanditSchedule(int arms, double exploration) {
+		this.arms = arms;
+		this.exploration = exploration;
+		count = new int[arms];
+		reward = new double[arms];
+		ranking = new Ranking();
+	}
+
+	@Override
+	public void newRun() {
+		for (int i=0; i<arms; i++) {
+			count[i] = 0;
+			reward[i] = 0;
+		}
+		ranking.clear();
+	}
+
+	@Override
+	public Allocation next(int remaining) {
+		int t = ranking.size();
+		int arm = 0;
+		double ucb = Double.NEGATIVE_INFINITY;
+		for (int i=0; i<arms; i++) {
+			if (count[i] == 0) {
+				arm = i;
+				break;
+			}
+			double u = reward[i]/count[i] + exploration*Math.sqrt(2.0*Math.log(t)/count[i]);
+			if (u > ucb) {
+				ucb = u;
+				arm = i;
+			}
+		}
+		return new Allocation(arm, 0, false);
+	}
+
+	@Override
+	public void update(Allocation allocation, EvaluatedSolution sol) {
+		int arm = allocation.method();
+		count[arm]++;
+		reward[arm] += 1.0 - ranking.add(sol.value());
+	}
+
+	@Override
+	public String toString() {
+		return "bandit (" + arms + " methods, exploration " + exploration + ")";
+	}
+}
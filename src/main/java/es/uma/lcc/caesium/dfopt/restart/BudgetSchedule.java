@@ -0,0 +1,30 @@
+package es.uma.lcc.caesium.dfopt.restart;
+
+import es.uma.lcc.caesium.dfopt.base.EvaluatedSolution;
+
+/**
+ * Schedule that decides the budget (and the method) of each cycle of the iterated method,
+ * in the light of the results of the previous cycles
+ * @author ccottap
+ * @version 1.0
+ */
+public interface BudgetSchedule {
+	/**
+	 * Performs any actions that might be required at the start of a run
+	 */
+	void newRun();
+	
+	/**
+	 * Returns the allocation of the next cycle
+	 * @param remaining the number of evaluations left in the run
+	 * @return the allocation of the next cycle
+	 */
+	Allocation next(int remaining);
+	
+	/**
+	 * Informs the schedule of the result of a cycle
+	 * @param allocation the allocation of the cycle
+	 * @param sol the best solution found in the cycle
+	 */
+	void update(Allocation allocation, EvaluatedSolution sol);
+}
@@ -0,0 +1,40 @@
+package es.uma.lcc.caesium.dfopt.restart;
+
+import es.uma.lcc.caesium.dfopt.base.EvaluatedSolution;
+
+/**
+ * Fixed schedule: every cycle is run by the method of the iterated method, with the
+ * budget in its configuration
+ * @author ccottap
+ * @version 1.0
+ */
+public class FixedSchedule implements BudgetSchedule {
+	/**
+	 * the allocation of every cycle
+	 */
+	private static final Allocation FIXED = new Allocation(0, 0, false);
+
+	/**
+	 * Creates the schedule
+	 */
+	public FixedSchedule() {
+	}
+
+	@Override
+	public void newRun() {
+	}
+
+	@Override
+	public Allocation next(int remaining) {
+		return FIXED;
+	}
+
+	@Override
+	public void update(Allocation allocation, EvaluatedSolution sol) {
+	}
+
+	@Override
+	public String toString() {
+		return "fixed";
+	}
+}
@@ -0,0 +1,57 @@
+package es.uma.lcc.caesium.dfopt.restart;
+
+import es.uma.lcc.caesium.dfopt.base.EvaluatedSolution;
+
+/**
+ * Increasing schedule, in the spirit of IPOP-CMA-ES (Auger and Hansen, 2005): the budget of 
+ * each restart is that of the previous one multiplied by a factor, so that short cycles 
+ * explore the problem first, and later cycles can afford a long search if needed
+ * @author ccottap
+ * @version 1.0
+ */
+public class IncreasingSchedule implements BudgetSchedule {
+	/**
+	 * budget of the first cycle
+	 */
+	private final int base;
+	/**
+	 * factor of increase of the budget
+	 */
+	private final double factor;
+	/**
+	 * budget of the next cycle
+	 */
+	private double budget;
+
+	/**
+	 * Creates the schedule
+	 * @param base the budget of the first cycle
+	 * @param factor the factor of increase of the budget
+	 */
+	public IncreasingSchedule(int base, double factor) {
+		this.base = base;
+		this.factor = factor;
+		budget = base;
+	}
+
+	@Override
+	public void newRun() {
+		budget = base;
+	}
+
+	@Override
+	public Allocation next(int remaining) {
+		int b = (int)Math.min(budget, remaining);
+		budget *= factor;
+		return new Allocation(0, Math.max(b, 1), false);
+	}
+
+	@Override
+	public void update(Allocation allocation, EvaluatedSolution sol) {
+	}
+
+	@Override
+	public String toString() {
+		return "ipop (factor " + factor + ")";
+	}
+}
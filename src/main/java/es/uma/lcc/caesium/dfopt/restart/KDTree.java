@@ -0,0 +1,181 @@
+package es.uma.lcc.caesium.dfopt.restart;
+
+import java.util.Arrays;
+
+/**
+ * k-d tree of valued points in the unit hypercube, answering whether there is a point with 
+ * a lower value than a given one within a certain distance of a query point. Points are 
+ * inserted in the order they arrive (without rebalancing), and each node stores the minimum 
+ * value in its subtree, so that subtrees with no better point are pruned.
+ * @author ccottap
+ * @version 1.0
+ */
+class KDTree {
+	/**
+	 * number of dimensions
+	 */
+	private final int n;
+	/**
+	 * number of points
+	 */
+	private int size;
+	/**
+	 * coordinates of the points (by rows)
+	 */
+	private double[] coords;
+	/**
+	 * values of the points
+	 */
+	private double[] values;
+	/**
+	 * minimum value in the subtree of each point
+	 */
+	private double[] min;
+	/**
+	 * left child of each point (-1 if none)
+	 */
+	private int[] left;
+	/**
+	 * right child of each point (-1 if none)
+	 */
+	private int[] right;
+
+	/**
+	 * Creates an empty tree
+	 * @param n the number of dimensions
+	 */
+	KDTree(int n) {
+		this.n = n;
+		int capacity = 64;
+		coords = new double[capacity*n];
+		values = new double[capacity];
+		min = new double[capacity];
+		left = new int[capacity];
+		right = new int[capacity];
+		size = 0;
+	}
+
+	/**
+	 * Removes all the points
+	 */
+	void clear() {
+		size = 0;
+	}
+
+	/**
+	 * Returns the number of points
+	 * @return the number of points
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Returns a coordinate of a point
+	 * @param i the index of the point (in order of insertion)
+	 * @param j the index of the coordinate
+	 * @return the {@code j}-th coordinate of the {@code i}-th point
+	 */
+	double get(int i, int j) {
+		return coords[i*n + j];
+	}
+
+	/**
+	 * Returns the value of a point
+	 * @param i the index of the point (in order of insertion)
+	 * @return the value of the {@code i}-th point
+	 */
+	double getValue(int i) {
+		return values[i];
+	}
+
+	/**
+	 * Inserts a point
+	 * @param u the point
+	 * @param value the value of the point
+	 * @return the index of the point
+	 */
+	int add(double[] u, double value) {
+		if (size == values.length) {
+			int capacity = 2*size;
+			coords = Arrays.copyOf(coords, capacity*n);
+			values = Arrays.copyOf(values, capacity);
+			min = Arrays.copyOf(min, capacity);
+			left = Arrays.copyOf(left, capacity);
+			right = Arrays.copyOf(right, capacity);
+		}
+		int p = size++;
+		System.arraycopy(u, 0, coords, p*n, n);
+		values[p] = value;
+		min[p] = value;
+		left[p] = -1;
+		right[p] = -1;
+		if (p > 0) {
+			int node = 0;
+			int axis = 0;
+			while (true) {
+				min[node] = Math.min(min[node], value);
+				if (u[axis] < coords[node*n + axis]) {
+					if (left[node] < 0) {
+						left[node] = p;
+						break;
+					}
+					node = left[node];
+				}
+				else {
+					if (right[node] < 0) {
+						right[node] = p;
+						break;
+					}
+					node = right[node];
+				}
+				axis = (axis + 1) % n;
+			}
+		}
+		return p;
+	}
+
+	/**
+	 * Checks whether there is a point with a lower value within a certain distance of a query point
+	 * @param u the query point
+	 * @param value the value of the query point
+	 * @param r the distance
+	 * @return true if some point in the tree has a value lower than {@code value} and is 
+	 * at distance {@code r} or less from {@code u}
+	 */
+	boolean hasBetter(double[] u, double value, double r) {
+		return (size > 0) && hasBetter(0, 0, u, value, r*r);
+	}
+
+	/**
+	 * Checks whether there is a point with a lower value within a certain distance of a query 
+	 * point in a subtree
+	 * @param node the root of the subtree (-1 if empty)
+	 * @param axis the axis splitting the subtree
+	 * @param u the query point
+	 * @param value the value of the query point
+	 * @param r2 the square of the distance
+	 * @return true if some point in the subtree has a value lower than {@code value} and is 
+	 * at distance {@code sqrt(r2)} or less from {@code u}
+	 */
+	private boolean hasBetter(int node, int axis, double[] u, double value, double r2) {
+		if ((node < 0) || (min[node] >= value)) {
+			return false;
+		}
+		if (values[node] < value) {
+			double d2 = 0;
+			for (int j=0; (j<n) && (d2 <= r2); j++) {
+				double d = u[j] - coords[node*n + j];
+				d2 += d*d;
+			}
+			if (d2 <= r2) {
+				return true;
+			}
+		}
+		double diff = u[axis] - coords[node*n + axis];
+		int next = (axis + 1) % n;
+		int near = (diff < 0) ? left[node] : right[node];
+		int far = (diff < 0) ? right[node] : left[node];
+		return hasBetter(near, next, u, value, r2) || ((diff*diff <= r2) && hasBetter(far, next, u, value, r2));
+	}
+}
@@ -0,0 +1,69 @@
+package es.uma.lcc.caesium.dfopt.restart;
+
+import es.uma.lcc.caesium.dfopt.base.EvaluatedSolution;
+
+/**
+ * Luby schedule (Luby, Sinclair and Zuckerman, 1993): the budget of the i-th cycle is the 
+ * base budget times the i-th term of the sequence 1, 1, 2, 1, 1, 2, 4, 1, 1, 2, 1, 1, 2, 4, 8, ...,
+ * which is within a logarithmic factor of the optimal restart schedule for any (unknown) 
+ * distribution of the time a cycle needs to succeed
+ * @author ccottap
+ * @version 1.0
+ */
+public class LubySchedule implements BudgetSchedule {
+	/**
+	 * base budget
+	 */
+	private final int base;
+	/**
+	 * index of the next cycle (from 1)
+	 */
+	private int cycle;
+
+	/**
+	 * Creates the schedule
+	 * @param base the base budget
+	 */
+	public LubySchedule(int base) {
+		this.base = base;
+		cycle = 1;
+	}
+
+	@Override
+	public void newRun() {
+		cycle = 1;
+	}
+
+	@Override
+	public Allocation next(int remaining) {
+		long b = Math.min((long)base * luby(cycle++), remaining);
+		return new Allocation(0, (int)Math.max(b, 1), false);
+	}
+
+	/**
+	 * Returns a term of the Luby sequence
+	 * @param i the index of the term (from 1)
+	 * @return the {@code i}-th term of the Luby sequence
+	 */
+	static long luby(int i) {
+		while (true) {
+			int k = 1;
+			while ((1L << k) - 1 < i) {
+				k++;
+			}
+			if ((1L << k) - 1 == i) {
+				return 1L << (k - 1);
+			}
+			i -= (int)((1L << (k - 1)) - 1);
+		}
+	}
+
+	@Override
+	public void update(Allocation allocation, EvaluatedSolution sol) {
+	}
+
+	@Override
+	public String toString() {
+		return "luby";
+	}
+}
@@ -0,0 +1,223 @@
+package es.uma.lcc.caesium.dfopt.restart;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+
+import es.uma.lcc.caesium.dfopt.base.DerivativeFreeObjectiveFunction;
+import es.uma.lcc.caesium.dfopt.base.EvaluatedSolution;
+import es.uma.lcc.caesium.dfopt.sampling.Sampler;
+
+/**
+ * Multi-level single linkage (Rinnooy Kan and Timmer, 1987). The search space is sampled 
+ * in iterations of N points, and the samples are archived along with the local optima found
+ * by the underlying method. After the k-th iteration, the best fraction (reduction) of the kN 
+ * samples are the candidate starting points, in increasing order of value: a candidate is 
+ * started only if it has not been started before, and there is no archived point (sample or
+ * local optimum) with a lower value within the critical distance 
+ * r<sub>k</sub> = &pi;<sup>-1/2</sup> (&Gamma;(1+n/2) &sigma; log(kN) / kN)<sup>1/n</sup>
+ * (in the domain scaled to the unit hypercube). The check is done when the candidate is 
+ * about to be started, so local optima found meanwhile are taken into account. A new iteration 
+ * is sampled (and evaluated as a batch) when no candidate is left. 
+ * <p>
+ * The archive is a k-d tree, so that checking a candidate does not require scanning all
+ * the archived points. 
+ * @author ccottap
+ * @version 1.0
+ */
+public class MLSL implements RestartPolicy {
+	/**
+	 * the objective function
+	 */
+	private DerivativeFreeObjectiveFunction obj;
+	/**
+	 * number of variables
+	 */
+	private int n;
+	/**
+	 * number of samples per iteration
+	 */
+	private int samples;
+	/**
+	 * fraction of the samples considered as starting points
+	 */
+	private double reduction;
+	/**
+	 * parameter of the critical distance
+	 */
+	private double sigma;
+	/**
+	 * logarithm of &Gamma;(1+n/2)
+	 */
+	private double logGamma;
+	/**
+	 * sampler of the search space
+	 */
+	private Sampler sampler;
+	/**
+	 * archive of samples and local optima (scaled to the unit hypercube)
+	 */
+	private KDTree archive;
+	/**
+	 * archived points (unscaled, indexed as in the archive)
+	 */
+	private List<List<Double>> points;
+	/**
+	 * indices of the samples in the archive, sorted by value
+	 */
+	private List<Integer> sampled;
+	/**
+	 * samples already started
+	 */
+	private BitSet started;
+	/**
+	 * candidate starting points of the current iteration
+	 */
+	private Deque<Integer> candidates;
+	/**
+	 * current critical distance
+	 */
+	private double radius;
+	/**
+	 * number of evaluations in the last call to {@link #next(int)}
+	 */
+	private int evals;
+	/**
+	 * best sample in the current run
+	 */
+	private EvaluatedSolution best;
+
+
+	/**
+	 * Creates the policy
+	 * @param obj the objective function
+	 * @param sampler the sampler of the search space
+	 * @param samples the number of samples per iteration
+	 * @param reduction the fraction of the samples considered as starting points
+	 * @param sigma the parameter of the critical distance
+	 */
+	public MLSL(DerivativeFreeObjectiveFunction obj, Sampler sampler, int samples, double reduction, double sigma) {
+		this.obj = obj;
+		this.sampler = sampler;
+		this.samples = samples;
+		this.reduction = reduction;
+		this.sigma = sigma;
+		n = obj.getNumVariables();
+		// Gamma(1+n/2) = (n/2)! for even n, and sqrt(pi) (1/2)(3/2)...(n/2) for odd n
+		logGamma = ((n % 2) == 0) ? 0.0 : 0.5*Math.log(Math.PI);
+		for (int i=n; i>0; i-=2) {
+			logGamma += Math.log(i/2.0);
+		}
+		archive = new KDTree(n);
+		points = new ArrayList<List<Double>>();
+		sampled = new ArrayList<Integer>();
+		started = new BitSet();
+		candidates = new ArrayDeque<Integer>();
+	}
+
+	@Override
+	public void newRun(long seed) {
+		sampler.setSeed(seed);
+		archive.clear();
+		points.clear();
+		sampled.clear();
+		started.clear();
+		candidates.clear();
+		best = null;
+		evals = 0;
+	}
+
+	@Override
+	public EvaluatedSolution next(int budget) {
+		evals = 0;
+		double[] u = new double[n];
+		while (true) {
+			while (!candidates.isEmpty()) {
+				int i = candidates.poll();
+				for (int j=0; j<n; j++) {
+					u[j] = archive.get(i, j);
+				}
+				if (!archive.hasBetter(u, archive.getValue(i), radius)) {
+					started.set(i);
+					return new EvaluatedSolution(points.get(i), archive.getValue(i));
+				}
+			}
+			if (evals >= budget) {
+				return null;
+			}
+			sample(Math.min(samples, budget - evals));
+		}
+	}
+
+	/**
+	 * Samples and evaluates a new iteration of points, and determines the candidate starting points
+	 * @param k the number of points
+	 */
+	private void sample(int k) {
+		List<List<Double>> batch = new ArrayList<List<Double>>(k);
+		for (int i=0; i<k; i++) {
+			batch.add(sampler.next(obj));
+		}
+		int before = obj.getNumEvals();
+		double[] values = obj.evaluateAll(batch);
+		evals += obj.getNumEvals() - before;
+
+		for (int i=0; i<k; i++) {
+			List<Double> p = batch.get(i);
+			sampled.add(archive.add(scale(p), values[i]));
+			points.add(p);
+			if ((best == null) || (values[i] < best.value())) {
+				best = new EvaluatedSolution(p, values[i]);
+			}
+		}
+		sampled.sort(Comparator.comparingDouble(archive::getValue));
+
+		int m = sampled.size();
+		radius = Math.exp((logGamma + Math.log(sigma) + Math.log(Math.log(m)) - Math.log(m))/n - 0.5*Math.log(Math.PI));
+		int reduced = (int)Math.ceil(reduction * m);
+		for (int i=0; i<reduced; i++) {
+			int s = sampled.get(i);
+			if (!started.get(s)) {
+				candidates.add(s);
+			}
+		}
+	}
+
+	/**
+	 * Scales a point of the domain to the unit hypercube
+	 * @param p the point
+	 * @return the scaled point
+	 */
+	private double[] scale(List<Double> p) {
+		double[] u = new double[n];
+		for (int j=0; j<n; j++) {
+			double lo = obj.getMinValue(j);
+			u[j] = (p.get(j) - lo) / (obj.getMaxValue(j) - lo);
+		}
+		return u;
+	}
+
+	@Override
+	public void localOptimum(EvaluatedSolution sol) {
+		archive.add(scale(sol.point()), sol.value());
+		points.add(sol.point());
+	}
+
+	@Override
+	public int getNumEvals() {
+		return evals;
+	}
+
+	@Override
+	public EvaluatedSolution getBest() {
+		return best;
+	}
+
+	@Override
+	public String toString() {
+		return "MLSL (" + samples + " samples, reduction " + reduction + ", sigma " + sigma + ")";
+	}
+}
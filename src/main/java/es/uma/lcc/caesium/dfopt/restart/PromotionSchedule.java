@@ -0,0 +1,85 @@
+package es.uma.lcc.caesium.dfopt.restart;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import es.uma.lcc.caesium.dfopt.base.EvaluatedSolution;
+
+/**
+ * Promote-the-promising schedule, akin to successive halving: every restart is first run 
+ * with the base budget (rung 0). If its result ranks within the best fraction (promotion) of
+ * the results obtained at its rung, it is promoted: the next cycle resumes the search from 
+ * that result with the budget multiplied by a factor (rung 1), and so on. Otherwise, the next 
+ * cycle is a new restart. Promotions at a rung require at least 1/promotion results at it, 
+ * so that the first restarts are not promoted for lack of competitors.
+ * @author ccottap
+ * @version 1.0
+ */
+public class PromotionSchedule implements BudgetSchedule {
+	/**
+	 * budget of the restarts
+	 */
+	private final int base;
+	/**
+	 * factor of increase of the budget at each promotion
+	 */
+	private final double factor;
+	/**
+	 * fraction of the results at a rung that are promoted
+	 */
+	private final double promotion;
+	/**
+	 * results at each rung
+	 */
+	private final List<Ranking> rungs;
+	/**
+	 * rung of the next cycle
+	 */
+	private int rung;
+
+	/**
+	 * Creates the schedule
+	 * @param base the budget of the restarts
+	 * @param factor the factor of increase of the budget at each promotion
+	 * @param promotion the fraction of the results at a rung that are promoted
+	 */
+	public PromotionSchedule(int base, double factor, double promotion) {
+		this.base = base;
+		this.factor = factor;
+		this.promotion = promotion;
+		rungs = new ArrayList<Ranking>();
+		rung = 0;
+	}
+
+	@Override
+	public void newRun() {
+		rungs.clear();
+		rung = 0;
+	}
+
+	@Override
+	public Allocation next(int remaining) {
+		double b = Math.min(base * Math.pow(factor, rung), remaining);
+		return new Allocation(0, Math.max((int)b, 1), rung > 0);
+	}
+
+	@Override
+	public void update(Allocation allocation, EvaluatedSolution sol) {
+		if (rungs.size() == rung) {
+			rungs.add(new Ranking());
+		}
+		Ranking ranking = rungs.get(rung);
+		double rank = ranking.add(sol.value());
+		if ((ranking.size() * promotion >= 1) && (rank < promotion)) {
+			rung++;
+		}
+		else {
+			rung = 0;
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "promotion (factor " + factor + ", promotion " + promotion + ")";
+	}
+}
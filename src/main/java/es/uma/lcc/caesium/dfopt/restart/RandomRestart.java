@@ -0,0 +1,46 @@
+package es.uma.lcc.caesium.dfopt.restart;
+
+import es.uma.lcc.caesium.dfopt.base.EvaluatedSolution;
+
+/**
+ * Random restarts: every cycle of the underlying method starts from a point of its own 
+ * choice (a random point for stochastic methods)
+ * @author ccottap
+ * @version 1.0
+ */
+public class RandomRestart implements RestartPolicy {
+	/**
+	 * the starting point (chosen by the underlying method)
+	 */
+	private static final EvaluatedSolution ANY = new EvaluatedSolution(null, Double.POSITIVE_INFINITY);
+
+	/**
+	 * Creates the policy
+	 */
+	public RandomRestart() {
+	}
+
+	@Override
+	public void newRun(long seed) {
+	}
+
+	@Override
+	public EvaluatedSolution next(int budget) {
+		return ANY;
+	}
+
+	@Override
+	public void localOptimum(EvaluatedSolution sol) {
+	}
+
+	@Override
+	public int getNumEvals() {
+		return 0;
+	}
+
+	@Override
+	public EvaluatedSolution getBest() {
+		return null;
+	}
+
+}
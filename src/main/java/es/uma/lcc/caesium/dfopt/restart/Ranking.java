@@ -0,0 +1,51 @@
+package es.uma.lcc.caesium.dfopt.restart;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sorted collection of the values obtained by cycles, used to rank the result of a new cycle
+ * @author ccottap
+ * @version 1.0
+ */
+class Ranking {
+	/**
+	 * values, in increasing order
+	 */
+	private final List<Double> values = new ArrayList<Double>();
+
+	/**
+	 * Removes all the values
+	 */
+	void clear() {
+		values.clear();
+	}
+
+	/**
+	 * Returns the number of values
+	 * @return the number of values
+	 */
+	int size() {
+		return values.size();
+	}
+
+	/**
+	 * Adds a value and returns its rank
+	 * @param v the value
+	 * @return the fraction of values (including {@code v}) strictly lower than {@code v}
+	 */
+	double add(double v) {
+		int lo = 0, hi = values.size();
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			if (values.get(mid) < v) {
+				lo = mid + 1;
+			}
+			else {
+				hi = mid;
+			}
+		}
+		values.add(lo, v);
+		return (double)lo / values.size();
+	}
+}
@@ -0,0 +1,315 @@
+package es.uma.lcc.caesium.dfopt.restart;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.github.cliftonlabs.json_simple.JsonArray;
+import com.github.cliftonlabs.json_simple.JsonObject;
+
+/**
+ * Configuration of the restart policy and of the budget schedule of the iterated method
+ * @author ccottap
+ * @version 1.1
+ */
+public class RestartConfiguration {
+	/**
+	 * default restart policy
+	 */
+	private final static String POLICY = "random";
+	/**
+	 * default number of samples per iteration of MLSL (0 = 10n)
+	 */
+	private final static int SAMPLES = 0;
+	/**
+	 * default fraction of the samples considered as starting points in MLSL
+	 */
+	private final static double REDUCTION = 0.2;
+	/**
+	 * default parameter of the critical distance of MLSL
+	 */
+	private final static double SIGMA = 4.0;
+	/**
+	 * default budget schedule
+	 */
+	private final static String SCHEDULE = "fixed";
+	/**
+	 * default factor of increase of the budget (ipop and promotion schedules)
+	 */
+	private final static double FACTOR = 2.0;
+	/**
+	 * default fraction of the results promoted (promotion schedule)
+	 */
+	private final static double PROMOTION = 0.25;
+	/**
+	 * default exploration constant (bandit schedule)
+	 */
+	private final static double EXPLORATION = 1.0;
+	/**
+	 * restart policy (random or mlsl)
+	 */
+	private String policy;
+	/**
+	 * number of samples per iteration of MLSL (0 = 10n)
+	 */
+	private int samples;
+	/**
+	 * fraction of the samples considered as starting points in MLSL
+	 */
+	private double reduction;
+	/**
+	 * parameter of the critical distance of MLSL
+	 */
+	private double sigma;
+	/**
+	 * budget schedule (fixed, ipop, luby, bandit or promotion)
+	 */
+	private String schedule;
+	/**
+	 * factor of increase of the budget (ipop and promotion schedules)
+	 */
+	private double factor;
+	/**
+	 * fraction of the results promoted (promotion schedule)
+	 */
+	private double promotion;
+	/**
+	 * exploration constant (bandit schedule)
+	 */
+	private double exploration;
+	/**
+	 * configuration files of the methods added to the portfolio (bandit schedule)
+	 */
+	private List<String> portfolio;
+
+
+	/**
+	 * Constructor with default values
+	 */
+	public RestartConfiguration() {
+		policy = POLICY;
+		samples = SAMPLES;
+		reduction = REDUCTION;
+		sigma = SIGMA;
+		schedule = SCHEDULE;
+		factor = FACTOR;
+		promotion = PROMOTION;
+		exploration = EXPLORATION;
+		portfolio = new ArrayList<String>();
+	}
+
+	/**
+	 * Creates the configuration by reading from a JSON object
+	 * @param json a JSON object
+	 */
+	public RestartConfiguration(JsonObject json) {
+		this();
+		if (json.containsKey("policy")) {
+			setPolicy((String)json.get("policy"));
+		}
+		if (json.containsKey("samples")) {
+			setSamples(((BigDecimal)json.get("samples")).intValue());
+		}
+		if (json.containsKey("reduction")) {
+			setReduction(((BigDecimal)json.get("reduction")).doubleValue());
+		}
+		if (json.containsKey("sigma")) {
+			setSigma(((BigDecimal)json.get("sigma")).doubleValue());
+		}
+		if (json.containsKey("schedule")) {
+			setSchedule((String)json.get("schedule"));
+		}
+		if (json.containsKey("factor")) {
+			setFactor(((BigDecimal)json.get("factor")).doubleValue());
+		}
+		if (json.containsKey("promotion")) {
+			setPromotion(((BigDecimal)json.get("promotion")).doubleValue());
+		}
+		if (json.containsKey("exploration")) {
+			setExploration(((BigDecimal)json.get("exploration")).doubleValue());
+		}
+		if (json.containsKey("portfolio")) {
+			List<String> files = new ArrayList<String>();
+			for (Object file: (JsonArray)json.get("portfolio")) {
+				files.add((String)file);
+			}
+			setPortfolio(files);
+		}
+	}
+
+
+	/**
+	 * Returns the restart policy
+	 * @return the name of the restart policy
+	 */
+	public String getPolicy() {
+		return policy;
+	}
+
+	/**
+	 * Sets the restart policy
+	 * @param policy the name of the restart policy ({@code random} or {@code mlsl})
+	 */
+	public void setPolicy(String policy) {
+		this.policy = policy;
+	}
+
+	/**
+	 * Returns the number of samples per iteration of MLSL
+	 * @return the number of samples per iteration of MLSL (0 = 10n)
+	 */
+	public int getSamples() {
+		return samples;
+	}
+
+	/**
+	 * Sets the number of samples per iteration of MLSL
+	 * @param samples the number of samples per iteration of MLSL (0 = 10n)
+	 */
+	public void setSamples(int samples) {
+		assert samples >= 0;
+		this.samples = samples;
+	}
+
+	/**
+	 * Returns the fraction of the samples considered as starting points in MLSL
+	 * @return the fraction of the samples considered as starting points in MLSL
+	 */
+	public double getReduction() {
+		return reduction;
+	}
+
+	/**
+	 * Sets the fraction of the samples considered as starting points in MLSL
+	 * @param reduction the fraction of the samples considered as starting points in MLSL
+	 */
+	public void setReduction(double reduction) {
+		assert (reduction > 0) && (reduction <= 1);
+		this.reduction = reduction;
+	}
+
+	/**
+	 * Returns the parameter of the critical distance of MLSL
+	 * @return the parameter of the critical distance of MLSL
+	 */
+	public double getSigma() {
+		return sigma;
+	}
+
+	/**
+	 * Sets the parameter of the critical distance of MLSL
+	 * @param sigma the parameter of the critical distance of MLSL
+	 */
+	public void setSigma(double sigma) {
+		assert sigma > 0;
+		this.sigma = sigma;
+	}
+
+	/**
+	 * Returns the budget schedule
+	 * @return the name of the budget schedule
+	 */
+	public String getSchedule() {
+		return schedule;
+	}
+
+	/**
+	 * Sets the budget schedule
+	 * @param schedule the name of the budget schedule ({@code fixed}, {@code ipop}, 
+	 * {@code luby}, {@code bandit} or {@code promotion})
+	 */
+	public void setSchedule(String schedule) {
+		this.schedule = schedule;
+	}
+
+	/**
+	 * Returns the factor of increase of the budget (ipop and promotion schedules)
+	 * @return the factor of increase of the budget
+	 */
+	public double getFactor() {
+		return factor;
+	}
+
+	/**
+	 * Sets the factor of increase of the budget (ipop and promotion schedules)
+	 * @param factor the factor of increase of the budget
+	 */
+	public void setFactor(double factor) {
+		assert factor >= 1;
+		this.factor = factor;
+	}
+
+	/**
+	 * Returns the fraction of the results promoted (promotion schedule)
+	 * @return the fraction of the results promoted
+	 */
+	public double getPromotion() {
+		return promotion;
+	}
+
+	/**
+	 * Sets the fraction of the results promoted (promotion schedule)
+	 * @param promotion the fraction of the results promoted
+	 */
+	public void setPromotion(double promotion) {
+		assert (promotion > 0) && (promotion <= 1);
+		this.promotion = promotion;
+	}
+
+	/**
+	 * Returns the exploration constant (bandit schedule)
+	 * @return the exploration constant
+	 */
+	public double getExploration() {
+		return exploration;
+	}
+
+	/**
+	 * Sets the exploration constant (bandit schedule)
+	 * @param exploration the exploration constant
+	 */
+	public void setExploration(double exploration) {
+		assert exploration >= 0;
+		this.exploration = exploration;
+	}
+
+	/**
+	 * Returns the configuration files of the methods added to the portfolio (bandit schedule)
+	 * @return the configuration files of the methods added to the portfolio
+	 */
+	public List<String> getPortfolio() {
+		return portfolio;
+	}
+
+	/**
+	 * Sets the configuration files of the methods added to the portfolio (bandit schedule)
+	 * @param portfolio the configuration files of the methods added to the portfolio
+	 */
+	public void setPortfolio(List<String> portfolio) {
+		this.portfolio = portfolio;
+	}
+
+
+	@Override
+	public String toString() {
+		String str = policy;
+		if (policy.equalsIgnoreCase("mlsl")) {
+			str += " (samples " + samples + ", reduction " + reduction + ", sigma " + sigma + ")";
+		}
+		switch (schedule.toLowerCase()) {
+		case "ipop":
+			str += ", ipop schedule (factor " + factor + ")";
+			break;
+		case "luby":
+			str += ", luby schedule";
+			break;
+		case "bandit":
+			str += ", bandit schedule (portfolio " + portfolio + ", exploration " + exploration + ")";
+			break;
+		case "promotion":
+			str += ", promotion schedule (factor " + factor + ", promotion " + promotion + ")";
+			break;
+		}
+		return str;
+	}
+}
@@ -0,0 +1,45 @@
+package es.uma.lcc.caesium.dfopt.restart;
+
+import es.uma.lcc.caesium.dfopt.base.EvaluatedSolution;
+
+/**
+ * Policy that decides where the iterated method starts each cycle of the underlying method.
+ * A policy may evaluate points of its own (e.g., samples of the search space) to take this 
+ * decision; these evaluations are charged to the budget of the iterated method.
+ * @author ccottap
+ * @version 1.0
+ */
+public interface RestartPolicy {
+	/**
+	 * Performs any actions that might be required at the start of a run
+	 * @param seed the seed of the run
+	 */
+	void newRun(long seed);
+	
+	/**
+	 * Returns the starting point of the next cycle 
+	 * @param budget the number of evaluations left in the run
+	 * @return the starting point (whose point is null if the underlying method 
+	 * must start from a point of its own choice), or null if the budget was exhausted
+	 * before a starting point was found
+	 */
+	EvaluatedSolution next(int budget);
+	
+	/**
+	 * Informs the policy of the result of a cycle of the underlying method
+	 * @param sol the best solution found in the cycle
+	 */
+	void localOptimum(EvaluatedSolution sol);
+	
+	/**
+	 * Returns the number of evaluations performed by the policy in the last call to {@link #next(int)}
+	 * @return the number of evaluations performed by the policy in the last call to {@link #next(int)}
+	 */
+	int getNumEvals();
+	
+	/**
+	 * Returns the best point evaluated by the policy in the current run
+	 * @return the best point evaluated by the policy in the current run (null if none)
+	 */
+	EvaluatedSolution getBest();
+}
@@ -0,0 +1,82 @@
+package es.uma.lcc.caesium.dfopt.restart;
+
+import es.uma.lcc.caesium.dfopt.base.DerivativeFreeConfiguration;
+import es.uma.lcc.caesium.dfopt.base.DerivativeFreeObjectiveFunction;
+import es.uma.lcc.caesium.dfopt.sampling.SamplerFactory;
+
+/**
+ * Factory class for restart policies and budget schedules
+ * @author ccottap
+ * @version 1.1
+ */
+public class RestartPolicyFactory {
+
+	/**
+	 * Creates the factory
+	 */
+	public RestartPolicyFactory() {
+	}
+	
+	/**
+	 * Creates the restart policy indicated in the configuration of a method ({@code random}
+	 * or {@code mlsl}, the latter drawing its samples with the sampler of the configuration)
+	 * @param conf the configuration of the method
+	 * @param obj the objective function
+	 * @return the restart policy
+	 */
+	public RestartPolicy create(DerivativeFreeConfiguration conf, DerivativeFreeObjectiveFunction obj) {
+		RestartPolicy policy = null;
+		RestartConfiguration rconf = conf.getRestart();
+		String name = rconf.getPolicy();
+		switch (name.toLowerCase()) {
+		case "random":
+			policy = new RandomRestart();
+			break;
+		case "mlsl":
+			int n = obj.getNumVariables();
+			int samples = (rconf.getSamples() > 0) ? rconf.getSamples() : 10*n;
+			policy = new MLSL(obj, new SamplerFactory().create(conf, n, samples), samples, rconf.getReduction(), rconf.getSigma());
+			break;
+		default:
+			System.out.println("Unknown restart policy " + name);
+			System.exit(1);
+		}
+		return policy;
+	}
+	
+	/**
+	 * Creates the budget schedule indicated in the configuration of a method ({@code fixed}, 
+	 * {@code ipop}, {@code luby}, {@code bandit} or {@code promotion}). The base budget of the 
+	 * schedules is the maximum number of evaluations of a cycle in the configuration.
+	 * @param conf the configuration of the method
+	 * @param methods the number of methods in the portfolio of the iterated method
+	 * @return the budget schedule
+	 */
+	public BudgetSchedule createSchedule(DerivativeFreeConfiguration conf, int methods) {
+		BudgetSchedule schedule = null;
+		RestartConfiguration rconf = conf.getRestart();
+		String name = rconf.getSchedule();
+		switch (name.toLowerCase()) {
+		case "fixed":
+			schedule = new FixedSchedule();
+			break;
+		case "ipop":
+			schedule = new IncreasingSchedule(conf.getMaxevalsCycle(), rconf.getFactor());
+			break;
+		case "luby":
+			schedule = new LubySchedule(conf.getMaxevalsCycle());
+			break;
+		case "bandit":
+			schedule = new BanditSchedule(methods, rconf.getExploration());
+			break;
+		case "promotion":
+			schedule = new PromotionSchedule(conf.getMaxevalsCycle(), rconf.getFactor(), rconf.getPromotion());
+			break;
+		default:
+			System.out.println("Unknown budget schedule " + name);
+			System.exit(1);
+		}
+		return schedule;
+	}
+
+}
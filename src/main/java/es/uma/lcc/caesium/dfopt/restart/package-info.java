@@ -0,0 +1,7 @@
+/**
+ * Restart policies (random restarts and multi-level single linkage) and budget schedules (fixed,
+ * IPOP, Luby, bandit and promote-the-promising) of the iterated derivative-free method
+ * @author ccottap
+ * @version 1.1
+ */
+package es.uma.lcc.caesium.dfopt.restart;
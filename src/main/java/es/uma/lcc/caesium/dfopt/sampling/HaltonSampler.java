@@ -0,0 +1,125 @@
+package es.uma.lcc.caesium.dfopt.sampling;
+
+import java.util.Random;
+
+/**
+ * Sampler based on the Halton sequence, optionally scrambled. In the scrambled sequence, 
+ * the j-th digit of the radical inverse in base b is multiplied by a random factor in 
+ * [1, b-1] modulo b (linear digit scrambling), which breaks the correlations between 
+ * dimensions of the plain sequence in high dimension.
+ * <p>
+ * Points are drawn in blocks: setting the seed s skips ahead to the s-th block of the 
+ * sequence, so that consecutive cycles of a method (whose seeds are consecutive) take
+ * consecutive points of the sequence, and restarts cover the domain evenly instead of 
+ * landing in already explored regions.
+ * @author ccottap
+ * @version 1.0
+ */
+public class HaltonSampler implements Sampler {
+	/**
+	 * the bases (first n primes)
+	 */
+	private final int[] primes;
+	/**
+	 * the scrambling factors
+	 */
+	private final int[] factors;
+	/**
+	 * number of points per block
+	 */
+	private final int block;
+	/**
+	 * index of the next point
+	 */
+	private long index;
+	
+	/**
+	 * Creates the plain (unscrambled) sequence, with blocks of one point
+	 * @param n the dimension
+	 */
+	public HaltonSampler(int n) {
+		primes = primes(n);
+		factors = new int[n];
+		for (int j=0; j<n; j++) {
+			factors[j] = 1;
+		}
+		block = 1;
+		index = 1;
+	}
+	
+	/**
+	 * Creates the scrambled sequence
+	 * @param n the dimension
+	 * @param block the number of points per block
+	 * @param seed the seed of the scrambling factors
+	 */
+	public HaltonSampler(int n, int block, long seed) {
+		assert block > 0;
+		primes = primes(n);
+		factors = new int[n];
+		Random rng = new Random(seed);
+		for (int j=0; j<n; j++) {
+			factors[j] = 1 + rng.nextInt(primes[j] - 1);
+		}
+		this.block = block;
+		index = 1;
+	}
+	
+	/**
+	 * Computes the first primes
+	 * @param n the number of primes
+	 * @return the first n primes
+	 */
+	private static int[] primes(int n) {
+		int[] primes = new int[n];
+		int k = 0;
+		for (int p=2; k<n; p++) {
+			boolean prime = true;
+			for (int i=0; (i<k) && (primes[i]*primes[i] <= p); i++) {
+				if (p % primes[i] == 0) {
+					prime = false;
+					break;
+				}
+			}
+			if (prime) {
+				primes[k++] = p;
+			}
+		}
+		return primes;
+	}
+
+	@Override
+	public void setSeed(long seed) {
+		// the origin (index 0) is skipped
+		index = 1 + Math.floorMod(seed, Long.MAX_VALUE / block) * block;
+	}
+
+	@Override
+	public void next(double[] u) {
+		get(index++, u);
+	}
+	
+	/**
+	 * Computes a point of the sequence
+	 * @param t the index of the point
+	 * @param u the point (output)
+	 */
+	public void get(long t, double[] u) {
+		for (int j=0; j<primes.length; j++) {
+			int b = primes[j];
+			int a = factors[j];
+			double f = 1.0;
+			double r = 0.0;
+			for (long i=t; i>0; i/=b) {
+				f /= b;
+				r += f * ((a * (i % b)) % b);
+			}
+			u[j] = r;
+		}
+	}
+	
+	@Override
+	public String toString() {
+		return "halton";
+	}
+}
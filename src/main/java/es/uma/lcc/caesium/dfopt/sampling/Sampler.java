@@ -0,0 +1,46 @@
+package es.uma.lcc.caesium.dfopt.sampling;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import es.uma.lcc.caesium.dfopt.base.DerivativeFreeObjectiveFunction;
+
+/**
+ * Generator of points in the search space, used by the methods to draw their initial
+ * (and restart) points. The sequence of points is determined by the seed: methods set it 
+ * at the start of each cycle.
+ * @author ccottap
+ * @version 1.0
+ */
+public interface Sampler {
+	/**
+	 * Sets the seed of the sampler
+	 * @param seed the seed
+	 */
+	void setSeed(long seed);
+	
+	/**
+	 * Draws the next point in the unit hypercube
+	 * @param u the point (output), with coordinates in [0,1)
+	 */
+	void next(double[] u);
+	
+	/**
+	 * Draws the next point in the domain of an objective function
+	 * @param obj the objective function
+	 * @return a point in the domain
+	 */
+	default List<Double> next(DerivativeFreeObjectiveFunction obj) {
+		int n = obj.getNumVariables();
+		double[] u = new double[n];
+		next(u);
+		List<Double> p = new ArrayList<Double>(n);
+		for (int j=0; j<n; j++) {
+			double lo = obj.getMinValue(j);
+			double hi = obj.getMaxValue(j);
+			double v = u[j] * (hi - lo) + lo;
+			p.add((v < hi) ? v : Math.nextDown(hi));
+		}
+		return p;
+	}
+}
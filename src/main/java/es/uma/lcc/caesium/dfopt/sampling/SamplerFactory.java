@@ -0,0 +1,59 @@
+package es.uma.lcc.caesium.dfopt.sampling;
+
+import java.util.Random;
+
+import es.uma.lcc.caesium.dfopt.base.DerivativeFreeConfiguration;
+
+/**
+ * Factory class for samplers
+ * @author ccottap
+ * @version 1.1
+ */
+public class SamplerFactory {
+
+	/**
+	 * Creates the factory
+	 */
+	public SamplerFactory() {
+	}
+	
+	/**
+	 * Creates the sampler indicated in the configuration of a method ({@code uniform} or 
+	 * {@code halton}, the latter being scrambled with the seed of the configuration)
+	 * @param conf the configuration of the method
+	 * @param n the number of variables
+	 * @param block the number of points drawn by the method in each cycle
+	 * @return the sampler
+	 */
+	public Sampler create(DerivativeFreeConfiguration conf, int n, int block) {
+		return create(conf, n, block, new Random(1));
+	}
+	
+	/**
+	 * Creates the sampler indicated in the configuration of a method, as above. The uniform
+	 * sampler draws from the random number generator of the method, so that its points and
+	 * the random decisions of the method come from a single stream.
+	 * @param conf the configuration of the method
+	 * @param n the number of variables
+	 * @param block the number of points drawn by the method in each cycle
+	 * @param rng the random number generator of the method
+	 * @return the sampler
+	 */
+	public Sampler create(DerivativeFreeConfiguration conf, int n, int block, Random rng) {
+		Sampler sampler = null;
+		String name = conf.getSampler();
+		switch (name.toLowerCase()) {
+		case "uniform":
+			sampler = new UniformSampler(rng);
+			break;
+		case "halton":
+			sampler = new HaltonSampler(n, block, conf.getSeed());
+			break;
+		default:
+			System.out.println("Unknown sampler " + name);
+			System.exit(1);
+		}
+		return sampler;
+	}
+
+}
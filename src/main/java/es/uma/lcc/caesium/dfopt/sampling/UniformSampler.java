@@ -0,0 +1,62 @@
+package es.uma.lcc.caesium.dfopt.sampling;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import es.uma.lcc.caesium.dfopt.base.DerivativeFreeObjectiveFunction;
+
+/**
+ * Sampler of independent, uniformly distributed points
+ * @author ccottap
+ * @version 1.1
+ */
+public class UniformSampler implements Sampler {
+	/**
+	 * random number generator
+	 */
+	private Random rng;
+	
+	/**
+	 * Creates the sampler
+	 */
+	public UniformSampler() {
+		this(new Random(1));
+	}
+	
+	/**
+	 * Creates the sampler on a given random number generator (setting the seed of the
+	 * sampler sets the seed of the generator)
+	 * @param rng the random number generator
+	 */
+	public UniformSampler(Random rng) {
+		this.rng = rng;
+	}
+
+	@Override
+	public void setSeed(long seed) {
+		rng.setSeed(seed);
+	}
+
+	@Override
+	public void next(double[] u) {
+		for (int j=0; j<u.length; j++) {
+			u[j] = rng.nextDouble();
+		}
+	}
+	
+	@Override
+	public List<Double> next(DerivativeFreeObjectiveFunction obj) {
+		int n = obj.getNumVariables();
+		List<Double> p = new ArrayList<Double>(n);
+		for (int j=0; j<n; j++) {
+			p.add(rng.nextDouble(obj.getMinValue(j), obj.getMaxValue(j)));
+		}
+		return p;
+	}
+	
+	@Override
+	public String toString() {
+		return "uniform";
+	}
+}
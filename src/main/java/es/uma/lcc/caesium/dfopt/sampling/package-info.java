@@ -0,0 +1,6 @@
+/**
+ * Generators of points in the search space (uniform random and low-discrepancy sequences)
+ * @author ccottap
+ * @version 1.0
+ */
+package es.uma.lcc.caesium.dfopt.sampling;
\ No newline at end of file
@@ -8,13 +8,15 @@ import com.github.cliftonlabs.json_simple.JsonArray;
 import com.github.cliftonlabs.json_simple.JsonObject;
 
 import es.uma.lcc.caesium.dfopt.base.EvaluatedSolution;
+import es.uma.lcc.caesium.dfopt.monitor.EvaluationProfiler;
+import es.uma.lcc.caesium.dfopt.monitor.LatencyHistogram;
 
 
 
 /**
  * Class for storing the statistics of the functioning of an iterated derivative-free algorithm
  * @author ccottap
- * @version 1.0
+ * @version 1.1
  *
  */
 public class DerivativeFreeStatistics {
@@ -46,6 +48,14 @@ public class DerivativeFreeStatistics {
 	 * to measure computational times
 	 */
 	private List<Double> runtime;
+	/**
+	 * profiles of the evaluations in all runs (null entries for runs not profiled)
+	 */
+	private List<ProfileEntry> profiles;
+	/**
+	 * profile of the evaluations in the current run
+	 */
+	private ProfileEntry currentProfile;
 	/**
 	 * time at the beginning of a run
 	 */
@@ -72,6 +82,8 @@ public class DerivativeFreeStatistics {
 		currentSols = null;
 		runActive = false;	
 		runtime = new LinkedList<Double>();
+		profiles = new ArrayList<ProfileEntry>();
+		currentProfile = null;
 	}
 	
 	/**
@@ -82,6 +94,7 @@ public class DerivativeFreeStatistics {
 			closeRun();
 		current = new ArrayList<StatsEntry> ();
 		currentSols = new ArrayList<EvaluatedSolutionRecord>();	
+		currentProfile = null;
 		runActive = true;
 		tic = System.nanoTime();
 	}
@@ -97,6 +110,7 @@ public class DerivativeFreeStatistics {
 			sols.add(currentSols);
 			toc = System.nanoTime();
 			runtime.add((toc-tic)/1e9);
+			profiles.add(currentProfile);
 		}
 		current = null;
 		currentSols = null;
@@ -119,6 +133,16 @@ public class DerivativeFreeStatistics {
 	}
 
 	
+	/**
+	 * Takes the profile of the evaluations in the current run 
+	 * @param profiler the profiler of the objective function 
+	 */
+	public void takeProfile(EvaluationProfiler profiler) {
+		LatencyHistogram h = profiler.getHistogram();
+		currentProfile = new ProfileEntry(profiler.getEvaluations(), profiler.getObjectiveTime(), h.getMean()/1e9, 
+				h.getPercentile(50)/1e9, h.getPercentile(90)/1e9, h.getPercentile(99)/1e9, h.getMax()/1e9);
+	}
+	
 	
 	/**
 	 * Returns the data of a certain run in JSON format
@@ -132,6 +156,31 @@ public class DerivativeFreeStatistics {
 		JsonArray jsondata = new JsonArray();
 		jsondata.add(rundataTotoJSON(i));
 		json.put("rundata", jsondata);
+		ProfileEntry profile = profiles.get(i);
+		if (profile != null) {
+			json.put("profile", profileToJSON(i));
+		}
+		return json;
+	}
+	
+	/**
+	 * Returns the profile of the evaluations in a certain run in JSON format
+	 * @param i the run index
+	 * @return a JSON object with the profile of the i-th run
+	 */
+	private JsonObject profileToJSON(int i) {
+		ProfileEntry profile = profiles.get(i);
+		JsonObject json = new JsonObject();
+		json.put("evals", profile.evals());
+		json.put("objtime", profile.objtime());
+		json.put("overhead", runtime.get(i) - profile.objtime());
+		JsonObject jsonlatency = new JsonObject();
+		jsonlatency.put("mean", profile.mean());
+		jsonlatency.put("p50", profile.p50());
+		jsonlatency.put("p90", profile.p90());
+		jsonlatency.put("p99", profile.p99());
+		jsonlatency.put("max", profile.max());
+		json.put("latency", jsonlatency);
 		return json;
 	}
 	
@@ -201,6 +250,25 @@ public class DerivativeFreeStatistics {
 		return runtime.get(i);
 	}
 	
+	/**
+	 * Returns the number of evaluations of a certain run
+	 * @param i the index of the run
+	 * @return the number of evaluations of the i-th run
+	 */
+	public long getEvals(int i) {
+		List<StatsEntry> data = stats.get(i);
+		return data.get(data.size()-1).evals();
+	}
+	
+	/**
+	 * Returns the profile of the evaluations in a certain run
+	 * @param i the index of the run
+	 * @return the profile of the evaluations in the i-th run (null if the run was not profiled)
+	 */
+	public ProfileEntry getProfile(int i) {
+		return profiles.get(i);
+	}
+	
 	/**
 	 * Returns the best solution found so far in the current run
 	 * @return the best solution found so far in the current run
@@ -0,0 +1,17 @@
+package es.uma.lcc.caesium.dfopt.statistics;
+
+
+/**
+ * Summary of the profile of the evaluations in a run. Times are expressed in seconds.
+ * @author ccottap
+ * @param evals number of evaluations
+ * @param objtime time spent inside the objective function
+ * @param mean mean latency of evaluations
+ * @param p50 median latency of evaluations
+ * @param p90 90th percentile of the latency of evaluations
+ * @param p99 99th percentile of the latency of evaluations
+ * @param max maximum latency of evaluations
+ * @version 1.0
+ */
+public record ProfileEntry(long evals, double objtime, double mean, double p50, double p90, double p99, double max) {
+}
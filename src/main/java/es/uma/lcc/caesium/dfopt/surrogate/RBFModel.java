@@ -0,0 +1,392 @@
+package es.uma.lcc.caesium.dfopt.surrogate;
+
+/**
+ * Radial basis function interpolant with cubic kernel and linear tail,
+ * s(x) = sum_i lambda_i ||x - x_i||<sup>3</sup> + c<sub>0</sub> + c'x,
+ * over a bounded archive of points. When the archive is full, the oldest point is removed.
+ * The inverse of the interpolation system is kept up to date: adding a point is a bordering
+ * (rank-one) update, and removing a point a Schur-complement downdate, so that each change
+ * of the archive takes O(N<sup>2</sup>) operations (N being the capacity of the archive plus
+ * the number of variables). The inverse is recomputed from scratch every N changes to
+ * prevent the accumulation of rounding errors.
+ * <p>
+ * Points are assumed to be scaled to a unit box. The interpolant is available once the
+ * archive contains n+2 points. If the system becomes singular (e.g., when the archived points
+ * are clustered too tightly), the inversion is retried every n+1 changes of the archive.
+ * @author ccottap
+ * @version 1.2
+ */
+public class RBFModel {
+	/**
+	 * relative threshold below which a pivot is considered zero
+	 */
+	private static final double EPSILON = 1e-12;
+	/**
+	 * number of variables
+	 */
+	private final int n;
+	/**
+	 * capacity of the archive
+	 */
+	private final int capacity;
+	/**
+	 * size of the polynomial tail
+	 */
+	private final int tail;
+	/**
+	 * stride of the inverse matrix
+	 */
+	private final int stride;
+	/**
+	 * archived points (capacity x n, by rows, oldest first)
+	 */
+	private final double[] points;
+	/**
+	 * values of the archived points
+	 */
+	private final double[] values;
+	/**
+	 * number of archived points
+	 */
+	private int count;
+	/**
+	 * inverse of the interpolation system (polynomial terms first, then points),
+	 * valid if ready is true
+	 */
+	private final double[] inv;
+	/**
+	 * coefficients of the interpolant (polynomial terms first, then points)
+	 */
+	private final double[] coef;
+	/**
+	 * whether the inverse is available
+	 */
+	private boolean ready;
+	/**
+	 * whether the coefficients must be recomputed
+	 */
+	private boolean dirty;
+	/**
+	 * number of changes since the last full inversion
+	 */
+	private int changes;
+	/**
+	 * work arrays
+	 */
+	private final double[] b, u;
+	/**
+	 * the last point removed to make room for a new one
+	 */
+	private final double[] evicted;
+
+	/**
+	 * Creates an empty model
+	 * @param n the number of variables
+	 * @param capacity the capacity of the archive (at least n+2)
+	 */
+	public RBFModel(int n, int capacity) {
+		assert capacity >= n + 2;
+		this.n = n;
+		this.capacity = capacity;
+		tail = n + 1;
+		stride = tail + capacity;
+		points = new double[capacity*n];
+		values = new double[capacity];
+		inv = new double[stride*stride];
+		coef = new double[stride];
+		b = new double[stride];
+		u = new double[stride];
+		evicted = new double[n];
+		clear();
+	}
+
+	/**
+	 * Empties the archive
+	 */
+	public void clear() {
+		count = 0;
+		ready = false;
+		dirty = true;
+		changes = 0;
+	}
+
+	/**
+	 * Returns the number of archived points
+	 * @return the number of archived points
+	 */
+	public int size() {
+		return count;
+	}
+
+	/**
+	 * Returns the capacity of the archive
+	 * @return the capacity of the archive
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Returns the value of an archived point
+	 * @param i the index of the point (0 is the oldest)
+	 * @return the value of the point
+	 */
+	public double getValue(int i) {
+		return values[i];
+	}
+
+	/**
+	 * Indicates whether the interpolant is available
+	 * @return true if the interpolant can be evaluated
+	 */
+	public boolean isReady() {
+		return ready;
+	}
+
+	/**
+	 * Adds a point to the archive (removing the oldest one if the archive is full).
+	 * Points too close to an archived one are ignored (and the oldest point is kept).
+	 * @param x the point (scaled to the unit box)
+	 * @param f its value
+	 */
+	public void add(double[] x, double f) {
+		boolean full = (count == capacity);
+		double old = values[0];
+		if (full) {
+			System.arraycopy(points, 0, evicted, 0, n);
+			remove();
+		}
+		if (!ready) {
+			System.arraycopy(x, 0, points, count*n, n);
+			values[count++] = f;
+			if ((++changes >= tail) && (count >= n + 2)) {
+				invert();
+			}
+			return;
+		}
+		// bordering: the new row/column of the system is b, with zero diagonal
+		int s = tail + count;
+		kernel(x, b);
+		double schur = 0, scale = 0;
+		for (int i=0; i<s; i++) {
+			double v = 0;
+			int row = i*stride;
+			for (int j=0; j<s; j++) {
+				v += inv[row + j] * b[j];
+			}
+			u[i] = v;
+			schur -= b[i]*v;
+			scale = Math.max(scale, Math.abs(b[i]*v));
+		}
+		if (Math.abs(schur) <= EPSILON * Math.max(scale, 1.0)) {
+			if (!full) {
+				return;
+			}
+			// puts back the oldest point (seldom happens, so the inverse is just recomputed)
+			System.arraycopy(points, 0, points, n, count*n);
+			System.arraycopy(values, 0, values, 1, count);
+			System.arraycopy(evicted, 0, points, 0, n);
+			values[0] = old;
+			count++;
+			invert();
+			return;
+		}
+		for (int i=0; i<s; i++) {
+			double ui = u[i] / schur;
+			int row = i*stride;
+			for (int j=0; j<s; j++) {
+				inv[row + j] += ui * u[j];
+			}
+			inv[row + s] = inv[s*stride + i] = -ui;
+		}
+		inv[s*stride + s] = 1.0/schur;
+		System.arraycopy(x, 0, points, count*n, n);
+		values[count++] = f;
+		dirty = true;
+		if (++changes >= stride) {
+			invert();
+		}
+	}
+
+	/**
+	 * Predicts the value of a point
+	 * @param x the point (scaled to the unit box)
+	 * @return the value of the interpolant (NaN if it is not available)
+	 */
+	public double predict(double[] x) {
+		if (!ready) {
+			return Double.NaN;
+		}
+		if (dirty) {
+			int s = tail + count;
+			for (int i=0; i<s; i++) {
+				double v = 0;
+				int row = i*stride;
+				for (int k=0; k<count; k++) {
+					v += inv[row + tail + k] * values[k];
+				}
+				coef[i] = v;
+			}
+			dirty = false;
+		}
+		double v = coef[0];
+		for (int j=0; j<n; j++) {
+			v += coef[1 + j] * x[j];
+		}
+		for (int k=0; k<count; k++) {
+			v += coef[tail + k] * phi(x, k);
+		}
+		return v;
+	}
+
+	/**
+	 * Removes the oldest point of the archive
+	 */
+	private void remove() {
+		if (ready) {
+			// downdate: removes row/column k of the inverse
+			int s = tail + count;
+			int k = tail;
+			double pivot = inv[k*stride + k];
+			if (pivot != 0) {
+				for (int i=0; i<s; i++) {
+					double f = inv[i*stride + k] / pivot;
+					if ((i != k) && (f != 0)) {
+						int row = i*stride;
+						for (int j=0; j<s; j++) {
+							inv[row + j] -= f * inv[k*stride + j];
+						}
+					}
+				}
+				for (int i=0; i<s; i++) {
+					int row = i*stride;
+					System.arraycopy(inv, row + k + 1, inv, row + k, s - k - 1);
+				}
+				for (int i=k; i<s-1; i++) {
+					System.arraycopy(inv, (i + 1)*stride, inv, i*stride, s - 1);
+				}
+			}
+			else {
+				ready = false;
+			}
+		}
+		System.arraycopy(points, n, points, 0, (count - 1)*n);
+		System.arraycopy(values, 1, values, 0, count - 1);
+		count--;
+		dirty = true;
+		if (++changes >= (ready ? stride : tail)) {
+			invert();
+		}
+	}
+
+	/**
+	 * Computes the inverse of the interpolation system from scratch (Gauss-Jordan elimination
+	 * with partial pivoting). The model is not ready if the system is singular.
+	 */
+	private void invert() {
+		changes = 0;
+		dirty = true;
+		int s = tail + count;
+		if (count < n + 2) {
+			ready = false;
+			return;
+		}
+		double[] a = new double[s*s];
+		for (int i=0; i<count; i++) {
+			int r = (tail + i)*s;
+			a[r] = a[i + tail] = 1;
+			for (int j=0; j<n; j++) {
+				a[r + 1 + j] = a[(1 + j)*s + tail + i] = points[i*n + j];
+			}
+			for (int k=0; k<count; k++) {
+				a[r + tail + k] = phi(points, i*n, k);
+			}
+		}
+		for (int i=0; i<s; i++) {
+			for (int j=0; j<s; j++) {
+				inv[i*stride + j] = (i == j) ? 1 : 0;
+			}
+		}
+		double scale = 0;
+		for (double v: a) {
+			scale = Math.max(scale, Math.abs(v));
+		}
+		for (int c=0; c<s; c++) {
+			int p = c;
+			for (int i=c+1; i<s; i++) {
+				if (Math.abs(a[i*s + c]) > Math.abs(a[p*s + c])) {
+					p = i;
+				}
+			}
+			if (Math.abs(a[p*s + c]) <= EPSILON * scale) {
+				ready = false;
+				return;
+			}
+			if (p != c) {
+				for (int j=0; j<s; j++) {
+					double t = a[p*s + j];
+					a[p*s + j] = a[c*s + j];
+					a[c*s + j] = t;
+					t = inv[p*stride + j];
+					inv[p*stride + j] = inv[c*stride + j];
+					inv[c*stride + j] = t;
+				}
+			}
+			double pivot = a[c*s + c];
+			for (int j=0; j<s; j++) {
+				a[c*s + j] /= pivot;
+				inv[c*stride + j] /= pivot;
+			}
+			for (int i=0; i<s; i++) {
+				double f = a[i*s + c];
+				if ((i != c) && (f != 0)) {
+					for (int j=0; j<s; j++) {
+						a[i*s + j] -= f * a[c*s + j];
+						inv[i*stride + j] -= f * inv[c*stride + j];
+					}
+				}
+			}
+		}
+		ready = true;
+	}
+
+	/**
+	 * Computes the row of the interpolation system corresponding to a point
+	 * @param x the point
+	 * @param row the row (output)
+	 */
+	private void kernel(double[] x, double[] row) {
+		row[0] = 1;
+		System.arraycopy(x, 0, row, 1, n);
+		for (int k=0; k<count; k++) {
+			row[tail + k] = phi(x, k);
+		}
+	}
+
+	/**
+	 * Cubic kernel between a point and an archived point
+	 * @param x the point
+	 * @param k the index of the archived point
+	 * @return the kernel
+	 */
+	private double phi(double[] x, int k) {
+		return phi(x, 0, k);
+	}
+
+	/**
+	 * Cubic kernel between a point and an archived point
+	 * @param x an array containing the point
+	 * @param offset the position of the point in the array
+	 * @param k the index of the archived point
+	 * @return the kernel
+	 */
+	private double phi(double[] x, int offset, int k) {
+		double d = 0;
+		int base = k*n;
+		for (int j=0; j<n; j++) {
+			double diff = x[offset + j] - points[base + j];
+			d += diff*diff;
+		}
+		return d * Math.sqrt(d);
+	}
+}
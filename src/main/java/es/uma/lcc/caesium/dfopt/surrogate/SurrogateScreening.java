@@ -0,0 +1,114 @@
+package es.uma.lcc.caesium.dfopt.surrogate;
+
+import java.util.List;
+
+import es.uma.lcc.caesium.dfopt.base.DerivativeFreeObjectiveFunction;
+import es.uma.lcc.caesium.dfopt.base.ObjectiveFunctionWrapper;
+
+/**
+ * Wrapper that adds a low fidelity level to an objective function given by a surrogate model
+ * (see {@link RBFModel}) of the points truly evaluated. Every evaluation at full fidelity is
+ * a true evaluation of the wrapped (expensive) function, and is added to the archive of the
+ * surrogate; evaluations at low fidelity return the prediction of the surrogate. Methods
+ * with screening enabled (see {@code DerivativeFreeMethod.screen}) rank their candidates
+ * by the prediction and only evaluate the most promising ones, so no method ever takes a
+ * predicted value for a true one.
+ * <p>
+ * Predictions are charged to the count of evaluations by a given cost (zero by default, so
+ * that the budget of the methods is expressed in true evaluations). The prediction is NaN
+ * while the surrogate is not available (e.g., until the archive holds enough points), so that
+ * screening methods evaluate every candidate. The archive persists across runs (restarts).
+ * @author ccottap
+ * @version 1.1
+ */
+public class SurrogateScreening extends ObjectiveFunctionWrapper {
+	/**
+	 * the surrogate model
+	 */
+	private final RBFModel model;
+	/**
+	 * cost of a prediction (as a fraction of a true evaluation)
+	 */
+	private final double cost;
+	/**
+	 * total number of predictions
+	 */
+	private long predictions;
+
+	/**
+	 * Creates the wrapper
+	 * @param inner the objective function
+	 * @param archive the capacity of the archive of the surrogate (at least n+2)
+	 * @param cost the cost of a prediction (as a fraction of a true evaluation)
+	 */
+	public SurrogateScreening(DerivativeFreeObjectiveFunction inner, int archive, double cost) {
+		super(inner);
+		assert (cost >= 0) && (cost <= 1);
+		model = new RBFModel(inner.getNumVariables(), Math.max(archive, inner.getNumVariables() + 2));
+		this.cost = cost;
+	}
+
+	@Override
+	public int getNumFidelities() {
+		return 2;
+	}
+
+	@Override
+	public double getFidelityCost(int level) {
+		return (level == 0) ? cost : 1.0;
+	}
+
+	@Override
+	protected double _evaluate(List<Double> solution) {
+		double[] x = normalize(solution);
+		double v = super._evaluate(solution);
+		synchronized (this) {
+			model.add(x, v);
+		}
+		return v;
+	}
+
+	@Override
+	protected double _evaluateAtFidelity(List<Double> solution, int level) {
+		if (level > 0) {
+			return _evaluate(solution);
+		}
+		double[] x = normalize(solution);
+		synchronized (this) {
+			if (!model.isReady()) {
+				return Double.NaN;
+			}
+			predictions++;
+			return model.predict(x);
+		}
+	}
+
+	/**
+	 * Maps a point to the unit hypercube
+	 * @param solution an n-dimensional point
+	 * @return the normalized point
+	 */
+	private double[] normalize(List<Double> solution) {
+		int n = getNumVariables();
+		double[] x = new double[n];
+		for (int j=0; j<n; j++) {
+			double lo = getMinValue(j);
+			double hi = getMaxValue(j);
+			x[j] = (solution.get(j) - lo) / (hi - lo);
+		}
+		return x;
+	}
+
+	/**
+	 * Returns the total number of predictions
+	 * @return the total number of predictions (since the creation of the wrapper)
+	 */
+	public synchronized long getPredictions() {
+		return predictions;
+	}
+
+	@Override
+	public String toString() {
+		return "RBF surrogate (archive " + model.getCapacity() + ", cost " + cost + ")";
+	}
+}
@@ -0,0 +1,6 @@
+/**
+ * Surrogate-assisted evaluation of objective functions
+ * @author ccottap
+ * @version 1.0
+ */
+package es.uma.lcc.caesium.dfopt.surrogate;
\ No newline at end of file
@@ -0,0 +1,61 @@
+package es.uma.lcc.caesium.dfopt.test;
+
+import java.io.FileNotFoundException;
+import java.io.FileReader;
+import java.io.PrintWriter;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import com.github.cliftonlabs.json_simple.JsonException;
+import com.github.cliftonlabs.json_simple.JsonObject;
+import com.github.cliftonlabs.json_simple.Jsoner;
+
+import es.uma.lcc.caesium.dfopt.campaign.Campaign;
+import es.uma.lcc.caesium.dfopt.campaign.CellResult;
+
+/**
+ * Class for running a benchmarking campaign of derivative-free optimization algorithms.
+ * Writes the expected running times to {@code <output>-ert.tsv}, the empirical 
+ * cumulative distributions of runtimes to {@code <output>-ecdf.tsv}, and the cells
+ * that could not be run (if any) to {@code <output>-failed.tsv}. 
+ * @author ccottap
+ * @version 1.1
+ */
+public class RunCampaign {
+
+	/**
+	 * Main method
+	 * @param args command-line arguments
+	 * @throws FileNotFoundException if the campaign file cannot be read 
+	 * @throws JsonException if the campaign file is not correctly formatted
+	 * @throws InterruptedException if the campaign is interrupted
+	 * @throws ExecutionException if a run of the campaign fails
+	 */
+	public static void main(String[] args) throws FileNotFoundException, JsonException, InterruptedException, ExecutionException {
+		if (args.length < 1) {
+			System.out.println("Campaign filename must be provided");
+			System.exit(1);
+		}
+		Campaign campaign = new Campaign((JsonObject) Jsoner.deserialize(new FileReader(args[0])));
+		System.out.println("Campaign:\t " + args[0]);
+		System.out.println(campaign);
+		
+		long tic = System.nanoTime();
+		List<CellResult> results = campaign.run();
+		System.out.println("Campaign completed (" + (System.nanoTime()-tic)/1e9 + "s)");
+		
+		PrintWriter file = new PrintWriter(campaign.getOutput() + "-ert.tsv");
+		campaign.writeERT(file, results);
+		file.close();
+		file = new PrintWriter(campaign.getOutput() + "-ecdf.tsv");
+		campaign.writeECDF(file, results);
+		file.close();
+		if (results.stream().anyMatch(CellResult::isFailed)) {
+			file = new PrintWriter(campaign.getOutput() + "-failed.tsv");
+			int failed = campaign.writeFailures(file, results);
+			file.close();
+			System.out.println(failed + " cells failed (see " + campaign.getOutput() + "-failed.tsv)");
+		}
+	}
+
+}
@@ -3,6 +3,10 @@ package es.uma.lcc.caesium.dfopt.test;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.PrintWriter;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.management.JMException;
 
 import com.github.cliftonlabs.json_simple.JsonException;
 import com.github.cliftonlabs.json_simple.JsonObject;
@@ -14,18 +18,21 @@ import es.uma.lcc.caesium.dfopt.base.DerivativeFreeMethodFactory;
 import es.uma.lcc.caesium.dfopt.base.DerivativeFreeObjectiveFunction;
 import es.uma.lcc.caesium.dfopt.base.EvaluatedSolution;
 import es.uma.lcc.caesium.dfopt.base.IteratedDerivativeFreeMethod;
-import es.uma.lcc.caesium.problem.ackley.dfopt.Ackley;
-import es.uma.lcc.caesium.problem.griewank.dfopt.Griewank;
-import es.uma.lcc.caesium.problem.rastrigin.dfopt.Rastrigin;
-import es.uma.lcc.caesium.problem.rosenbrock.dfopt.Rosenbrock;
-import es.uma.lcc.caesium.problem.sphere.dfopt.Sphere;
+import es.uma.lcc.caesium.dfopt.base.ObjectiveFunctionWrapper;
+import es.uma.lcc.caesium.dfopt.monitor.DerivativeFreeMonitor;
+import es.uma.lcc.caesium.dfopt.monitor.EvaluationProfiler;
+import es.uma.lcc.caesium.dfopt.statistics.ProfileEntry;
+import es.uma.lcc.caesium.dfopt.surrogate.SurrogateScreening;
+import es.uma.lcc.caesium.problem.ProblemFactory;
+import es.uma.lcc.caesium.problem.fidelity.dfopt.Fidelity;
+import es.uma.lcc.caesium.problem.latency.dfopt.Latency;
 
 
 
 /**
  * Class for testing the derivative-free optimization algorithms
  * @author ccottap
- * @version 1.1
+ * @version 1.5
  */
 public class RunDerivativeFree {
 
@@ -34,8 +41,9 @@ public class RunDerivativeFree {
 	 * @param args command-line arguments
 	 * @throws FileNotFoundException if configuration file cannot be read 
 	 * @throws JsonException if the configuration file is not correctly formatted
+	 * @throws JMException if the monitor cannot be published
 	 */
-	public static void main(String[] args) throws FileNotFoundException, JsonException {		
+	public static void main(String[] args) throws FileNotFoundException, JsonException, JMException {		
 		if (args.length < 1) {
 			System.out.println("Run filename must be provided");
 			System.exit(1);
@@ -59,42 +67,67 @@ public class RunDerivativeFree {
 		double range = Double.parseDouble((String)runconf.get("range"));
 		
 		// creates the objective function
-		DerivativeFreeObjectiveFunction obj = null;
-		switch(problem) {
-		case "sphere":
-			obj = new Sphere(dimension, range);
-			break;
-		case "rastrigin":
-			obj = new Rastrigin(dimension, range);
-			break;
-		case "rosenbrock":
-			obj = new Rosenbrock(dimension, range);
-			break;
-		case "griewank":
-			obj = new Griewank(dimension, range);
-			break;
-		case "ackley":
-			obj = new Ackley(dimension, range);
-			break;
-		default:
-			System.out.println("Unknown problem " + problem);
-			System.exit(1);
+		DerivativeFreeObjectiveFunction obj = new ProblemFactory().create(runconf);
+		
+		// profiles the objective function if requested
+		if (runconf.containsKey("profile") && Boolean.parseBoolean((String)runconf.get("profile"))) {
+			obj.setProfiler(new EvaluationProfiler());
+		}
+		
+		// evaluates batches of points in parallel if requested
+		ExecutorService executor = null;
+		if (runconf.containsKey("threads")) {
+			executor = Executors.newFixedThreadPool(Integer.parseInt((String)runconf.get("threads")));
+			obj.setExecutor(executor);
 		}
 		
 		System.out.println("Configuration:\t " + filename);
-		System.out.println("Problem:\t " + problem + " (" + dimension + ", " + range + ")");
+		System.out.println("Problem:\t " + problem + " (" + dimension + ", " + range + ")" + 
+				(runconf.containsKey("instance") ? (", shifted and rotated instance " + runconf.get("instance")) : ""));
+		for (DerivativeFreeObjectiveFunction f = obj; f instanceof ObjectiveFunctionWrapper w; f = w.getInner()) {
+			if (f instanceof Latency) {
+				System.out.println("Latency:\t " + f);
+			}
+			else if (f instanceof Fidelity) {
+				System.out.println("Fidelity:\t " + f);
+			}
+			else if (f instanceof SurrogateScreening) {
+				System.out.println("Surrogate:\t " + f);
+			}
+		}
 		System.out.println(conf);		
 		
 		
 		// creates the iterated solver
 		IteratedDerivativeFreeMethod idfm = new IteratedDerivativeFreeMethod(conf, solver);
 		idfm.setObjectiveFunction(obj);
-		idfm.setVerbosityLevel(0);
+		
+		// publishes the progress of the solver (and of the other methods of the portfolio, if any)
+		DerivativeFreeMonitor monitor = new DerivativeFreeMonitor(obj);
+		idfm.addListener(monitor);
+		idfm.addMethodListener(monitor);
+		monitor.register(conf.getMethod() + "-" + problem + "-" + dimension + "-" + conf.getSeed());
 
 		// runs the iterated solver
-		for (int i=0; i<conf.getNumruns(); i++) {
-			EvaluatedSolution sol = idfm.run();
-			System.out.println ("Run " + i + " (" + idfm.getTime() + "s)\t: " + sol.value());
+		try {
+			for (int i=0; i<conf.getNumruns(); i++) {
+				EvaluatedSolution sol = idfm.run();
+				System.out.print ("Run " + i + " (" + idfm.getTime() + "s)\t: " + sol.value());
+				ProfileEntry profile = idfm.getStatistics().getProfile(i);
+				if (profile != null) {
+					System.out.print ("\t[objective: " + profile.objtime() + "s, p99: " + profile.p99() + "s]");
+				}
+				System.out.println();
+			}
+		}
+		finally {
+			monitor.unregister();
+		}
+		if (executor != null) {
+			executor.shutdown();
+		}
+		if (obj instanceof SurrogateScreening screening) {
+			System.out.println("Surrogate predictions:\t " + screening.getPredictions());
 		}
 		
 		// writes stats
@@ -0,0 +1,153 @@
+package es.uma.lcc.caesium.dfopt.test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.ToDoubleFunction;
+
+import es.uma.lcc.caesium.dfopt.base.DerivativeFreeObjectiveFunction;
+import es.uma.lcc.caesium.problem.Kernels;
+import es.uma.lcc.caesium.problem.ProblemFactory;
+import es.uma.lcc.caesium.problem.VectorKernels;
+import es.uma.lcc.caesium.problem.ackley.dfopt.Ackley;
+import es.uma.lcc.caesium.problem.griewank.dfopt.Griewank;
+import es.uma.lcc.caesium.problem.rastrigin.dfopt.Rastrigin;
+import es.uma.lcc.caesium.problem.rosenbrock.dfopt.Rosenbrock;
+
+/**
+ * Checks that the SIMD kernels of the benchmark functions are equivalent (up to a relative
+ * tolerance) to their scalar implementations, and measures the time per evaluation of the
+ * scalar implementation, of the kernel alone, and of the objective function when the kernels 
+ * are enabled (including the conversion of the solution to an array; Sphere and Rosenbrock 
+ * do not use their kernels in this case, since the conversion costs more than the kernel saves). 
+ * It must be run with {@code --add-modules jdk.incubator.vector}. 
+ * Usage: {@code RunKernelCheck [n1 n2 ...]}
+ * @author ccottap
+ * @version 1.0
+ */
+public class RunKernelCheck {
+	/**
+	 * problems checked
+	 */
+	private static final String[] PROBLEMS = {"sphere", "rastrigin", "ackley", "griewank", "rosenbrock"};
+	/**
+	 * default numbers of variables
+	 */
+	private static final int[] DIMENSIONS = {1, 2, 3, 7, 32, 33, 100, 1000, 10000};
+	/**
+	 * number of random points per problem and number of variables
+	 */
+	private static final int POINTS = 100;
+	/**
+	 * relative tolerance
+	 */
+	private static final double TOLERANCE = 1e-10;
+	/**
+	 * minimum time (s) measured for each implementation
+	 */
+	private static final double MINTIME = 0.5;
+
+	/**
+	 * Main method
+	 * @param args numbers of variables (optional)
+	 */
+	public static void main(String[] args) {
+		if (!Kernels.isAvailable()) {
+			System.out.println("The Vector API is not available (use --add-modules jdk.incubator.vector)");
+			System.exit(1);
+		}
+		int[] dims = DIMENSIONS;
+		if (args.length > 0) {
+			dims = new int[args.length];
+			for (int i=0; i<args.length; i++)
+				dims[i] = Integer.parseInt(args[i]);
+		}
+		
+		ProblemFactory factory = new ProblemFactory();
+		Random rng = new Random(1);
+		boolean ok = true;
+		System.out.println("problem\tn\tmaxerror\tscalar(ns)\tkernel(ns)\tsimd(ns)\tspeedup");
+		for (String problem: PROBLEMS) {
+			for (int n: dims) {
+				DerivativeFreeObjectiveFunction obj = factory.create(problem, n, 5.12);
+				List<List<Double>> points = new ArrayList<List<Double>>(POINTS);
+				for (int k=0; k<POINTS; k++) {
+					List<Double> p = new ArrayList<Double>(n);
+					for (int j=0; j<n; j++)
+						p.add(rng.nextDouble()*10.24 - 5.12);
+					points.add(p);
+				}
+				List<double[]> arrays = new ArrayList<double[]>(POINTS);
+				for (List<Double> p: points)
+					arrays.add(Kernels.toArray(p, n));
+				ToDoubleFunction<double[]> kernel = kernel(problem, n);
+				double maxerror = 0.0;
+				Kernels.setEnabled(false);
+				for (int k=0; k<POINTS; k++) {
+					double scalar = obj.evaluate(points.get(k));
+					double simd = kernel.applyAsDouble(arrays.get(k));
+					double error = Math.abs(simd - scalar) / Math.max(1.0, Math.abs(scalar));
+					maxerror = Math.max(maxerror, error);
+				}
+				if (maxerror > TOLERANCE) 
+					ok = false;
+				double tscalar = time(p -> obj.evaluate(p), points);
+				double tkernel = time(kernel, arrays);
+				Kernels.setEnabled(true);
+				double tsimd = time(p -> obj.evaluate(p), points);
+				System.out.println(problem + "\t" + n + "\t" + maxerror + "\t" + tscalar + "\t" + tkernel + "\t" + tsimd + "\t" + (tscalar/tsimd) + 
+						((maxerror > TOLERANCE) ? "\tFAILED" : ""));
+			}
+		}
+		System.out.println(ok ? "OK" : "FAILED");
+		System.exit(ok ? 0 : 1);
+	}
+	
+	/**
+	 * Returns the SIMD kernel of a problem
+	 * @param problem the name of the problem
+	 * @param n the number of variables
+	 * @return the kernel
+	 */
+	private static ToDoubleFunction<double[]> kernel(String problem, int n) {
+		switch (problem) {
+		case "sphere":
+			return x -> VectorKernels.sphere(x);
+		case "rastrigin":
+			return x -> VectorKernels.rastrigin(x, Rastrigin.A);
+		case "ackley":
+			return x -> VectorKernels.ackley(x, Ackley.A, Ackley.B, Ackley.C);
+		case "griewank":
+			double[] root = new double[n];
+			for (int j=0; j<n; j++)
+				root[j] = Math.sqrt(j+1);
+			return x -> VectorKernels.griewank(x, root, Griewank.A);
+		default:
+			return x -> VectorKernels.rosenbrock(x, Rosenbrock.A);
+		}
+	}
+	
+	/**
+	 * Measures the time per evaluation 
+	 * @param <T> the type of the points
+	 * @param f the function evaluated
+	 * @param points the points evaluated
+	 * @return the time per evaluation (ns)
+	 */
+	private static <T> double time(ToDoubleFunction<T> f, List<T> points) {
+		long evals = 0;
+		double sink = 0;
+		long tic = System.nanoTime();
+		long elapsed;
+		do {
+			for (T p: points)
+				sink += f.applyAsDouble(p);
+			evals += points.size();
+			elapsed = System.nanoTime() - tic;
+		} while (elapsed < MINTIME*1e9);
+		if (sink == 0.12345)
+			System.out.print("");
+		return (double)elapsed / evals;
+	}
+
+}
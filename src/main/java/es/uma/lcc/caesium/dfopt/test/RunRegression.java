@@ -0,0 +1,156 @@
+package es.uma.lcc.caesium.dfopt.test;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileReader;
+import java.io.PrintWriter;
+import java.math.BigDecimal;
+
+import com.github.cliftonlabs.json_simple.JsonArray;
+import com.github.cliftonlabs.json_simple.JsonException;
+import com.github.cliftonlabs.json_simple.JsonObject;
+import com.github.cliftonlabs.json_simple.Jsoner;
+
+import es.uma.lcc.caesium.dfopt.regression.Scenario;
+import es.uma.lcc.caesium.dfopt.regression.ScenarioResult;
+
+/**
+ * Performance regression harness. Runs the scenarios listed in a regression file
+ * (see {@code run/regression.json}) and compares the median (over several executions) 
+ * of their throughput, allocation per evaluation and peak heap usage against a baseline file, failing (exit code 1) if 
+ * the relative thresholds are exceeded or the trace of solutions is not identical. The throughput
+ * is compared relative to the speed of the host (measured next to each execution), and its 
+ * threshold is widened when the spread of the measures shows that the host is noisier.
+ * With the {@code --update} option, the baseline file is (re)written instead.
+ * @author ccottap
+ * @version 1.2
+ */
+public class RunRegression {
+	/**
+	 * default number of unmeasured executions of each scenario
+	 */
+	private static final int WARMUP = 2;
+	/**
+	 * default number of measured executions of each scenario
+	 */
+	private static final int REPETITIONS = 7;
+	/**
+	 * default maximum relative loss of throughput
+	 */
+	private static final double THROUGHPUT = 0.10;
+	/**
+	 * number of standard deviations of the noise tolerated in the relative throughput
+	 */
+	private static final double NOISE = 3;
+	/**
+	 * default maximum relative increase of allocation per evaluation
+	 */
+	private static final double ALLOCATION = 0.10;
+	/**
+	 * default maximum relative increase of peak heap usage
+	 */
+	private static final double HEAP = 0.50;
+	
+	/**
+	 * Main method
+	 * @param args command-line arguments
+	 * @throws FileNotFoundException if the regression, run or baseline files cannot be read 
+	 * @throws JsonException if any of these files is not correctly formatted
+	 */
+	public static void main(String[] args) throws FileNotFoundException, JsonException {
+		if (args.length < 1) {
+			System.out.println("Regression filename must be provided");
+			System.exit(1);
+		}
+		boolean update = (args.length > 1) && args[1].equals("--update");
+		JsonObject regconf = (JsonObject) Jsoner.deserialize(new FileReader(args[0]));
+		String baselineFile = (String)regconf.get("baseline");
+		int warmup = regconf.containsKey("warmup") ? ((BigDecimal)regconf.get("warmup")).intValue() : WARMUP;
+		int numruns = regconf.containsKey("numruns") ? ((BigDecimal)regconf.get("numruns")).intValue() : 0;
+		int repetitions = regconf.containsKey("repetitions") ? ((BigDecimal)regconf.get("repetitions")).intValue() : REPETITIONS;
+		double throughput = getThreshold(regconf, "throughput", THROUGHPUT);
+		double allocation = getThreshold(regconf, "allocation", ALLOCATION);
+		double heap = getThreshold(regconf, "heap", HEAP);
+		
+		JsonObject baseline = new JsonObject();
+		if (!update) {
+			if (!new File(baselineFile).exists()) {
+				System.out.println("Baseline " + baselineFile + " not found (run with --update to create it)");
+				System.exit(1);
+			}
+			baseline = (JsonObject) Jsoner.deserialize(new FileReader(baselineFile));
+		}
+		
+		boolean failed = false;
+		JsonObject current = new JsonObject();
+		for (Object o: (JsonArray)regconf.get("scenarios")) {
+			Scenario scenario = new Scenario((String)o, numruns);
+			ScenarioResult res = scenario.run(warmup, repetitions);
+			current.put(scenario.getName(), res.toJSON());
+			System.out.println(scenario.getName() + ":\t " + res);
+			if (!update) {
+				if (!baseline.containsKey(scenario.getName())) {
+					System.out.println("\tFAIL: no baseline");
+					failed = true;
+					continue;
+				}
+				ScenarioResult base = new ScenarioResult((JsonObject)baseline.get(scenario.getName()));
+				// the tolerance grows with the noise of both measures
+				double tolerance = Math.max(throughput, NOISE * Math.hypot(res.spread(), base.spread()));
+				failed |= check("relative throughput (tolerance " + tolerance + ")", res.relativeThroughput() < base.relativeThroughput() * (1 - tolerance), res.relativeThroughput(), base.relativeThroughput());
+				failed |= check("allocation", res.bytesPerEval() > base.bytesPerEval() * (1 + allocation), res.bytesPerEval(), base.bytesPerEval());
+				failed |= check("heap", res.peakHeap() > base.peakHeap() * (1 + heap), res.peakHeap(), base.peakHeap());
+				if (!res.trace().equals(base.trace())) {
+					System.out.println("\tFAIL: trace differs from the baseline");
+					failed = true;
+				}
+			}
+		}
+		
+		if (update) {
+			PrintWriter file = new PrintWriter(baselineFile);
+			file.print(Jsoner.prettyPrint(current.toJson()));
+			file.close();
+			System.out.println("Baseline written to " + baselineFile);
+		}
+		else if (failed) {
+			System.exit(1);
+		}
+		else {
+			System.out.println("OK");
+		}
+	}
+	
+	/**
+	 * Reads a threshold from the regression configuration
+	 * @param regconf the regression configuration
+	 * @param key the name of the threshold
+	 * @param def the default value of the threshold
+	 * @return the value of the threshold
+	 */
+	private static double getThreshold(JsonObject regconf, String key, double def) {
+		if (regconf.containsKey("thresholds")) {
+			JsonObject thresholds = (JsonObject)regconf.get("thresholds");
+			if (thresholds.containsKey(key)) {
+				return ((BigDecimal)thresholds.get(key)).doubleValue();
+			}
+		}
+		return def;
+	}
+	
+	/**
+	 * Reports the result of a check
+	 * @param measure the name of the measure
+	 * @param exceeded whether the threshold is exceeded or not
+	 * @param value the current value of the measure
+	 * @param base the baseline value of the measure
+	 * @return {@code exceeded}
+	 */
+	private static boolean check(String measure, boolean exceeded, double value, double base) {
+		if (exceeded) {
+			System.out.println("\tFAIL: " + measure + " " + value + " (baseline " + base + ")");
+		}
+		return exceeded;
+	}
+
+}
@@ -0,0 +1,176 @@
+package es.uma.lcc.caesium.dfopt.test;
+
+import java.io.FileNotFoundException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import es.uma.lcc.caesium.dfopt.base.DerivativeFreeMethod;
+import es.uma.lcc.caesium.dfopt.events.DerivativeFreeListener;
+import es.uma.lcc.caesium.dfopt.hookejeeves.HookeJeeves;
+import es.uma.lcc.caesium.dfopt.hookejeeves.HookeJeevesConfiguration;
+import es.uma.lcc.caesium.dfopt.neldermead.NelderMead;
+import es.uma.lcc.caesium.dfopt.neldermead.NelderMeadConfiguration;
+import es.uma.lcc.caesium.problem.zerocost.dfopt.ZeroCost;
+
+/**
+ * Measures how the bookkeeping overhead of the solvers scales with the number of variables.
+ * The {@link ZeroCost} objective function is used, so that the time measured is
+ * essentially the time of the solver itself: time per iteration of Nelder-Mead (excluding
+ * the initialization of the simplex) and time per sweep of the neighborhood (2n evaluations) 
+ * of Hooke-Jeeves. A power law t = c·n<sup>k</sup> is fitted to the measures of each method 
+ * and the exponent k is reported. The results are written to {@code scaling.tsv} as well.
+ * Usage: {@code RunScalingBenchmark [n1 n2 ...]}
+ * @author ccottap
+ * @version 1.0
+ */
+public class RunScalingBenchmark {
+	/**
+	 * default numbers of variables
+	 */
+	private static final int[] DIMENSIONS = {10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 10000};
+	/**
+	 * minimum time (s) measured for each method and number of variables
+	 */
+	private static final double MINTIME = 1.0;
+	/**
+	 * number of Nelder-Mead iterations per run
+	 */
+	private static final int ITERATIONS = 100;
+	/**
+	 * number of Hooke-Jeeves sweeps per run
+	 */
+	private static final int SWEEPS = 100;
+	/**
+	 * approximate memory (bytes) per coordinate of a point (boxed double plus list slot)
+	 */
+	private static final long BYTES_PER_COORDINATE = 24;
+	
+	/**
+	 * Listener that records the start of the first iteration and the number of iterations
+	 */
+	private static class IterationTimer implements DerivativeFreeListener {
+		/**
+		 * time at the start of the first iteration
+		 */
+		long first;
+		/**
+		 * number of iterations
+		 */
+		long iterations = 0;
+		
+		@Override
+		public void iterationStarted(int evals, double spread, double best) {
+			if (iterations++ == 0) {
+				first = System.nanoTime();
+			}
+		}
+	}
+
+	/**
+	 * Main method
+	 * @param args command-line arguments (numbers of variables)
+	 * @throws FileNotFoundException if the output file cannot be created
+	 */
+	public static void main(String[] args) throws FileNotFoundException {
+		int[] dims = DIMENSIONS;
+		if (args.length > 0) {
+			dims = new int[args.length];
+			for (int i=0; i<args.length; i++) {
+				dims[i] = Integer.parseInt(args[i]);
+			}
+		}
+		
+		List<double[]> nmData = new ArrayList<double[]>();
+		List<double[]> hjData = new ArrayList<double[]>();
+		PrintWriter file = new PrintWriter("scaling.tsv");
+		file.println("n\tnm-iteration\thj-sweep");
+		System.out.println("n\tNM (us/iteration)\tHJ (us/sweep)");
+		for (int n: dims) {
+			double nm = timeNelderMead(n);
+			double hj = timeHookeJeeves(n);
+			if (!Double.isNaN(nm)) {
+				nmData.add(new double[] {n, nm});
+			}
+			hjData.add(new double[] {n, hj});
+			file.println(n + "\t" + nm + "\t" + hj);
+			file.flush();
+			System.out.println(n + "\t" + (Double.isNaN(nm) ? "skipped" : nm*1e6) + "\t" + hj*1e6);
+		}
+		file.close();
+		System.out.println("NM exponent:\t " + fitExponent(nmData));
+		System.out.println("HJ exponent:\t " + fitExponent(hjData));
+	}
+	
+	/**
+	 * Measures the time per iteration of Nelder-Mead
+	 * @param n the number of variables
+	 * @return the time (s) per iteration (NaN if the simplex does not fit in memory)
+	 */
+	private static double timeNelderMead(int n) {
+		if ((long)(n+1) * n * BYTES_PER_COORDINATE > Runtime.getRuntime().maxMemory()/2) {
+			return Double.NaN;
+		}
+		NelderMeadConfiguration conf = new NelderMeadConfiguration();
+		conf.setTolerance(0);
+		conf.setMaxevalsCycle(n + 1 + ITERATIONS);
+		NelderMead nm = new NelderMead(conf);
+		nm.setObjectiveFunction(new ZeroCost(n, 1.0));
+		IterationTimer timer = new IterationTimer();
+		nm.addListener(timer);
+		double time = 0;
+		long iterations = 0;
+		while (time < MINTIME) {
+			timer.iterations = 0;
+			nm.run();
+			time += (System.nanoTime() - timer.first)/1e9;
+			iterations += timer.iterations;
+		}
+		return time/iterations;
+	}
+	
+	/**
+	 * Measures the time per sweep of the neighborhood of Hooke-Jeeves
+	 * @param n the number of variables
+	 * @return the time (s) per sweep
+	 */
+	private static double timeHookeJeeves(int n) {
+		HookeJeevesConfiguration conf = new HookeJeevesConfiguration();
+		conf.setMinStep(0);
+		conf.setMaxevalsCycle(2 * n * SWEEPS);
+		DerivativeFreeMethod hj = new HookeJeeves(conf);
+		ZeroCost obj = new ZeroCost(n, 1.0);
+		hj.setObjectiveFunction(obj);
+		double time = 0;
+		double sweeps = 0;
+		while (time < MINTIME) {
+			hj.run();
+			time += hj.getTime();
+			sweeps += obj.getNumEvals() / (2.0 * n);
+		}
+		return time/sweeps;
+	}
+	
+	/**
+	 * Fits a power law t = c·n<sup>k</sup> by least squares in log-log scale
+	 * @param data pairs (n, t)
+	 * @return the exponent k (NaN if there are less than two pairs)
+	 */
+	private static double fitExponent(List<double[]> data) {
+		int m = data.size();
+		if (m < 2) {
+			return Double.NaN;
+		}
+		double sx = 0, sy = 0, sxx = 0, sxy = 0;
+		for (double[] d: data) {
+			double x = Math.log(d[0]);
+			double y = Math.log(d[1]);
+			sx += x;
+			sy += y;
+			sxx += x*x;
+			sxy += x*y;
+		}
+		return (m*sxy - sx*sy) / (m*sxx - sx*sx);
+	}
+
+}
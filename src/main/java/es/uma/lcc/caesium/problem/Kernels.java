@@ -0,0 +1,83 @@
+package es.uma.lcc.caesium.problem;
+
+import java.util.List;
+
+/**
+ * Dispatch of the SIMD kernels of the benchmark functions (see {@link VectorKernels}).
+ * The kernels are used only if the {@code jdk.incubator.vector} module is present at 
+ * runtime (i.e., the JVM is launched with {@code --add-modules jdk.incubator.vector}),
+ * and for a number of variables no smaller than a threshold (system property 
+ * {@code dfopt.vector.threshold}, 32 by default). Otherwise, the scalar implementation
+ * of each function is used. Note that the SIMD kernels sum in a different order than
+ * the scalar implementations, so results can differ in the last bits.
+ * @author ccottap
+ * @version 1.0
+ */
+public final class Kernels {
+	/**
+	 * whether the Vector API is available
+	 */
+	private static final boolean AVAILABLE = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+	/**
+	 * minimum number of variables for which the SIMD kernels are used
+	 */
+	private static final int THRESHOLD = Integer.getInteger("dfopt.vector.threshold", 32);
+	/**
+	 * whether the SIMD kernels are enabled
+	 */
+	private static volatile boolean enabled = AVAILABLE;
+	
+	/**
+	 * Static methods only
+	 */
+	private Kernels() {
+	}
+	
+	/**
+	 * Indicates whether the Vector API is available
+	 * @return true if the Vector API is available
+	 */
+	public static boolean isAvailable() {
+		return AVAILABLE;
+	}
+	
+	/**
+	 * Enables or disables the SIMD kernels (they cannot be enabled if the
+	 * Vector API is not available)
+	 * @param on whether the SIMD kernels are enabled
+	 */
+	public static void setEnabled(boolean on) {
+		enabled = on && AVAILABLE;
+	}
+	
+	/**
+	 * Indicates whether the SIMD kernels are enabled
+	 * @return true if the SIMD kernels are enabled
+	 */
+	public static boolean isEnabled() {
+		return enabled;
+	}
+	
+	/**
+	 * Indicates whether the SIMD kernels must be used for a certain number of variables
+	 * @param n the number of variables
+	 * @return true if the SIMD kernels must be used
+	 */
+	public static boolean use(int n) {
+		return enabled && (n >= THRESHOLD);
+	}
+	
+	/**
+	 * Copies a solution to an array
+	 * @param sol the solution
+	 * @param n the number of variables
+	 * @return an array with the values of the variables
+	 */
+	public static double[] toArray(List<Double> sol, int n) {
+		double[] x = new double[n];
+		for (int j=0; j<n; j++) {
+			x[j] = sol.get(j);
+		}
+		return x;
+	}
+}
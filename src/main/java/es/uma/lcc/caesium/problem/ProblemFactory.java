@@ -0,0 +1,172 @@
+package es.uma.lcc.caesium.problem;
+
+import com.github.cliftonlabs.json_simple.JsonObject;
+
+import es.uma.lcc.caesium.dfopt.base.DerivativeFreeObjectiveFunction;
+import es.uma.lcc.caesium.dfopt.surrogate.SurrogateScreening;
+import es.uma.lcc.caesium.problem.ackley.dfopt.Ackley;
+import es.uma.lcc.caesium.problem.fidelity.dfopt.Fidelity;
+import es.uma.lcc.caesium.problem.griewank.dfopt.Griewank;
+import es.uma.lcc.caesium.problem.latency.dfopt.Latency;
+import es.uma.lcc.caesium.problem.rastrigin.dfopt.Rastrigin;
+import es.uma.lcc.caesium.problem.rosenbrock.dfopt.Rosenbrock;
+import es.uma.lcc.caesium.problem.rotated.dfopt.ShiftedRotated;
+import es.uma.lcc.caesium.problem.sphere.dfopt.Sphere;
+import es.uma.lcc.caesium.problem.zerocost.dfopt.ZeroCost;
+
+/**
+ * Factory class for the bundled problems
+ * @author ccottap
+ * @version 1.4
+ */
+public class ProblemFactory {
+
+	/**
+	 * Creates the factory
+	 */
+	public ProblemFactory() {
+	}
+	
+	/**
+	 * Creates an objective function given the description of a problem in a run file 
+	 * (keys {@code problem}, {@code dimension} and {@code range}, and optionally 
+	 * {@code instance} -- the number of a shifted and rotated instance, see 
+	 * {@link #rotate(DerivativeFreeObjectiveFunction, String, long)} -- and
+	 * {@code fidelity} -- see {@link #addFidelity(DerivativeFreeObjectiveFunction, JsonObject)} -- and
+	 * {@code latency} -- see {@link #addLatency(DerivativeFreeObjectiveFunction, JsonObject)} -- and
+	 * {@code surrogate} -- see {@link #addSurrogate(DerivativeFreeObjectiveFunction, JsonObject)})
+	 * @param runconf a JSON object with the description of the problem
+	 * @return the objective function
+	 * @throws IllegalArgumentException if the problem is unknown
+	 */
+	public DerivativeFreeObjectiveFunction create(JsonObject runconf) {
+		String problem = ((String)runconf.get("problem")).toLowerCase();
+		int dimension = Integer.parseInt((String)runconf.get("dimension"));
+		double range = Double.parseDouble((String)runconf.get("range"));
+		DerivativeFreeObjectiveFunction obj = create(problem, dimension, range);
+		if (runconf.containsKey("instance")) {
+			obj = rotate(obj, problem, Long.parseLong((String)runconf.get("instance")));
+		}
+		if (runconf.containsKey("fidelity")) {
+			obj = addFidelity(obj, (JsonObject)runconf.get("fidelity"));
+		}
+		if (runconf.containsKey("latency")) {
+			obj = addLatency(obj, (JsonObject)runconf.get("latency"));
+		}
+		if (runconf.containsKey("surrogate")) {
+			obj = addSurrogate(obj, (JsonObject)runconf.get("surrogate"));
+		}
+		return obj;
+	}
+	
+	/**
+	 * Creates a shifted and rotated instance of a problem 
+	 * @param obj the objective function of the problem
+	 * @param problem the name of the problem (case insensitive)
+	 * @param instance the number of the instance
+	 * @return the shifted and rotated instance
+	 */
+	public DerivativeFreeObjectiveFunction rotate(DerivativeFreeObjectiveFunction obj, String problem, long instance) {
+		double offset = problem.equalsIgnoreCase("rosenbrock") ? 1.0 : 0.0;
+		return new ShiftedRotated(obj, instance, offset);
+	}
+	
+	/**
+	 * Wraps an objective function to add a low fidelity level to it. The low fidelity is 
+	 * described by the keys {@code cost} (cost of an evaluation at low fidelity, as a fraction
+	 * of a full evaluation), {@code error} (maximum relative error at low fidelity) and {@code seed}.
+	 * @param obj the objective function
+	 * @param fidelity a JSON object with the description of the low fidelity
+	 * @return the objective function with a low fidelity level
+	 */
+	public DerivativeFreeObjectiveFunction addFidelity(DerivativeFreeObjectiveFunction obj, JsonObject fidelity) {
+		double cost = fidelity.containsKey("cost") ? Double.parseDouble((String)fidelity.get("cost")) : 0.02;
+		double error = fidelity.containsKey("error") ? Double.parseDouble((String)fidelity.get("error")) : 0.1;
+		long seed = fidelity.containsKey("seed") ? Long.parseLong((String)fidelity.get("seed")) : 1;
+		return new Fidelity(obj, cost, error, seed);
+	}
+	
+	/**
+	 * Wraps an objective function to add latency to its evaluations. The latency is described 
+	 * by the keys {@code distribution} ({@code fixed}, {@code lognormal} or {@code pareto}), 
+	 * {@code mean} (in seconds), {@code shape} (parameter of the distribution), {@code mode} 
+	 * ({@code sleep} or {@code burn}) and {@code seed}. 
+	 * @param obj the objective function
+	 * @param latency a JSON object with the description of the latency
+	 * @return the objective function with latency
+	 */
+	public DerivativeFreeObjectiveFunction addLatency(DerivativeFreeObjectiveFunction obj, JsonObject latency) {
+		Latency.Distribution distribution = null;
+		String name = latency.containsKey("distribution") ? (String)latency.get("distribution") : "fixed";
+		switch (name.toLowerCase()) {
+		case "fixed":
+			distribution = Latency.Distribution.FIXED;
+			break;
+		case "lognormal":
+			distribution = Latency.Distribution.LOGNORMAL;
+			break;
+		case "pareto":
+			distribution = Latency.Distribution.PARETO;
+			break;
+		default:
+			System.out.println("Unknown latency distribution " + name);
+			System.exit(1);
+		}
+		double mean = Double.parseDouble((String)latency.get("mean"));
+		double shape = latency.containsKey("shape") ? Double.parseDouble((String)latency.get("shape")) : 1.0;
+		boolean burn = latency.containsKey("mode") && ((String)latency.get("mode")).equalsIgnoreCase("burn");
+		long seed = latency.containsKey("seed") ? Long.parseLong((String)latency.get("seed")) : 1;
+		return new Latency(obj, distribution, mean, shape, burn, seed);
+	}
+	
+	/**
+	 * Wraps an objective function to add a low fidelity level given by a surrogate model, which
+	 * methods with screening enabled use to rank their candidates. The surrogate is described 
+	 * by the keys {@code archive} (capacity of the archive of the surrogate) and {@code cost}
+	 * (cost of a prediction, as a fraction of a true evaluation).
+	 * @param obj the objective function
+	 * @param surrogate a JSON object with the description of the screening
+	 * @return the objective function with screening
+	 */
+	public DerivativeFreeObjectiveFunction addSurrogate(DerivativeFreeObjectiveFunction obj, JsonObject surrogate) {
+		int archive = surrogate.containsKey("archive") ? Integer.parseInt((String)surrogate.get("archive")) : 10*(obj.getNumVariables() + 1);
+		double cost = surrogate.containsKey("cost") ? Double.parseDouble((String)surrogate.get("cost")) : 0.0;
+		return new SurrogateScreening(obj, archive, cost);
+	}
+	
+	/**
+	 * Creates an objective function given the name of the problem
+	 * @param problem the name of the problem (case insensitive)
+	 * @param dimension the number of variables
+	 * @param range range of variables ([-range, range])
+	 * @return the objective function
+	 * @throws IllegalArgumentException if the problem is unknown
+	 */
+	public DerivativeFreeObjectiveFunction create(String problem, int dimension, double range) {
+		DerivativeFreeObjectiveFunction obj = null;
+		switch(problem.toLowerCase()) {
+		case "sphere":
+			obj = new Sphere(dimension, range);
+			break;
+		case "rastrigin":
+			obj = new Rastrigin(dimension, range);
+			break;
+		case "rosenbrock":
+			obj = new Rosenbrock(dimension, range);
+			break;
+		case "griewank":
+			obj = new Griewank(dimension, range);
+			break;
+		case "ackley":
+			obj = new Ackley(dimension, range);
+			break;
+		case "zerocost":
+			obj = new ZeroCost(dimension, range);
+			break;
+		default:
+			throw new IllegalArgumentException("Unknown problem " + problem);
+		}
+		return obj;
+	}
+
+}
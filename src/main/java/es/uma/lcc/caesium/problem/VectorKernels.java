@@ -0,0 +1,182 @@
+package es.uma.lcc.caesium.problem;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD kernels of the benchmark functions, using the Vector API. This class must only 
+ * be loaded if the {@code jdk.incubator.vector} module is present (see {@link Kernels}).
+ * The constants of each function are provided by the caller. 
+ * @author ccottap
+ * @version 1.1
+ */
+public final class VectorKernels {
+	/**
+	 * preferred species of the platform
+	 */
+	private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+	
+	/**
+	 * Static methods only
+	 */
+	private VectorKernels() {
+	}
+	
+	/**
+	 * Sphere function
+	 * @param x the point
+	 * @return sum of x_j^2
+	 */
+	public static double sphere(double[] x) {
+		int n = x.length;
+		int bound = SPECIES.loopBound(n);
+		DoubleVector acc = DoubleVector.zero(SPECIES);
+		int j = 0;
+		for (; j<bound; j+=SPECIES.length()) {
+			DoubleVector v = DoubleVector.fromArray(SPECIES, x, j);
+			acc = v.fma(v, acc);
+		}
+		double c = acc.reduceLanes(VectorOperators.ADD);
+		for (; j<n; j++) {
+			c += x[j]*x[j];
+		}
+		return c;
+	}
+	
+	/**
+	 * Rastrigin function
+	 * @param x the point
+	 * @param a the constant A
+	 * @return A·n + sum of x_j^2 - A·cos(2·pi·x_j)
+	 */
+	public static double rastrigin(double[] x, double a) {
+		return rastrigin(x, a, Double.POSITIVE_INFINITY);
+	}
+	
+	/**
+	 * Rastrigin function, whose exact value is only needed if it does not exceed a cutoff.
+	 * The cutoff is checked after each chunk of SPECIES.length() variables, using that each 
+	 * of the remaining terms is at least -A.
+	 * @param x the point
+	 * @param a the constant A
+	 * @param cutoff the cutoff
+	 * @return A·n + sum of x_j^2 - A·cos(2·pi·x_j) (or a lower bound of it, if greater than the cutoff)
+	 */
+	public static double rastrigin(double[] x, double a, double cutoff) {
+		int n = x.length;
+		int bound = SPECIES.loopBound(n);
+		boolean check = cutoff < Double.POSITIVE_INFINITY;
+		DoubleVector acc = DoubleVector.zero(SPECIES);
+		int j = 0;
+		for (; j<bound; j+=SPECIES.length()) {
+			DoubleVector v = DoubleVector.fromArray(SPECIES, x, j);
+			DoubleVector cos = v.mul(2.0*Math.PI).lanewise(VectorOperators.COS);
+			acc = acc.add(v.mul(v).sub(cos.mul(a)));
+			if (check) {
+				double lower = a * (j + SPECIES.length()) + acc.reduceLanes(VectorOperators.ADD);
+				if (lower > cutoff) {
+					return lower;
+				}
+			}
+		}
+		double c = a * n + acc.reduceLanes(VectorOperators.ADD);
+		for (; j<n; j++) {
+			double v = x[j];
+			c += v * v - a * Math.cos(2.0*Math.PI*v);
+			double lower = c - a * (n - 1 - j);
+			if (lower > cutoff) {
+				return lower;
+			}
+		}
+		return c;
+	}
+	
+	/**
+	 * Ackley function
+	 * @param x the point
+	 * @param a the constant A
+	 * @param b the constant B
+	 * @param c the constant C
+	 * @return -A·exp(-B·sqrt(sum of x_j^2/n)) - exp(sum of cos(C·x_j)/n) + A + e
+	 */
+	public static double ackley(double[] x, double a, double b, double c) {
+		int n = x.length;
+		int bound = SPECIES.loopBound(n);
+		DoubleVector acc1 = DoubleVector.zero(SPECIES);
+		DoubleVector acc2 = DoubleVector.zero(SPECIES);
+		int j = 0;
+		for (; j<bound; j+=SPECIES.length()) {
+			DoubleVector v = DoubleVector.fromArray(SPECIES, x, j);
+			acc1 = v.fma(v, acc1);
+			acc2 = acc2.add(v.mul(c).lanewise(VectorOperators.COS));
+		}
+		double s1 = acc1.reduceLanes(VectorOperators.ADD);
+		double s2 = acc2.reduceLanes(VectorOperators.ADD);
+		for (; j<n; j++) {
+			double v = x[j];
+			s1 += v*v;
+			s2 += Math.cos(c*v);
+		}
+		return -a*Math.exp(-b*Math.sqrt(s1/n)) - Math.exp(s2/n) + a + Math.E;
+	}
+	
+	/**
+	 * Griewank function
+	 * @param x the point
+	 * @param root the square roots of 1..n
+	 * @param a the constant A
+	 * @return 1 + A·sum of x_j^2 - product of cos(x_j/sqrt(j+1))
+	 */
+	public static double griewank(double[] x, double[] root, double a) {
+		int n = x.length;
+		int bound = SPECIES.loopBound(n);
+		DoubleVector acc = DoubleVector.zero(SPECIES);
+		DoubleVector prod = DoubleVector.broadcast(SPECIES, 1.0);
+		int j = 0;
+		for (; j<bound; j+=SPECIES.length()) {
+			DoubleVector v = DoubleVector.fromArray(SPECIES, x, j);
+			DoubleVector r = DoubleVector.fromArray(SPECIES, root, j);
+			acc = v.fma(v, acc);
+			prod = prod.mul(v.div(r).lanewise(VectorOperators.COS));
+		}
+		double s = acc.reduceLanes(VectorOperators.ADD);
+		double p = prod.reduceLanes(VectorOperators.MUL);
+		for (; j<n; j++) {
+			double v = x[j];
+			s += v*v;
+			p *= Math.cos(v/root[j]);
+		}
+		return 1.0 + a*s - p;
+	}
+	
+	/**
+	 * Rosenbrock function
+	 * @param x the point
+	 * @param a the constant A
+	 * @return sum of A·(x_{j+1}-x_j^2)^2 + (1-x_j)^2
+	 */
+	public static double rosenbrock(double[] x, double a) {
+		int m = x.length - 1;
+		if (m <= 0) {
+			return 0;
+		}
+		int bound = SPECIES.loopBound(m);
+		DoubleVector acc = DoubleVector.zero(SPECIES);
+		int j = 0;
+		for (; j<bound; j+=SPECIES.length()) {
+			DoubleVector v1 = DoubleVector.fromArray(SPECIES, x, j);
+			DoubleVector v2 = DoubleVector.fromArray(SPECIES, x, j+1);
+			DoubleVector t1 = v2.sub(v1.mul(v1));
+			DoubleVector t2 = v1.neg().add(1.0);
+			acc = acc.add(t1.mul(t1).mul(a)).add(t2.mul(t2));
+		}
+		double c = acc.reduceLanes(VectorOperators.ADD);
+		for (; j<m; j++) {
+			double t1 = x[j+1]-x[j]*x[j];
+			double t2 = 1-x[j];
+			c += a*t1*t1 + t2*t2;
+		}
+		return c;
+	}
+}
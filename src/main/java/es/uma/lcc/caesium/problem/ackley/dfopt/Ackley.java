@@ -3,11 +3,13 @@ package es.uma.lcc.caesium.problem.ackley.dfopt;
 import java.util.List;
 
 import es.uma.lcc.caesium.dfopt.base.DerivativeFreeObjectiveFunction;
+import es.uma.lcc.caesium.problem.Kernels;
+import es.uma.lcc.caesium.problem.VectorKernels;
 
 /**
  * Ackley function
  * @author ccottap
- * @version 1.0
+ * @version 1.1
  *
  */
 public class Ackley extends DerivativeFreeObjectiveFunction {
@@ -22,15 +24,15 @@ public class Ackley extends DerivativeFreeObjectiveFunction {
 	/**
 	 * function constant A
 	 */
-	private static final double A = 20.0;
+	public static final double A = 20.0;
 	/**
 	 * function constants B
 	 */
-	private static final double B = 0.2;
+	public static final double B = 0.2;
 	/**
 	 * function constant C
 	 */
-	private static final double C = 2.0*Math.PI;
+	public static final double C = 2.0*Math.PI;
 	
 	/**
 	 * Basic constructor
@@ -46,6 +48,9 @@ public class Ackley extends DerivativeFreeObjectiveFunction {
 	
 	@Override
 	protected double _evaluate(List<Double> sol) {
+		if (Kernels.use(n)) {
+			return VectorKernels.ackley(Kernels.toArray(sol, n), A, B, C);
+		}
 		double s1 = 0.0;
 		double s2 = 0.0;
 		for (int j=0; j<n; j++) {
@@ -0,0 +1,92 @@
+package es.uma.lcc.caesium.problem.fidelity.dfopt;
+
+import java.util.List;
+
+import es.uma.lcc.caesium.dfopt.base.DerivativeFreeObjectiveFunction;
+import es.uma.lcc.caesium.dfopt.base.ObjectiveFunctionWrapper;
+
+/**
+ * Wrapper that adds a low fidelity level to another objective function, so as to emulate
+ * a cheap, inaccurate model of an expensive function (e.g., a simulation on a coarse grid).
+ * The value at low fidelity is the true value with a relative error, which is a deterministic
+ * pseudo-random function of the point (so the same point always gets the same value, as in
+ * a deterministic coarse simulation). The value at full fidelity is not altered.
+ * @author ccottap
+ * @version 1.0
+ */
+public class Fidelity extends ObjectiveFunctionWrapper {
+	/**
+	 * cost of an evaluation at low fidelity (as a fraction of a full evaluation)
+	 */
+	private final double cost;
+	/**
+	 * maximum relative error at low fidelity
+	 */
+	private final double error;
+	/**
+	 * seed of the error
+	 */
+	private final long seed;
+
+	/**
+	 * Creates the wrapper
+	 * @param inner the objective function
+	 * @param cost the cost of an evaluation at low fidelity (as a fraction of a full evaluation)
+	 * @param error the maximum relative error at low fidelity
+	 * @param seed the seed of the error
+	 */
+	public Fidelity(DerivativeFreeObjectiveFunction inner, double cost, double error, long seed) {
+		super(inner);
+		assert (cost > 0) && (cost <= 1);
+		assert error >= 0;
+		this.cost = cost;
+		this.error = error;
+		this.seed = seed;
+	}
+
+	@Override
+	public int getNumFidelities() {
+		return 2;
+	}
+
+	@Override
+	public double getFidelityCost(int level) {
+		return (level == 0) ? cost : 1.0;
+	}
+
+	@Override
+	protected double _evaluateAtFidelity(List<Double> solution, int level) {
+		double v = super._evaluate(solution);
+		return (level == 0) ? v * (1.0 + error * noise(solution)) : v;
+	}
+
+	/**
+	 * Computes the pseudo-random error of a point
+	 * @param solution an n-dimensional point
+	 * @return a value in [-1, 1) determined by the point
+	 */
+	private double noise(List<Double> solution) {
+		long h = seed;
+		for (double x: solution) {
+			h = mix(h ^ Double.doubleToLongBits(x));
+		}
+		return 2.0 * (h >>> 11) * 0x1.0p-53 - 1.0;
+	}
+
+	/**
+	 * Mixes the bits of a value (finalizer of SplitMix64)
+	 * @param z the value
+	 * @return the mixed value
+	 */
+	private static long mix(long z) {
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+
+	@Override
+	public String toString() {
+		return "low fidelity (cost " + cost + ", relative error " + error + ")";
+	}
+
+}
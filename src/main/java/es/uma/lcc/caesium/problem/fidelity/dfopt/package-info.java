@@ -0,0 +1,6 @@
+/**
+ * Synthetic multi-fidelity problems, obtained by adding a cheap, inaccurate model to other problems
+ * @author ccottap
+ * @version 1.0
+ */
+package es.uma.lcc.caesium.problem.fidelity.dfopt;
@@ -3,11 +3,13 @@ package es.uma.lcc.caesium.problem.griewank.dfopt;
 import java.util.List;
 
 import es.uma.lcc.caesium.dfopt.base.DerivativeFreeObjectiveFunction;
+import es.uma.lcc.caesium.problem.Kernels;
+import es.uma.lcc.caesium.problem.VectorKernels;
 
 /**
  * Griewank function
  * @author ccottap
- * @version 1.0
+ * @version 1.1
  *
  */
 public class Griewank extends DerivativeFreeObjectiveFunction {
@@ -22,7 +24,11 @@ public class Griewank extends DerivativeFreeObjectiveFunction {
 	/**
 	 * function constant
 	 */
-	private static final double A = 1.0/4000.0;
+	public static final double A = 1.0/4000.0;
+	/**
+	 * square roots of 1..n (for the SIMD kernel, computed on demand)
+	 */
+	private double[] root = null;
 	
 	/**
 	 * Basic constructor
@@ -38,6 +44,16 @@ public class Griewank extends DerivativeFreeObjectiveFunction {
 	
 	@Override
 	protected double _evaluate(List<Double> sol) {
+		if (Kernels.use(n)) {
+			if (root == null) {
+				double[] r = new double[n];
+				for (int j=0; j<n; j++) {
+					r[j] = Math.sqrt(j+1);
+				}
+				root = r;
+			}
+			return VectorKernels.griewank(Kernels.toArray(sol, n), root, A);
+		}
 		double s = 0.0;
 		double p = 1.0;
 		for (int j=0; j<n; j++) {
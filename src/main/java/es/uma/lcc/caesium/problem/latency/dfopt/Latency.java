@@ -0,0 +1,158 @@
+package es.uma.lcc.caesium.problem.latency.dfopt;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.locks.LockSupport;
+
+import es.uma.lcc.caesium.dfopt.base.DerivativeFreeObjectiveFunction;
+import es.uma.lcc.caesium.dfopt.base.ObjectiveFunctionWrapper;
+
+/**
+ * Wrapper that adds latency to the evaluation of another objective function, so as to
+ * emulate an expensive objective function (e.g., a simulation). The latency is drawn 
+ * from a distribution with a given mean, and is either spent sleeping (emulating an
+ * external simulator) or burning CPU (emulating an in-process computation).
+ * The value of the objective function is not altered. If the objective function has several
+ * fidelity levels, evaluations at low fidelity are delayed in proportion to their cost.
+ * @author ccottap
+ * @version 1.1
+ */
+public class Latency extends ObjectiveFunctionWrapper {
+	/**
+	 * Distributions of the latency
+	 */
+	public enum Distribution {
+		/**
+		 * constant latency
+		 */
+		FIXED,
+		/**
+		 * lognormal latency (the shape parameter is the standard deviation of the underlying normal)
+		 */
+		LOGNORMAL,
+		/**
+		 * Pareto (heavy-tailed) latency (the shape parameter is the tail index, which must be larger than 1)
+		 */
+		PARETO
+	}
+	
+	/**
+	 * the distribution of the latency
+	 */
+	private Distribution distribution;
+	/**
+	 * mean latency (s)
+	 */
+	private double mean;
+	/**
+	 * shape parameter of the distribution
+	 */
+	private double shape;
+	/**
+	 * whether the latency is spent burning CPU (true) or sleeping (false)
+	 */
+	private boolean burn;
+	/**
+	 * random number generator
+	 */
+	private Random rng;
+	/**
+	 * sink for the computations performed when burning CPU 
+	 */
+	private volatile double sink;
+	
+	/**
+	 * Creates the wrapper
+	 * @param inner the objective function
+	 * @param distribution the distribution of the latency
+	 * @param mean the mean latency (s)
+	 * @param shape the shape parameter of the distribution (ignored for fixed latency)
+	 * @param burn whether the latency is spent burning CPU (true) or sleeping (false)
+	 * @param seed the seed for the RNG
+	 */
+	public Latency(DerivativeFreeObjectiveFunction inner, Distribution distribution, double mean, double shape, boolean burn, long seed) {
+		super(inner);
+		assert (mean >= 0);
+		assert (distribution != Distribution.PARETO) || (shape > 1);
+		this.distribution = distribution;
+		this.mean = mean;
+		this.shape = shape;
+		this.burn = burn;
+		rng = new Random(seed);
+	}
+	
+	/**
+	 * Draws a latency
+	 * @return a latency (s)
+	 */
+	private double nextLatency() {
+		switch (distribution) {
+		case LOGNORMAL:
+			return Math.exp(Math.log(mean) - shape*shape/2 + shape*rng.nextGaussian());
+		case PARETO:
+			double xm = mean * (shape - 1) / shape;
+			return xm / Math.pow(1.0 - rng.nextDouble(), 1.0/shape);
+		default:
+			return mean;
+		}
+	}
+	
+	/**
+	 * Spends a certain time
+	 * @param nanos the time (ns)
+	 */
+	private void delay(long nanos) {
+		long deadline = System.nanoTime() + nanos;
+		if (burn) {
+			double x = 1.0;
+			while (System.nanoTime() < deadline) {
+				for (int i=0; i<100; i++) {
+					x = Math.sqrt(x + i);
+				}
+			}
+			sink = x;
+		}
+		else {
+			long remaining;
+			while ((remaining = deadline - System.nanoTime()) > 0) {
+				LockSupport.parkNanos(remaining);
+				if (Thread.interrupted()) {
+					Thread.currentThread().interrupt();
+					break;
+				}
+			}
+		}
+	}
+
+	@Override
+	protected double _evaluate(List<Double> solution) {
+		double v = super._evaluate(solution);
+		delay((long)(nextLatency() * 1e9));
+		return v;
+	}
+	
+	@Override
+	public int getNumFidelities() {
+		return inner.getNumFidelities();
+	}
+
+	@Override
+	public double getFidelityCost(int level) {
+		return inner.getFidelityCost(level);
+	}
+
+	@Override
+	protected double _evaluateAtFidelity(List<Double> solution, int level) {
+		double v = innerAtFidelity(solution, level);
+		delay((long)(nextLatency() * getFidelityCost(level) * 1e9));
+		return v;
+	}
+	
+	@Override
+	public String toString() {
+		return distribution.toString().toLowerCase() + " latency (mean " + mean + "s" + 
+				((distribution != Distribution.FIXED) ? (", shape " + shape) : "") + ", " + 
+				(burn ? "burning CPU" : "sleeping") + ")";
+	}
+
+}
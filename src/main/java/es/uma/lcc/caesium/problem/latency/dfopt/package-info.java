@@ -0,0 +1,6 @@
+/**
+ * Synthetic expensive problems, obtained by adding latency to other problems
+ * @author ccottap
+ * @version 1.0
+ */
+package es.uma.lcc.caesium.problem.latency.dfopt;
\ No newline at end of file
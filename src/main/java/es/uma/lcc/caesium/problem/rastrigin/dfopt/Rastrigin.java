@@ -2,15 +2,17 @@ package es.uma.lcc.caesium.problem.rastrigin.dfopt;
 
 import java.util.List;
 
-import es.uma.lcc.caesium.dfopt.base.DerivativeFreeObjectiveFunction;
+import es.uma.lcc.caesium.dfopt.base.PartiallySeparableFunction;
+import es.uma.lcc.caesium.problem.Kernels;
+import es.uma.lcc.caesium.problem.VectorKernels;
 
 /**
- * Rastrigin function
+ * Rastrigin function (separable: one element function per variable)
  * @author ccottap
- * @version 1.0
+ * @version 1.4
  *
  */
-public class Rastrigin extends DerivativeFreeObjectiveFunction {
+public class Rastrigin extends PartiallySeparableFunction {
 	/**
 	 * number of variables
 	 */
@@ -22,7 +24,7 @@ public class Rastrigin extends DerivativeFreeObjectiveFunction {
 	/**
 	 * function constant
 	 */
-	private static final double A = 10.0;
+	public static final double A = 10.0;
 	
 	/**
 	 * Basic constructor
@@ -38,14 +40,42 @@ public class Rastrigin extends DerivativeFreeObjectiveFunction {
 	
 	@Override
 	protected double _evaluate(List<Double> sol) {
+		return _evaluate(sol, Double.POSITIVE_INFINITY);
+	}
+	
+	@Override
+	protected double _evaluate(List<Double> sol, double cutoff) {
+		if (Kernels.use(n)) {
+			return VectorKernels.rastrigin(Kernels.toArray(sol, n), A, cutoff);
+		}
 		double c = A * n;
 		for (int j=0; j<n; j++) {
 			double v = sol.get(j);
 			c += v * v - A * Math.cos(2.0*Math.PI*v);
+			double bound = c - A * (n - 1 - j);	// each of the remaining terms is at least -A
+			if (bound > cutoff) {
+				return bound;
+			}
 		}
 		return c;
 	}
 
+	@Override
+	public int getNumElements() {
+		return n;
+	}
+
+	@Override
+	public int[] getElementVariables(int e) {
+		return new int[] {e};
+	}
+
+	@Override
+	public double evaluateElement(int e, List<Double> sol) {
+		double v = sol.get(e);
+		return A + v * v - A * Math.cos(2.0*Math.PI*v);
+	}
+
 	@Override
 	public int getNumVariables() {
 		return n;
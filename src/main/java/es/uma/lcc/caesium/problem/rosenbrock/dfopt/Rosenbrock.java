@@ -2,15 +2,15 @@ package es.uma.lcc.caesium.problem.rosenbrock.dfopt;
 
 import java.util.List;
 
-import es.uma.lcc.caesium.dfopt.base.DerivativeFreeObjectiveFunction;
+import es.uma.lcc.caesium.dfopt.base.PartiallySeparableFunction;
 
 /**
- * Rosenbrock function
+ * Rosenbrock function (partially separable: a chain of element functions over consecutive pairs of variables)
  * @author ccottap
- * @version 1.0
+ * @version 1.3
  *
  */
-public class Rosenbrock extends DerivativeFreeObjectiveFunction {
+public class Rosenbrock extends PartiallySeparableFunction {
 	/**
 	 * number of variables
 	 */
@@ -22,7 +22,7 @@ public class Rosenbrock extends DerivativeFreeObjectiveFunction {
 	/**
 	 * function constant
 	 */
-	private static final double A = 100.0;
+	public static final double A = 100.0;
 	
 	/**
 	 * Basic constructor
@@ -38,6 +38,11 @@ public class Rosenbrock extends DerivativeFreeObjectiveFunction {
 	
 	@Override
 	protected double _evaluate(List<Double> sol) {
+		return _evaluate(sol, Double.POSITIVE_INFINITY);
+	}
+	
+	@Override
+	protected double _evaluate(List<Double> sol, double cutoff) {
 		double c = 0;
 		for (int j=1; j<n; j++) {
 			double v1 = sol.get(j-1);
@@ -45,10 +50,32 @@ public class Rosenbrock extends DerivativeFreeObjectiveFunction {
 			double t1 = v2-v1*v1;
 			double t2 = 1-v1;
 			c += A*t1*t1 + t2*t2;
+			if (c > cutoff) {	// the rest of the terms are non-negative
+				return c;
+			}
 		}
 		return c;
 	}
 
+	@Override
+	public int getNumElements() {
+		return n-1;
+	}
+
+	@Override
+	public int[] getElementVariables(int e) {
+		return new int[] {e, e+1};
+	}
+
+	@Override
+	public double evaluateElement(int e, List<Double> sol) {
+		double v1 = sol.get(e);
+		double v2 = sol.get(e+1);
+		double t1 = v2-v1*v1;
+		double t2 = 1-v1;
+		return A*t1*t1 + t2*t2;
+	}
+
 	@Override
 	public int getNumVariables() {
 		return n;
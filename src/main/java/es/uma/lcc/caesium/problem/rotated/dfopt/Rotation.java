@@ -0,0 +1,129 @@
+package es.uma.lcc.caesium.problem.rotated.dfopt;
+
+import java.lang.ref.SoftReference;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Random orthogonal matrix, generated by orthonormalizing (modified Gram-Schmidt) a 
+ * matrix of standard normal numbers. The matrix is stored in a flat array by columns,
+ * so that the change in the product induced by a change in a single coordinate can be
+ * computed in O(n). Matrices are generated once per number of variables and seed, and 
+ * shared (they are kept in a cache as long as there is enough memory). 
+ * @author ccottap
+ * @version 1.0
+ */
+public class Rotation {
+	/**
+	 * number of rows of a block in the matrix-vector product
+	 */
+	private static final int BLOCK = 256;
+	/**
+	 * cache of matrices
+	 */
+	private static final Map<String, SoftReference<Rotation>> cache = new ConcurrentHashMap<String, SoftReference<Rotation>>();
+	/**
+	 * dimension
+	 */
+	private final int n;
+	/**
+	 * matrix, stored by columns (element (i,k) is at position k*n+i)
+	 */
+	private final double[] cols;
+	
+	/**
+	 * Generates a random orthogonal matrix
+	 * @param n the dimension
+	 * @param seed the seed for the RNG
+	 */
+	private Rotation(int n, long seed) {
+		this.n = n;
+		cols = new double[n*n];
+		Random rng = new Random(seed);
+		for (int k=0; k<n; k++) {
+			int base = k*n;
+			for (int i=0; i<n; i++) {
+				cols[base + i] = rng.nextGaussian();
+			}
+			for (int l=0; l<k; l++) {
+				int other = l*n;
+				double dot = 0;
+				for (int i=0; i<n; i++) {
+					dot += cols[base + i] * cols[other + i];
+				}
+				for (int i=0; i<n; i++) {
+					cols[base + i] -= dot * cols[other + i];
+				}
+			}
+			double norm = 0;
+			for (int i=0; i<n; i++) {
+				norm += cols[base + i] * cols[base + i];
+			}
+			norm = Math.sqrt(norm);
+			for (int i=0; i<n; i++) {
+				cols[base + i] /= norm;
+			}
+		}
+	}
+	
+	/**
+	 * Returns the rotation for a certain dimension and seed, generating it if needed
+	 * @param n the dimension
+	 * @param seed the seed
+	 * @return the rotation
+	 */
+	public static Rotation get(int n, long seed) {
+		String key = n + ":" + seed;
+		SoftReference<Rotation> ref = cache.get(key);
+		Rotation r = (ref == null) ? null : ref.get();
+		if (r == null) {
+			r = new Rotation(n, seed);
+			cache.put(key, new SoftReference<Rotation>(r));
+		}
+		return r;
+	}
+	
+	/**
+	 * Returns the dimension
+	 * @return the dimension
+	 */
+	public int getDimension() {
+		return n;
+	}
+	
+	/**
+	 * Computes z = R·y. The product is computed by blocks of rows of z, so that each 
+	 * block is kept in cache while the columns of the matrix are streamed. 
+	 * @param y the vector
+	 * @param z the result (must have length n)
+	 */
+	public void apply(double[] y, double[] z) {
+		for (int ib=0; ib<n; ib+=BLOCK) {
+			int iend = Math.min(n, ib + BLOCK);
+			for (int i=ib; i<iend; i++) {
+				z[i] = 0;
+			}
+			for (int k=0; k<n; k++) {
+				double yk = y[k];
+				int base = k*n;
+				for (int i=ib; i<iend; i++) {
+					z[i] += cols[base + i] * yk;
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Updates z = R·y after a change of a single coordinate of y
+	 * @param z the product to be updated
+	 * @param k the index of the coordinate changed
+	 * @param dy the change in the k-th coordinate
+	 */
+	public void update(double[] z, int k, double dy) {
+		int base = k*n;
+		for (int i=0; i<n; i++) {
+			z[i] += cols[base + i] * dy;
+		}
+	}
+}
@@ -0,0 +1,180 @@
+package es.uma.lcc.caesium.problem.rotated.dfopt;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Random;
+
+import es.uma.lcc.caesium.dfopt.base.DerivativeFreeObjectiveFunction;
+import es.uma.lcc.caesium.dfopt.base.ObjectiveFunctionWrapper;
+
+/**
+ * Shifted and rotated variant of a problem: f(R·(x-o) + c), where R is a random orthogonal
+ * matrix, o is a random shift (within 80% of the range of the variables) and c is the 
+ * location of the optimum of f (so that the optimum of the variant is at o). 
+ * The matrix and the shift are determined by the number of the instance. 
+ * <p>
+ * The rotated point is computed into a reusable buffer (one per thread). If the point 
+ * evaluated differs from the previous one in a few coordinates (at most n/4, as is the case
+ * when exploring coordinate neighborhoods or low-dimensional subspaces), the rotated point 
+ * is updated in O(n) per coordinate instead of recomputed in O(n<sup>2</sup>). The rotated 
+ * point is recomputed from scratch periodically, to keep rounding errors from accumulating. 
+ * @author ccottap
+ * @version 1.1
+ */
+public class ShiftedRotated extends ObjectiveFunctionWrapper {
+	/**
+	 * minimum value of the maximum number of coordinates changed for an incremental update
+	 */
+	private static final int MINCHANGES = 2;
+	/**
+	 * maximum number of consecutive incremental updates
+	 */
+	private static final int REFRESH = 100;
+	/**
+	 * number of variables
+	 */
+	private final int n;
+	/**
+	 * maximum number of coordinates changed for an incremental update
+	 */
+	private final int maxChanges;
+	/**
+	 * the instance
+	 */
+	private final long instance;
+	/**
+	 * the rotation
+	 */
+	private final Rotation rotation;
+	/**
+	 * the shift
+	 */
+	private final double[] shift;
+	/**
+	 * location of the optimum of the original problem (in all coordinates)
+	 */
+	private final double offset;
+	/**
+	 * buffers (one per thread)
+	 */
+	private final ThreadLocal<State> state;
+	
+	/**
+	 * Rotated point viewed as a list 
+	 */
+	private class View extends AbstractList<Double> {
+		/**
+		 * the rotated point
+		 */
+		final double[] z = new double[n];
+		
+		@Override
+		public Double get(int j) {
+			return z[j] + offset;
+		}
+
+		@Override
+		public int size() {
+			return n;
+		}
+	}
+	
+	/**
+	 * Buffers for the transformation of points 
+	 */
+	private class State {
+		/**
+		 * last point evaluated
+		 */
+		final double[] x = new double[n];
+		/**
+		 * shifted point y = x - o
+		 */
+		final double[] y = new double[n];
+		/**
+		 * rotated point z = R·y
+		 */
+		final View view = new View();
+		/**
+		 * number of consecutive incremental updates (-1 if no point has been evaluated yet)
+		 */
+		int updates = -1;
+		/**
+		 * indices of the coordinates changed
+		 */
+		final int[] changed = new int[maxChanges];
+	}
+	
+	/**
+	 * Creates the variant
+	 * @param inner the original problem
+	 * @param instance the number of the instance (seed for the rotation and the shift)
+	 * @param offset location of the optimum of the original problem (in all coordinates)
+	 */
+	public ShiftedRotated(DerivativeFreeObjectiveFunction inner, long instance, double offset) {
+		super(inner);
+		this.instance = instance;
+		this.offset = offset;
+		n = inner.getNumVariables();
+		maxChanges = Math.max(MINCHANGES, n/4);
+		rotation = Rotation.get(n, instance);
+		shift = new double[n];
+		Random rng = new Random(~instance);
+		for (int j=0; j<n; j++) {
+			double lo = inner.getMinValue(j);
+			double hi = inner.getMaxValue(j);
+			shift[j] = (lo + hi)/2 + 0.8 * (rng.nextDouble() - 0.5) * (hi - lo);
+		}
+		state = ThreadLocal.withInitial(State::new);
+	}
+	
+	/**
+	 * Returns the location of the optimum
+	 * @return the location of the optimum
+	 */
+	public double[] getShift() {
+		return shift.clone();
+	}
+
+	@Override
+	protected double _evaluate(List<Double> solution) {
+		State s = state.get();
+		int changes = 0;
+		if (s.updates >= 0) {
+			for (int j=0; j<n; j++) {
+				if (solution.get(j) != s.x[j]) {
+					if (changes == maxChanges) {
+						changes++;
+						break;
+					}
+					s.changed[changes++] = j;
+				}
+			}
+		}
+		if ((s.updates < 0) || (changes > maxChanges) || (s.updates >= REFRESH)) {
+			for (int j=0; j<n; j++) {
+				s.x[j] = solution.get(j);
+				s.y[j] = s.x[j] - shift[j];
+			}
+			rotation.apply(s.y, s.view.z);
+			s.updates = 0;
+		}
+		else if (changes > 0) {
+			for (int c=0; c<changes; c++) {
+				int k = s.changed[c];
+				s.x[k] = solution.get(k);
+				double y = s.x[k] - shift[k];
+				rotation.update(s.view.z, k, y - s.y[k]);
+				s.y[k] = y;
+			}
+			s.updates++;
+		}
+		return super._evaluate(s.view);
+	}
+	
+	@Override
+	public String toString() {
+		return "shifted and rotated (instance " + instance + ")";
+	}
+
+}
@@ -0,0 +1,6 @@
+/**
+ * Shifted and rotated variants of the bundled problems
+ * @author ccottap
+ * @version 1.0
+ */
+package es.uma.lcc.caesium.problem.rotated.dfopt;
\ No newline at end of file
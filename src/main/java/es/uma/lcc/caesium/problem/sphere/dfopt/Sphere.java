@@ -2,15 +2,15 @@ package es.uma.lcc.caesium.problem.sphere.dfopt;
 
 import java.util.List;
 
-import es.uma.lcc.caesium.dfopt.base.DerivativeFreeObjectiveFunction;
+import es.uma.lcc.caesium.dfopt.base.PartiallySeparableFunction;
 
 /**
- * Sphere function
+ * Sphere function (separable: one element function per variable)
  * @author ccottap
- * @version 1.0
+ * @version 1.3
  *
  */
-public class Sphere extends DerivativeFreeObjectiveFunction {
+public class Sphere extends PartiallySeparableFunction {
 	/**
 	 * number of variables
 	 */
@@ -34,14 +34,38 @@ public class Sphere extends DerivativeFreeObjectiveFunction {
 	
 	@Override
 	protected double _evaluate(List<Double> sol) {
+		return _evaluate(sol, Double.POSITIVE_INFINITY);
+	}
+	
+	@Override
+	protected double _evaluate(List<Double> sol, double cutoff) {
 		double c = 0;
 		for (int j=0; j<n; j++) {
 			double v = sol.get(j);
 			c += v*v;
+			if (c > cutoff) {	// the rest of the terms are non-negative
+				return c;
+			}
 		}
 		return c;
 	}
 
+	@Override
+	public int getNumElements() {
+		return n;
+	}
+
+	@Override
+	public int[] getElementVariables(int e) {
+		return new int[] {e};
+	}
+
+	@Override
+	public double evaluateElement(int e, List<Double> sol) {
+		double v = sol.get(e);
+		return v*v;
+	}
+
 	@Override
 	public int getNumVariables() {
 		return n;
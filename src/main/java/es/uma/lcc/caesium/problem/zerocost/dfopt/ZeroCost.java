@@ -0,0 +1,60 @@
+package es.uma.lcc.caesium.problem.zerocost.dfopt;
+
+import java.util.List;
+
+import es.uma.lcc.caesium.dfopt.base.DerivativeFreeObjectiveFunction;
+
+/**
+ * Objective function of negligible cost, intended for measuring the overhead of the solvers. 
+ * The value is the first variable shifted to be non-negative, which is computed in constant
+ * time regardless of the number of variables, and is never constant over a non-degenerate
+ * simplex or neighborhood (so that the solvers keep iterating).
+ * @author ccottap
+ * @version 1.0
+ *
+ */
+public class ZeroCost extends DerivativeFreeObjectiveFunction {
+	/**
+	 * number of variables
+	 */
+	private int n;
+	/**
+	 * range
+	 */
+	private double range;
+	
+	/**
+	 * Basic constructor
+	 * @param i the number of variables
+	 * @param v range of variables ([-v, v])
+	 */
+	public ZeroCost(int i, double v) {
+		n = i;
+		range = v;
+	}
+	
+	
+	
+	@Override
+	protected double _evaluate(List<Double> sol) {
+		return sol.get(0) + range;
+	}
+
+	@Override
+	public int getNumVariables() {
+		return n;
+	}
+
+	@Override
+	public double getMinValue(int i) {
+		return -range;
+	}
+
+	@Override
+	public double getMaxValue(int i) {
+		return range;
+	}
+
+
+
+}
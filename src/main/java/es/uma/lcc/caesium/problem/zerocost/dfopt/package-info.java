@@ -0,0 +1,6 @@
+/**
+ * A problem of negligible evaluation cost
+ * @author ccottap
+ * @version 1.0
+ */
+package es.uma.lcc.caesium.problem.zerocost.dfopt;
\ No newline at end of file